@@ -0,0 +1,199 @@
+package org.firstinspires.ftc.teamcode.commands.drive;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+import org.firstinspires.ftc.teamcode.constants.VisionConstants;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.vision.AprilTagGoalTracker;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
+
+/**
+ * Drive to a standoff pose in front of an AprilTag.
+ *
+ * The goal is tracked by an {@link AprilTagGoalTracker}, which places each
+ * detection in the odometry frame using the pose at the frame's capture
+ * time, so camera latency does not skew the approach.
+ *
+ * Between frames the robot keeps converging on odometry alone, so it does
+ * not stall waiting for the camera, and it finishes the approach on the
+ * last goal if the tag drops out of view up close.
+ *
+ * Ends at the goal within TrajectoryConstants tolerances, or if the tag is
+ * not seen within VisionConstants.ACQUIRE_TIMEOUT. Needs a localizer.
+ */
+public class DriveToAprilTag extends CommandBase {
+
+    private final MecanumDriveSubsystem driveSubsystem;
+    private final AprilTagGoalTracker tracker;
+    private final int tagId;
+
+    private long startNanos;
+    private long lastNanos;
+    private double velocityX;
+    private double velocityY;
+    private double positionError;
+    private double headingError;
+
+    /**
+     * Creates a command that stops square in front of the tag.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param aprilTag AprilTag processor attached to a running VisionPortal
+     * @param tagId Tag to approach
+     * @param standoffDistance Distance from the tag to robot center (inches)
+     */
+    public DriveToAprilTag(MecanumDriveSubsystem driveSubsystem, AprilTagProcessor aprilTag,
+                           int tagId, double standoffDistance) {
+        this(driveSubsystem, aprilTag, tagId, standoffDistance, 0.0, 0.0);
+    }
+
+    /**
+     * Creates a command that stops at an arbitrary pose relative to the tag.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param aprilTag AprilTag processor attached to a running VisionPortal
+     * @param tagId Tag to approach
+     * @param standoffDistance Distance out from the tag face to robot center (inches)
+     * @param lateralOffset Sideways offset, left positive as seen by the robot facing the tag (inches)
+     * @param headingOffsetDegrees Heading relative to facing the tag square (degrees, counterclockwise positive)
+     */
+    public DriveToAprilTag(MecanumDriveSubsystem driveSubsystem, AprilTagProcessor aprilTag,
+                           int tagId, double standoffDistance, double lateralOffset,
+                           double headingOffsetDegrees) {
+        this.driveSubsystem = driveSubsystem;
+        this.tracker = new AprilTagGoalTracker(driveSubsystem, aprilTag, tagId,
+            standoffDistance, lateralOffset, headingOffsetDegrees);
+        this.tagId = tagId;
+        addRequirements(driveSubsystem);
+    }
+
+    @Override
+    public void initialize() {
+        tracker.reset();
+        startNanos = 0;
+        velocityX = 0.0;
+        velocityY = 0.0;
+        if (driveSubsystem.getLocalizer() == null) {
+            System.err.println("DriveToAprilTag: no localizer, cannot compensate latency");
+        }
+    }
+
+    @Override
+    public void execute() {
+        long now = System.nanoTime();
+        if (startNanos == 0) {
+            // Timed from the first loop, so scheduling during init is fine
+            startNanos = now;
+            lastNanos = now;
+        }
+        double dt = Math.min((now - lastNanos) / 1e9, 0.1);
+        lastNanos = now;
+
+        tracker.update();
+        if (!tracker.hasGoal()) {
+            driveSubsystem.stop();
+            return;
+        }
+
+        Pose2d pose = driveSubsystem.getPose();
+        double heading = pose.getHeading();
+        double errorX = tracker.getGoalX() - pose.getX();
+        double errorY = tracker.getGoalY() - pose.getY();
+        positionError = Math.hypot(errorX, errorY);
+        headingError = angleWrap(tracker.getGoalHeading() - heading);
+
+        // Proportional approach, capped in speed and in how fast the speed changes
+        double targetX = TrajectoryConstants.TRANSLATIONAL_KP * errorX;
+        double targetY = TrajectoryConstants.TRANSLATIONAL_KP * errorY;
+        double speed = Math.hypot(targetX, targetY);
+        if (speed > VisionConstants.APPROACH_MAX_VELOCITY) {
+            targetX *= VisionConstants.APPROACH_MAX_VELOCITY / speed;
+            targetY *= VisionConstants.APPROACH_MAX_VELOCITY / speed;
+        }
+        double changeX = targetX - velocityX;
+        double changeY = targetY - velocityY;
+        double change = Math.hypot(changeX, changeY);
+        double maxChange = VisionConstants.APPROACH_MAX_ACCELERATION * dt;
+        if (change > maxChange) {
+            changeX *= maxChange / change;
+            changeY *= maxChange / change;
+        }
+        velocityX += changeX;
+        velocityY += changeY;
+
+        double maxTurn = Math.toRadians(VisionConstants.APPROACH_MAX_ANGULAR_VELOCITY);
+        double angularVelocity = Math.max(-maxTurn,
+            Math.min(maxTurn, TrajectoryConstants.HEADING_KP * headingError));
+
+        // Field to robot frame
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        driveSubsystem.driveWithFeedforward(
+            velocityX * cos + velocityY * sin,
+            -velocityX * sin + velocityY * cos,
+            angularVelocity,
+            0.0, 0.0, 0.0
+        );
+    }
+
+    @Override
+    public boolean isFinished() {
+        if (!tracker.hasGoal()) {
+            return startNanos != 0
+                && (System.nanoTime() - startNanos) / 1e9 > VisionConstants.ACQUIRE_TIMEOUT;
+        }
+        return positionError <= TrajectoryConstants.POSITION_TOLERANCE
+            && Math.abs(headingError) <= Math.toRadians(TrajectoryConstants.HEADING_TOLERANCE);
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveSubsystem.stop();
+        if (!tracker.hasGoal()) {
+            System.out.println("DriveToAprilTag: tag " + tagId + " not found");
+        }
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * @return true once the tag has been seen and the goal is known
+     */
+    public boolean hasGoal() {
+        return tracker.hasGoal();
+    }
+
+    /**
+     * @return Goal in the odometry frame, or null before the tag is seen
+     */
+    public Pose2d getGoal() {
+        return tracker.getGoal();
+    }
+
+    /**
+     * @return Capture-to-use latency of the last detection (seconds)
+     */
+    public double getDetectionAge() {
+        return tracker.getDetectionAge();
+    }
+
+    /**
+     * @return Distance to the goal (inches)
+     */
+    public double getPositionError() {
+        return positionError;
+    }
+
+    /**
+     * @return Heading error to the goal (radians)
+     */
+    public double getHeadingError() {
+        return headingError;
+    }
+
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+}
@@ -1,5 +1,7 @@
 package org.firstinspires.ftc.teamcode.commands.drive;
 
+import org.firstinspires.ftc.teamcode.util.GamepadSnapshot;
+
 /**
  * Helper class to handle toggle button logic with debouncing.
  * 
@@ -17,6 +19,13 @@ package org.firstinspires.ftc.teamcode.commands.drive;
  *     subsystem.setFieldCentric(newState);
  * }
  * </pre>
+ * 
+ * With a {@link GamepadSnapshot}, the edge is already computed once per loop:
+ * <pre>
+ * if (toggle.update(driverInput, GamepadSnapshot.START)) {
+ *     subsystem.setFieldCentric(toggle.get());
+ * }
+ * </pre>
  */
 public class FieldCentricToggle {
     
@@ -65,6 +74,34 @@ public class FieldCentricToggle {
         return stateChanged;
     }
     
+    /**
+     * Update the toggle from a gamepad snapshot.
+     * 
+     * Uses the snapshot's pressed mask instead of tracking the edge here.
+     * 
+     * @param input Snapshot taken this loop
+     * @param buttonMask GamepadSnapshot button bit(s) that toggle the state
+     * @return true if state changed, false otherwise
+     */
+    public boolean update(GamepadSnapshot input, int buttonMask) {
+        if (input.wasPressed(buttonMask)) {
+            toggle();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Flip the toggle state.
+     * Use this when the caller already detected the button press.
+     * 
+     * @return New state
+     */
+    public boolean toggle() {
+        currentValue = !currentValue;
+        return currentValue;
+    }
+    
     /**
      * Get the current toggle state.
      * 
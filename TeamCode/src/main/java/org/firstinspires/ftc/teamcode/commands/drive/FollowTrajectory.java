@@ -0,0 +1,139 @@
+package org.firstinspires.ftc.teamcode.commands.drive;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.trajectory.Trajectory;
+
+/**
+ * Follow a precomputed trajectory.
+ *
+ * Each loop the command samples the trajectory at the elapsed time and
+ * drives with the target velocity and acceleration as feedforward, plus a
+ * proportional correction of the pose error. Without a localizer the
+ * correction is skipped and the robot runs on feedforward alone.
+ *
+ * Finishes once the trajectory has ended and the robot is within
+ * tolerance, or after TrajectoryConstants.SETTLE_TIMEOUT.
+ */
+public class FollowTrajectory extends CommandBase {
+
+    private final MecanumDriveSubsystem driveSubsystem;
+    private final Trajectory trajectory;
+    private final Trajectory.Sample target = new Trajectory.Sample();
+
+    private long startNanos;
+    private boolean started;
+    private double elapsed;
+
+    // Field-frame pose error from the last loop (inches, radians)
+    private double errorX;
+    private double errorY;
+    private double errorHeading;
+
+    /**
+     * Creates a new FollowTrajectory command.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param trajectory Trajectory to follow, built at init
+     */
+    public FollowTrajectory(MecanumDriveSubsystem driveSubsystem, Trajectory trajectory) {
+        this.driveSubsystem = driveSubsystem;
+        this.trajectory = trajectory;
+        addRequirements(driveSubsystem);
+    }
+
+    @Override
+    public void initialize() {
+        started = false;
+        elapsed = 0.0;
+    }
+
+    @Override
+    public void execute() {
+        // The clock starts on the first loop, so scheduling during init is fine
+        long now = System.nanoTime();
+        if (!started) {
+            startNanos = now;
+            started = true;
+        }
+        elapsed = (now - startNanos) / 1e9;
+        trajectory.sample(elapsed, target);
+
+        Pose2d pose = driveSubsystem.getPose();
+        double heading = pose.getHeading();
+        errorX = target.x - pose.getX();
+        errorY = target.y - pose.getY();
+        errorHeading = angleWrap(target.heading - heading);
+
+        // Field-frame command: feedforward plus feedback
+        double velocityX = target.velocityX;
+        double velocityY = target.velocityY;
+        double angularVelocity = target.angularVelocity;
+        if (driveSubsystem.getLocalizer() != null) {
+            velocityX += TrajectoryConstants.TRANSLATIONAL_KP * errorX;
+            velocityY += TrajectoryConstants.TRANSLATIONAL_KP * errorY;
+            angularVelocity += TrajectoryConstants.HEADING_KP * errorHeading;
+        }
+
+        // Rotate into the robot frame
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        driveSubsystem.driveWithFeedforward(
+            velocityX * cos + velocityY * sin,
+            -velocityX * sin + velocityY * cos,
+            angularVelocity,
+            target.accelX * cos + target.accelY * sin,
+            -target.accelX * sin + target.accelY * cos,
+            target.angularAccel
+        );
+    }
+
+    @Override
+    public boolean isFinished() {
+        if (!started) {
+            return false;
+        }
+        double duration = trajectory.getDuration();
+        if (elapsed < duration) {
+            return false;
+        }
+        boolean arrived = Math.hypot(errorX, errorY) <= TrajectoryConstants.POSITION_TOLERANCE
+            && Math.abs(errorHeading) <= Math.toRadians(TrajectoryConstants.HEADING_TOLERANCE);
+        return arrived || elapsed >= duration + TrajectoryConstants.SETTLE_TIMEOUT;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveSubsystem.stop();
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * @return Seconds since the command started
+     */
+    public double getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return Distance between the target and the robot (inches)
+     */
+    public double getPositionError() {
+        return Math.hypot(errorX, errorY);
+    }
+
+    /**
+     * @return Heading error (radians)
+     */
+    public double getHeadingError() {
+        return errorHeading;
+    }
+
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+}
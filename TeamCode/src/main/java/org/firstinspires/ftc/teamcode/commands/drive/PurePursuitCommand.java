@@ -0,0 +1,188 @@
+package org.firstinspires.ftc.teamcode.commands.drive;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.trajectory.PurePursuitPath;
+import org.firstinspires.ftc.teamcode.trajectory.TrajectoryConstraints;
+
+/**
+ * Follow a point path with pure pursuit.
+ *
+ * Each loop the robot drives toward the lookahead point, where the path
+ * leaves a circle around the robot. The circle grows with speed (adaptive
+ * lookahead), trading tracking accuracy for smoothness when fast.
+ *
+ * Mecanum is holonomic, so translation and heading are separate: the
+ * robot translates toward the lookahead point while a heading controller
+ * turns it to the path's heading at that point.
+ *
+ * Speed ramps up at the acceleration limit and ramps down so the robot
+ * can stop at the end. Needs a localizer.
+ */
+public class PurePursuitCommand extends CommandBase {
+
+    private final MecanumDriveSubsystem driveSubsystem;
+    private final PurePursuitPath path;
+    private final TrajectoryConstraints constraints;
+
+    // Lookahead point: x, y, distance along the path
+    private final double[] lookahead = new double[3];
+
+    private int cursor;
+    private double speed;
+    private long lastNanos;
+    private double lookaheadDistance;
+    private double remaining;
+    private double headingError;
+
+    /**
+     * Creates a pure pursuit command with the default constraints.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param path Path to follow
+     */
+    public PurePursuitCommand(MecanumDriveSubsystem driveSubsystem, PurePursuitPath path) {
+        this(driveSubsystem, path, TrajectoryConstraints.defaults());
+    }
+
+    /**
+     * Creates a pure pursuit command.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param path Path to follow
+     * @param constraints Speed and acceleration limits
+     */
+    public PurePursuitCommand(MecanumDriveSubsystem driveSubsystem, PurePursuitPath path,
+                              TrajectoryConstraints constraints) {
+        this.driveSubsystem = driveSubsystem;
+        this.path = path;
+        this.constraints = constraints;
+        addRequirements(driveSubsystem);
+    }
+
+    @Override
+    public void initialize() {
+        cursor = -1;
+        speed = 0.0;
+        lastNanos = System.nanoTime();
+        remaining = path.length();
+    }
+
+    @Override
+    public void execute() {
+        long now = System.nanoTime();
+        double dt = Math.min((now - lastNanos) / 1e9, 0.1);
+        lastNanos = now;
+
+        Pose2d pose = driveSubsystem.getPose();
+        double x = pose.getX();
+        double y = pose.getY();
+        double heading = pose.getHeading();
+
+        // ===== Track the path =====
+        if (cursor < 0) {
+            cursor = path.findNearestSegment(x, y);
+        } else {
+            cursor = path.advanceCursor(cursor, x, y);
+            if (path.distanceToSegment(cursor, x, y) > TrajectoryConstants.PURSUIT_LOST_DISTANCE) {
+                // Pushed off the path: find where we are again
+                cursor = path.findNearestSegment(x, y);
+            }
+        }
+
+        // ===== Adaptive lookahead =====
+        Localizer localizer = driveSubsystem.getLocalizer();
+        double measuredSpeed = localizer != null
+            ? Math.hypot(localizer.getVelocityX(), localizer.getVelocityY()) : speed;
+        lookaheadDistance = Math.max(TrajectoryConstants.MIN_LOOKAHEAD, Math.min(TrajectoryConstants.MAX_LOOKAHEAD,
+            TrajectoryConstants.MIN_LOOKAHEAD + TrajectoryConstants.LOOKAHEAD_GAIN * measuredSpeed));
+        path.findLookahead(cursor, x, y, lookaheadDistance, lookahead);
+
+        // ===== Translation: toward the lookahead point =====
+        double toEndX = path.getEndX() - x;
+        double toEndY = path.getEndY() - y;
+        double endDistance = Math.hypot(toEndX, toEndY);
+        double pathRemaining = path.length() - path.projectDistance(cursor, x, y);
+        remaining = Math.max(pathRemaining, endDistance);
+
+        double stoppingSpeed = Math.sqrt(2 * constraints.maxAcceleration * remaining);
+        double targetSpeed = Math.min(constraints.maxVelocity, stoppingSpeed);
+        if (pathRemaining < lookaheadDistance) {
+            // Final approach: close the remaining error proportionally
+            targetSpeed = Math.min(targetSpeed, TrajectoryConstants.TRANSLATIONAL_KP * endDistance);
+        }
+        speed = Math.min(targetSpeed, speed + constraints.maxAcceleration * dt);
+
+        double directionX = lookahead[0] - x;
+        double directionY = lookahead[1] - y;
+        double norm = Math.hypot(directionX, directionY);
+        double velocityX = norm > 1e-6 ? speed * directionX / norm : 0.0;
+        double velocityY = norm > 1e-6 ? speed * directionY / norm : 0.0;
+
+        // ===== Heading: independent of translation =====
+        double targetHeading = path.headingAt(lookahead[2], cursor);
+        headingError = angleWrap(targetHeading - heading);
+        double angularVelocity = Math.max(-constraints.maxAngularVelocity, Math.min(constraints.maxAngularVelocity,
+            TrajectoryConstants.HEADING_KP * headingError));
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        driveSubsystem.driveWithFeedforward(
+            velocityX * cos + velocityY * sin,
+            -velocityX * sin + velocityY * cos,
+            angularVelocity,
+            0.0, 0.0, 0.0
+        );
+    }
+
+    @Override
+    public boolean isFinished() {
+        return cursor == path.getSegmentCount() - 1
+            && remaining <= TrajectoryConstants.POSITION_TOLERANCE
+            && Math.abs(angleWrap(path.getEndHeading() - driveSubsystem.getPose().getHeading()))
+                <= Math.toRadians(TrajectoryConstants.HEADING_TOLERANCE);
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveSubsystem.stop();
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * @return Index of the segment being tracked
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return Current lookahead distance (inches)
+     */
+    public double getLookaheadDistance() {
+        return lookaheadDistance;
+    }
+
+    /**
+     * @return Distance left to the end of the path (inches)
+     */
+    public double getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * @return Heading error to the lookahead target (radians)
+     */
+    public double getHeadingError() {
+        return headingError;
+    }
+
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+}
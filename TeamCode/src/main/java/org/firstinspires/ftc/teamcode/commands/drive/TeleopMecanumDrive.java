@@ -1,14 +1,16 @@
 package org.firstinspires.ftc.teamcode.commands.drive;
 
 import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.geometry.Pose2d;
 
 import org.firstinspires.ftc.teamcode.constants.DriveConstants;
-import org.firstinspires.ftc.teamcode.constants.OperatorConstants;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
 import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
 import org.firstinspires.ftc.teamcode.util.InputProcessor;
 
 import java.util.function.BooleanSupplier;
 import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
 
 /**
  * Teleop Command for Mecanum Drive
@@ -19,6 +21,9 @@ import java.util.function.DoubleSupplier;
  * - Precision mode (slow, controlled movement)
  * - Turbo mode (maximum speed)
  * - Input deadband and scaling
+ * - Driver assist: while held, blends the sticks with a controller that
+ *   snaps heading to the nearest scoring angle and pulls toward a target
+ *   pose (DriveConstants / TunableConstants ASSIST_ authority and gains)
  * 
  * This is typically set as the default command for the drive subsystem.
  */
@@ -37,6 +42,12 @@ public class TeleopMecanumDrive extends CommandBase {
     private final BooleanSupplier precisionModeSupplier;
     private final BooleanSupplier turboModeSupplier;
     
+    // Driver assist button and target (target null = heading only)
+    private final BooleanSupplier assistSupplier;
+    private final Supplier<Pose2d> assistTargetSupplier;
+    
+    private boolean assisting;
+    
     // ==================== Constructor ====================
     
     /**
@@ -56,6 +67,32 @@ public class TeleopMecanumDrive extends CommandBase {
             DoubleSupplier turnSupplier,
             BooleanSupplier precisionModeSupplier,
             BooleanSupplier turboModeSupplier) {
+        this(driveSubsystem, strafeSupplier, forwardSupplier, turnSupplier,
+            precisionModeSupplier, turboModeSupplier, () -> false, () -> null);
+    }
+    
+    /**
+     * Creates a new TeleopMecanumDrive command with driver assist.
+     * 
+     * @param driveSubsystem The mecanum drive subsystem
+     * @param strafeSupplier Supplier for strafe input (left stick X)
+     * @param forwardSupplier Supplier for forward input (left stick Y)
+     * @param turnSupplier Supplier for turn input (right stick X)
+     * @param precisionModeSupplier Supplier for precision mode button
+     * @param turboModeSupplier Supplier for turbo mode button
+     * @param assistSupplier Supplier for the assist button
+     * @param assistTargetSupplier Supplier for the pose to pull toward in the
+     *                             odometry frame, or null for heading only
+     */
+    public TeleopMecanumDrive(
+            MecanumDriveSubsystem driveSubsystem,
+            DoubleSupplier strafeSupplier,
+            DoubleSupplier forwardSupplier,
+            DoubleSupplier turnSupplier,
+            BooleanSupplier precisionModeSupplier,
+            BooleanSupplier turboModeSupplier,
+            BooleanSupplier assistSupplier,
+            Supplier<Pose2d> assistTargetSupplier) {
         
         this.driveSubsystem = driveSubsystem;
         this.strafeSupplier = strafeSupplier;
@@ -63,6 +100,8 @@ public class TeleopMecanumDrive extends CommandBase {
         this.turnSupplier = turnSupplier;
         this.precisionModeSupplier = precisionModeSupplier;
         this.turboModeSupplier = turboModeSupplier;
+        this.assistSupplier = assistSupplier;
+        this.assistTargetSupplier = assistTargetSupplier;
         
         // Declare subsystem dependencies
         addRequirements(driveSubsystem);
@@ -92,26 +131,69 @@ public class TeleopMecanumDrive extends CommandBase {
         double rawForward = forwardSupplier.getAsDouble();
         double rawTurn = turnSupplier.getAsDouble();
         
-        // 3. Process inputs (apply deadband and scale)
+        // 3. Read tunables once so every axis uses the same values
+        double deadband = TunableConstants.CONTROLLER_DEADBAND.get();
+        double driveScale = TunableConstants.MAX_DRIVE_SPEED.get() * speedMultiplier;
+        double turnScale = TunableConstants.MAX_ANGULAR_SPEED.get() * speedMultiplier;
+        
+        // 4. Process inputs (apply deadband and scale)
         double strafeSpeed = InputProcessor.processInput(
             rawStrafe,
-            DriveConstants.CONTROLLER_DEADBAND,
-            DriveConstants.MAX_DRIVE_SPEED * speedMultiplier
+            deadband,
+            driveScale
         );
         
         double forwardSpeed = InputProcessor.processInput(
             rawForward,
-            DriveConstants.CONTROLLER_DEADBAND,
-            DriveConstants.MAX_DRIVE_SPEED * speedMultiplier
+            deadband,
+            driveScale
         );
         
         double turnSpeed = InputProcessor.processInput(
             rawTurn,
-            DriveConstants.CONTROLLER_DEADBAND,
-            DriveConstants.MAX_ANGULAR_SPEED * speedMultiplier
+            deadband,
+            turnScale
         );
         
-        // 4. Send processed values to subsystem
+        // 5. Blend in driver assist while it is held (needs odometry)
+        assisting = assistSupplier.getAsBoolean() && driveSubsystem.getLocalizer() != null;
+        if (assisting) {
+            Pose2d pose = driveSubsystem.getPose();
+            double heading = pose.getHeading();
+            
+            // Heading: nearest scoring angle. The heading is counterclockwise
+            // positive but drive() turns clockwise for a positive turnSpeed.
+            double increment = Math.toRadians(DriveConstants.ASSIST_HEADING_INCREMENT);
+            double snapped = Math.round(heading / increment) * increment;
+            double assistTurn = clamp(-DriveConstants.ASSIST_HEADING_KP * angleWrap(snapped - heading),
+                DriveConstants.ASSIST_MAX_TURN);
+            turnSpeed += TunableConstants.ASSIST_HEADING_AUTHORITY.get() * (assistTurn - turnSpeed);
+            
+            // Translation: toward the target, if there is one
+            Pose2d target = assistTargetSupplier.get();
+            if (target != null) {
+                double driveX = DriveConstants.ASSIST_TRANSLATION_KP * (target.getX() - pose.getX());
+                double driveY = DriveConstants.ASSIST_TRANSLATION_KP * (target.getY() - pose.getY());
+                double magnitude = Math.hypot(driveX, driveY);
+                if (magnitude > DriveConstants.ASSIST_MAX_DRIVE) {
+                    driveX *= DriveConstants.ASSIST_MAX_DRIVE / magnitude;
+                    driveY *= DriveConstants.ASSIST_MAX_DRIVE / magnitude;
+                }
+                
+                // Into the frame drive() uses: driver frame or robot frame
+                double frame = driveSubsystem.isFieldCentric() ? driveSubsystem.getHeadingOffset() : heading;
+                double cos = Math.cos(frame);
+                double sin = Math.sin(frame);
+                double assistForward = driveX * cos + driveY * sin;
+                double assistStrafe = driveX * sin - driveY * cos; // right positive
+                
+                double authority = TunableConstants.ASSIST_TRANSLATION_AUTHORITY.get();
+                forwardSpeed += authority * (assistForward - forwardSpeed);
+                strafeSpeed += authority * (assistStrafe - strafeSpeed);
+            }
+        }
+        
+        // 6. Send processed values to subsystem
         driveSubsystem.drive(strafeSpeed, forwardSpeed, turnSpeed);
     }
     
@@ -137,8 +219,25 @@ public class TeleopMecanumDrive extends CommandBase {
         return false;
     }
     
+    /**
+     * Check if driver assist is blending into the drive commands.
+     * 
+     * @return true while the assist button is held and odometry is available
+     */
+    public boolean isAssisting() {
+        return assisting;
+    }
+    
     // ==================== Helper Methods ====================
     
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+    
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+    
     /**
      * Determine the speed multiplier based on which mode is active.
      * 
@@ -154,34 +253,34 @@ public class TeleopMecanumDrive extends CommandBase {
         boolean turboActive = turboModeSupplier.getAsBoolean();
         
         // If modes are mutually exclusive
-        if (OperatorConstants.MUTUALLY_EXCLUSIVE_MODES) {
+        if (TunableConstants.MUTUALLY_EXCLUSIVE_MODES.get()) {
             // Check priority
-            if (OperatorConstants.PRECISION_PRIORITY) {
+            if (TunableConstants.PRECISION_PRIORITY.get()) {
                 // Precision has priority over turbo
                 if (precisionActive) {
-                    return DriveConstants.PRECISION_MULTIPLIER;
+                    return TunableConstants.PRECISION_MULTIPLIER.get();
                 } else if (turboActive) {
-                    return DriveConstants.TURBO_MULTIPLIER;
+                    return TunableConstants.TURBO_MULTIPLIER.get();
                 }
             } else {
                 // Turbo has priority over precision
                 if (turboActive) {
-                    return DriveConstants.TURBO_MULTIPLIER;
+                    return TunableConstants.TURBO_MULTIPLIER.get();
                 } else if (precisionActive) {
-                    return DriveConstants.PRECISION_MULTIPLIER;
+                    return TunableConstants.PRECISION_MULTIPLIER.get();
                 }
             }
         } else {
             // If not mutually exclusive, precision takes priority anyway
             // (you typically want precision to override turbo for safety)
             if (precisionActive) {
-                return DriveConstants.PRECISION_MULTIPLIER;
+                return TunableConstants.PRECISION_MULTIPLIER.get();
             } else if (turboActive) {
-                return DriveConstants.TURBO_MULTIPLIER;
+                return TunableConstants.TURBO_MULTIPLIER.get();
             }
         }
         
         // Default: normal speed
-        return DriveConstants.NORMAL_MULTIPLIER;
+        return TunableConstants.NORMAL_MULTIPLIER.get();
     }
 }
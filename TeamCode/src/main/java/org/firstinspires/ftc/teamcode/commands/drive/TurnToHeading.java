@@ -0,0 +1,166 @@
+package org.firstinspires.ftc.teamcode.commands.drive;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.trajectory.TrapezoidalProfile;
+
+/**
+ * Turn in place to a field heading along a trapezoidal angular profile.
+ *
+ * A proportional turn slows down as it approaches the target and spends
+ * most of its time crawling. This command instead accelerates at the
+ * limit, cruises at the maximum rate and brakes at the limit, feeding the
+ * profile's angular velocity and acceleration forward. Feedback only
+ * corrects the small error around the profile, so there is no overshoot
+ * to settle out. Position is held while turning.
+ *
+ * Finishes when both the heading error and the angular rate have stayed
+ * within tolerance for TrajectoryConstants.TURN_SETTLE_TIME, or after
+ * the profile plus TrajectoryConstants.SETTLE_TIMEOUT.
+ */
+public class TurnToHeading extends CommandBase {
+
+    private final MecanumDriveSubsystem driveSubsystem;
+    private final double targetHeading;
+
+    private TrapezoidalProfile profile;
+    private double startHeading;
+    private double direction;
+    private double holdX;
+    private double holdY;
+
+    private boolean started;
+    private long startNanos;
+    private long settledSinceNanos;
+    private boolean settled;
+    private double elapsed;
+    private double headingError;
+
+    /**
+     * Creates a turn command.
+     *
+     * @param driveSubsystem The drive subsystem
+     * @param headingDegrees Field heading to turn to (degrees, counterclockwise positive)
+     */
+    public TurnToHeading(MecanumDriveSubsystem driveSubsystem, double headingDegrees) {
+        this.driveSubsystem = driveSubsystem;
+        this.targetHeading = Math.toRadians(headingDegrees);
+        addRequirements(driveSubsystem);
+    }
+
+    @Override
+    public void initialize() {
+        started = false;
+        settled = false;
+        elapsed = 0.0;
+    }
+
+    /**
+     * Plan the turn from wherever the robot is on its first loop, so
+     * scheduling during init is fine.
+     */
+    private void begin(long now) {
+        Pose2d pose = driveSubsystem.getPose();
+        startHeading = pose.getHeading();
+        holdX = pose.getX();
+        holdY = pose.getY();
+
+        // Shortest way around
+        double turn = angleWrap(targetHeading - startHeading);
+        direction = Math.signum(turn);
+        profile = new TrapezoidalProfile(Math.abs(turn),
+            TrajectoryConstants.TURN_MAX_ANGULAR_VELOCITY,
+            TrajectoryConstants.TURN_MAX_ANGULAR_ACCELERATION);
+
+        startNanos = now;
+        started = true;
+    }
+
+    @Override
+    public void execute() {
+        long now = System.nanoTime();
+        if (!started) {
+            begin(now);
+        }
+        elapsed = (now - startNanos) / 1e9;
+
+        // Profile setpoint
+        double setpoint = startHeading + direction * profile.position(elapsed);
+        double angularVelocity = direction * profile.velocity(elapsed);
+        double angularAccel = direction * profile.acceleration(elapsed);
+
+        // Feedback needs odometry; without it the profile runs open loop
+        Localizer localizer = driveSubsystem.getLocalizer();
+        Pose2d pose = driveSubsystem.getPose();
+        double heading = localizer != null ? pose.getHeading() : setpoint;
+        headingError = angleWrap(targetHeading - heading);
+        double correctionX = 0.0;
+        double correctionY = 0.0;
+        if (localizer != null) {
+            angularVelocity += TrajectoryConstants.HEADING_KP * angleWrap(setpoint - heading);
+            // Hold position while turning
+            correctionX = TrajectoryConstants.TRANSLATIONAL_KP * (holdX - pose.getX());
+            correctionY = TrajectoryConstants.TRANSLATIONAL_KP * (holdY - pose.getY());
+        }
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+
+        driveSubsystem.driveWithFeedforward(
+            correctionX * cos + correctionY * sin,
+            -correctionX * sin + correctionY * cos,
+            angularVelocity,
+            0.0, 0.0, angularAccel
+        );
+
+        // Settled: on target and not moving, continuously
+        double rate = localizer != null ? localizer.getVelocityHeading() : angularVelocity;
+        boolean within = elapsed >= profile.getDuration()
+            && Math.abs(headingError) <= Math.toRadians(TrajectoryConstants.TURN_HEADING_TOLERANCE)
+            && Math.abs(rate) <= Math.toRadians(TrajectoryConstants.TURN_RATE_TOLERANCE);
+        if (!within) {
+            settled = false;
+        } else if (!settled) {
+            settled = true;
+            settledSinceNanos = now;
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        if (!started) {
+            return false;
+        }
+        boolean settleComplete = settled
+            && (System.nanoTime() - settledSinceNanos) / 1e9 >= TrajectoryConstants.TURN_SETTLE_TIME;
+        return settleComplete || elapsed >= profile.getDuration() + TrajectoryConstants.SETTLE_TIMEOUT;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveSubsystem.stop();
+    }
+
+    // ==================== Status ====================
+
+    /**
+     * @return Heading error to the final target (radians)
+     */
+    public double getHeadingError() {
+        return headingError;
+    }
+
+    /**
+     * @return Planned turn time (seconds)
+     */
+    public double getProfileDuration() {
+        return profile != null ? profile.getDuration() : 0.0;
+    }
+
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+}
@@ -3,6 +3,9 @@ package org.firstinspires.ftc.teamcode.constants;
 /**
  * Constants for the Mecanum Drive subsystem.
  * Adjust these values based on your robot's configuration and testing.
+ *
+ * Speed limits, multipliers, deadband and SQUARE_INPUTS only seed
+ * TunableConstants; runtime code reads the tunable copies.
  */
 public final class DriveConstants {
     
@@ -42,6 +45,32 @@ public final class DriveConstants {
      */
     public static final double WHEEL_DIAMETER = 3.78;
     
+    // ==================== Feedforward ====================
+    
+    /**
+     * Drive feedforward V = kS * sign(v) + kV * v + kA * a, per direction.
+     * Units: volts, inches, seconds. Rotate gains use wheel surface speed
+     * (angular velocity times the mecanum lever arm).
+     * Fit these with the Drive Characterization opmode.
+     */
+    public static final double FORWARD_KS = 0.6;
+    public static final double FORWARD_KV = 0.2;
+    public static final double FORWARD_KA = 0.02;
+    
+    public static final double STRAFE_KS = 0.8;
+    public static final double STRAFE_KV = 0.23;
+    public static final double STRAFE_KA = 0.025;
+    
+    public static final double ROTATE_KS = 0.7;
+    public static final double ROTATE_KV = 0.2;
+    public static final double ROTATE_KA = 0.02;
+    
+    /**
+     * How often the battery voltage is re-read for feedforward (seconds).
+     * Each read is a separate hub transaction, so it is not done every loop.
+     */
+    public static final double VOLTAGE_REFRESH_SECONDS = 0.25;
+    
     // ==================== Speed Limits ====================
     
     /**
@@ -94,6 +123,140 @@ public final class DriveConstants {
      */
     public static final boolean SQUARE_INPUTS = false;
     
+    // ==================== Driver Assist ====================
+    
+    /**
+     * Scoring headings are the field headings that are multiples of this
+     * (degrees). While assist is held the heading snaps to the nearest one.
+     */
+    public static final double ASSIST_HEADING_INCREMENT = 45.0;
+    
+    /**
+     * Share of the turn and translation commands given to the assist
+     * controller while it is held (0 = driver only, 1 = assist only).
+     * The driver keeps the rest, so they can still steer or back out.
+     */
+    public static final double ASSIST_HEADING_AUTHORITY = 0.8;
+    public static final double ASSIST_TRANSLATION_AUTHORITY = 0.6;
+    
+    /**
+     * Assist controller gains: turn power per radian and drive power per
+     * inch of error. Check on the robot that holding assist turns toward
+     * the nearest scoring heading; turning away means the turn sign is wrong.
+     */
+    public static final double ASSIST_HEADING_KP = 1.5;
+    public static final double ASSIST_TRANSLATION_KP = 0.05;
+    
+    /**
+     * Largest turn and drive power the assist controller outputs
+     */
+    public static final double ASSIST_MAX_TURN = 0.6;
+    public static final double ASSIST_MAX_DRIVE = 0.6;
+
+    // ==================== Slip Detection ====================
+
+    /**
+     * Compare wheel encoder velocity against the odometry localizer to
+     * detect wheel slip, being pushed and collisions.
+     * Needs an independent localizer (Pinpoint, OTOS or OctoQuad).
+     */
+    public static final boolean ENABLE_SLIP_DETECTION = true;
+
+    /**
+     * Limit how fast drive commands can grow while slip is detected
+     */
+    public static final boolean ENABLE_TRACTION_CONTROL = true;
+
+    /**
+     * Velocity mismatch between wheels and odometry that counts as slip (inches/s).
+     * Rotation mismatch is converted to wheel surface speed before comparing.
+     */
+    public static final double SLIP_VELOCITY_THRESHOLD = 10.0;
+
+    /**
+     * Additional mismatch allowed per inch/s of wheel speed, since scrub
+     * grows with speed (fraction)
+     */
+    public static final double SLIP_RELATIVE_TOLERANCE = 0.2;
+
+    /**
+     * Consecutive loops over the threshold before slip is reported
+     */
+    public static final int SLIP_DEBOUNCE_LOOPS = 3;
+
+    /**
+     * Chassis acceleration the wheels did not command that counts as a collision (inches/s²)
+     */
+    public static final double COLLISION_ACCEL_THRESHOLD = 300.0;
+
+    /**
+     * Time constant of the low-pass filter on the wheel vs odometry velocity
+     * difference before it is differentiated for collisions (seconds)
+     */
+    public static final double COLLISION_FILTER_SECONDS = 0.03;
+
+    /**
+     * Consecutive loops over the acceleration threshold before a collision is reported
+     */
+    public static final int COLLISION_DEBOUNCE_LOOPS = 2;
+
+    /**
+     * How long traction control stays active after a collision (seconds)
+     */
+    public static final double COLLISION_HOLD_SECONDS = 0.3;
+
+    /**
+     * Fastest a drive command may grow while traction control is active
+     * (power per second; 2.0 = zero to full power in half a second)
+     */
+    public static final double TRACTION_SLEW_RATE = 2.0;
+
+    // ==================== Velocity Loop ====================
+
+    /**
+     * Run the wheel velocity controllers on their own thread (see
+     * WheelVelocityLoop) for OpModes that call enableVelocityLoop().
+     * Off until WHEEL_VELOCITY_KP has been tuned and the wheel signs have
+     * been checked on the robot: drive forward slowly with the loop on and
+     * confirm Wheel Error stays small and no sign fault is reported.
+     */
+    public static final boolean ENABLE_VELOCITY_LOOP = false;
+
+    /**
+     * Velocity loop period (seconds). Each cycle is one bulk read of the
+     * drive hub plus four motor writes; check Loop Bus Time in telemetry
+     * and keep it well under this.
+     */
+    public static final double VELOCITY_LOOP_PERIOD = 0.005;
+
+    /**
+     * Voltage added per inch/s of wheel velocity error, on top of the feedforward
+     */
+    public static final double WHEEL_VELOCITY_KP = 0.02;
+
+    /**
+     * Drive motors are on the Control Hub (false = Expansion Hub)
+     */
+    public static final boolean DRIVE_MOTORS_ON_CONTROL_HUB = true;
+
+    /**
+     * The velocity loop stops the wheels if the OpMode loop has not sent
+     * a setpoint, or its own bulk reads have failed, for this long (seconds)
+     */
+    public static final double VELOCITY_SETPOINT_TIMEOUT = 0.1;
+
+    /**
+     * Wheel speed above which a measured velocity against the target counts
+     * as a reversed sign (inches/s)
+     */
+    public static final double VELOCITY_SIGN_CHECK_SPEED = 5.0;
+
+    /**
+     * How long a wheel may move against its target before the velocity
+     * loop stops with a sign fault (seconds)
+     */
+    public static final double VELOCITY_SIGN_FAULT_SECONDS = 0.25;
+
     // Prevent instantiation
     private DriveConstants() {
         throw new AssertionError("Utility class should not be instantiated");
@@ -0,0 +1,67 @@
+package org.firstinspires.ftc.teamcode.constants;
+
+/**
+ * Constants for loop timing and the overrun watchdog.
+ */
+public final class LoopConstants {
+    
+    // ==================== Budget ====================
+    
+    /**
+     * Loop time the OpMode is expected to stay within (seconds)
+     */
+    public static final double LOOP_BUDGET = 0.02;
+    
+    /**
+     * Weight of each new loop time in the smoothed average (0 to 1).
+     * Lower ignores single spikes; higher reacts faster.
+     */
+    public static final double LOOP_TIME_SMOOTHING = 0.1;
+    
+    // ==================== Shedding ====================
+    
+    /**
+     * How long the smoothed loop time must stay over budget before the
+     * next stage of optional work is shed (seconds)
+     */
+    public static final double SHED_DELAY = 0.25;
+    
+    /**
+     * How long it must stay under RECOVERY_FRACTION of the budget before
+     * the last shed stage is restored (seconds). Longer than SHED_DELAY so
+     * the watchdog does not flap.
+     */
+    public static final double RESTORE_DELAY = 1.0;
+    
+    /**
+     * Fraction of the budget the loop must get back under before restoring
+     */
+    public static final double RECOVERY_FRACTION = 0.75;
+    
+    /**
+     * Telemetry update period while telemetry is shed (seconds)
+     */
+    public static final double REDUCED_TELEMETRY_PERIOD = 0.25;
+    
+    /**
+     * The battery voltage refresh interval is multiplied by this while it
+     * is shed. Slip detection is part of drive control and is never shed.
+     */
+    public static final int VOLTAGE_REFRESH_SCALE = 4;
+    
+    // ==================== Telemetry ====================
+    
+    /**
+     * Format and send loop telemetry on a background thread instead of in
+     * the loop (FastCommandOpMode.TelemetryMode.ASYNC). Seeds
+     * TunableConstants.ASYNC_TELEMETRY, which can be flipped while running
+     * to compare the two modes' cost. Off until the Loop Work telemetry
+     * line shows a loop-time saving on the robot.
+     */
+    public static final boolean ASYNC_TELEMETRY = false;
+    
+    // Prevent instantiation
+    private LoopConstants() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
@@ -1,17 +1,26 @@
 package org.firstinspires.ftc.teamcode.constants;
 
+import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
+
+import org.firstinspires.ftc.teamcode.localization.LocalizerType;
+
 /**
  * Constants for the odometry system.
- * This configuration is for the goBILDA Pinpoint Odometry Computer.
+ * The localizer backend is selected with LOCALIZER; each backend has its
+ * own configuration section below.
+ *
+ * Pod offsets and resolution seed TunableConstants and can be retuned
+ * from the parameter file.
  */
 public final class OdometryConstants {
     
     // ==================== Odometry Hardware ====================
     
     /**
-     * Using goBILDA Pinpoint Odometry Computer
+     * Odometry backend used by the drive subsystem
+     * PINPOINT, OTOS, OCTOQUAD, DRIVE_ENCODERS or NONE
      */
-    public static final boolean USE_PINPOINT = true;
+    public static final LocalizerType LOCALIZER = LocalizerType.PINPOINT;
     
     /**
      * Pinpoint device name in Robot Controller configuration
@@ -23,6 +32,15 @@ public final class OdometryConstants {
      */
     public static final String IMU_NAME = "imu";
     
+    /**
+     * Hub mounting, for the IMU's yaw axis. Used when an IMU heading is
+     * read (OCTOQUAD_USE_IMU_HEADING).
+     */
+    public static final RevHubOrientationOnRobot.LogoFacingDirection IMU_LOGO_DIRECTION =
+        RevHubOrientationOnRobot.LogoFacingDirection.UP;
+    public static final RevHubOrientationOnRobot.UsbFacingDirection IMU_USB_DIRECTION =
+        RevHubOrientationOnRobot.UsbFacingDirection.FORWARD;
+    
     // ==================== Pinpoint Configuration ====================
     
     /**
@@ -46,6 +64,89 @@ public final class OdometryConstants {
      */
     public static final double TICKS_PER_MM = 13.26291192;
     
+    /**
+     * Pod directions - adjust so X counts up moving forward and Y counts up moving left
+     */
+    public static final boolean PINPOINT_REVERSE_X = false;
+    public static final boolean PINPOINT_REVERSE_Y = false;
+    
+    // ==================== OTOS Configuration ====================
+    
+    /**
+     * SparkFun OTOS device name in Robot Controller configuration
+     */
+    public static final String OTOS_NAME = "otos";
+    
+    /**
+     * Mounting position of the OTOS relative to robot center (inches, degrees)
+     * X positive = forward, Y positive = left, heading = sensor rotation
+     */
+    public static final double OTOS_OFFSET_X = 0.0;
+    public static final double OTOS_OFFSET_Y = 0.0;
+    public static final double OTOS_OFFSET_HEADING = 0.0;
+    
+    /**
+     * Scale corrections (1.0 = none, valid range 0.872 to 1.127)
+     * Linear: drive a known distance and divide actual by measured
+     * Angular: spin ten turns and divide actual by measured
+     */
+    public static final double OTOS_LINEAR_SCALAR = 1.0;
+    public static final double OTOS_ANGULAR_SCALAR = 1.0;
+    
+    // ==================== OctoQuad Configuration ====================
+    
+    /**
+     * OctoQuad device name in Robot Controller configuration
+     */
+    public static final String OCTOQUAD_NAME = "octoquad";
+    
+    /**
+     * OctoQuad channels of the dead wheel encoders
+     * Left and right are parallel to the drive direction, perpendicular is lateral
+     */
+    public static final int OCTOQUAD_LEFT_CHANNEL = 0;
+    public static final int OCTOQUAD_RIGHT_CHANNEL = 1;
+    public static final int OCTOQUAD_PERPENDICULAR_CHANNEL = 2;
+    
+    /**
+     * Encoder directions - adjust so each wheel counts up when the robot
+     * moves forward (parallel wheels) or left (perpendicular wheel)
+     */
+    public static final boolean OCTOQUAD_REVERSE_LEFT = false;
+    public static final boolean OCTOQUAD_REVERSE_RIGHT = true;
+    public static final boolean OCTOQUAD_REVERSE_PERPENDICULAR = false;
+    
+    /**
+     * Distance between the left and right dead wheels (mm)
+     */
+    public static final double OCTOQUAD_TRACK_WIDTH_MM = 300.0;
+    
+    /**
+     * Offset of the perpendicular wheel from robot center (mm)
+     * Positive = forward from center
+     */
+    public static final double OCTOQUAD_PERPENDICULAR_OFFSET_MM = -100.0;
+    
+    /**
+     * Use two dead wheels plus the IMU heading instead of three dead wheels
+     * In this mode only the left (parallel) and perpendicular channels are used.
+     * The IMU (IMU_NAME, mounted per IMU_LOGO_/IMU_USB_DIRECTION) is read
+     * every loop, an extra I2C transaction of about 2 ms.
+     */
+    public static final boolean OCTOQUAD_USE_IMU_HEADING = false;
+    
+    /**
+     * Offset of the parallel wheel from robot center in two-wheel mode (mm)
+     * Positive = left from center
+     */
+    public static final double OCTOQUAD_PARALLEL_OFFSET_MM = 150.0;
+    
+    /**
+     * Hardware velocity sample interval (ms)
+     * Shorter = lower latency, longer = finer velocity resolution
+     */
+    public static final int OCTOQUAD_VELOCITY_SAMPLE_INTERVAL_MS = 25;
+    
     // ==================== Pose Estimation ====================
     
     /**
@@ -69,6 +170,28 @@ public final class OdometryConstants {
      */
     public static final double INITIAL_HEADING = 0.0;
     
+    /**
+     * Odometry samples kept for latency compensation (one per loop).
+     * Must cover the oldest camera frame still worth using; 128 samples
+     * is about a second at typical loop rates.
+     */
+    public static final int POSE_HISTORY_SIZE = 128;
+    
+    // ==================== Pose Handoff ====================
+    
+    /**
+     * Start the drive subsystem from the pose the previous autonomous
+     * published, instead of the initial pose. Teleop drops the handoff
+     * once it has run, so it is used by one teleop only.
+     */
+    public static final boolean ENABLE_POSE_HANDOFF = true;
+    
+    /**
+     * Oldest handoff accepted (seconds). Covers the autonomous to teleop
+     * transition plus an app restart; older entries are from another session.
+     */
+    public static final double HANDOFF_MAX_AGE_SECONDS = 180.0;
+    
     // ==================== Units Conversion ====================
     
     /**
@@ -84,7 +207,7 @@ public final class OdometryConstants {
     // ==================== Backup Configuration ====================
     
     /**
-     * Fallback to motor encoders if Pinpoint fails
+     * Fallback to motor encoders if the configured localizer fails to initialize
      */
     public static final boolean ENABLE_MOTOR_ENCODER_FALLBACK = false;
     
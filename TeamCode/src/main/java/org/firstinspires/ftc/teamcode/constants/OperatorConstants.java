@@ -5,6 +5,8 @@ import com.arcrobotics.ftclib.gamepad.GamepadKeys;
 /**
  * Constants for operator interface controls.
  * Defines button mappings and gamepad configurations.
+ *
+ * The mode behavior flags seed TunableConstants.
  */
 public final class OperatorConstants {
 
@@ -59,6 +61,14 @@ public final class OperatorConstants {
     public static final GamepadKeys.Button RESET_HEADING_BUTTON =
             GamepadKeys.Button.BACK;
 
+    /**
+     * Button to hold for driver assist
+     * Snaps heading to the nearest scoring angle and pulls toward the
+     * target in view while still following the sticks
+     */
+    public static final GamepadKeys.Button ASSIST_BUTTON =
+            GamepadKeys.Button.X;
+
     // ==================== Driver Controls - Utility ====================
 
     /**
@@ -0,0 +1,138 @@
+package org.firstinspires.ftc.teamcode.constants;
+
+/**
+ * Constants for trajectory generation and following.
+ * Constraints are defaults; individual trajectories can override them.
+ */
+public final class TrajectoryConstants {
+    
+    // ==================== Constraints ====================
+    
+    /**
+     * Maximum wheel surface speed (inches/s). Keep below the drive's free
+     * speed so feedback has headroom.
+     */
+    public static final double MAX_VELOCITY = 45.0;
+    
+    /**
+     * Maximum acceleration, also the centripetal limit in turns (inches/s²)
+     */
+    public static final double MAX_ACCELERATION = 50.0;
+    
+    /**
+     * Maximum angular velocity (radians/s)
+     */
+    public static final double MAX_ANGULAR_VELOCITY = Math.toRadians(180);
+    
+    /**
+     * Maximum angular acceleration (radians/s²)
+     */
+    public static final double MAX_ANGULAR_ACCELERATION = Math.toRadians(180);
+    
+    // ==================== Generation ====================
+    
+    /**
+     * Time between samples of a generated trajectory (seconds)
+     */
+    public static final double SAMPLE_PERIOD = 0.01;
+    
+    /**
+     * Distance between points where the path is evaluated during generation (inches)
+     */
+    public static final double PATH_RESOLUTION = 0.25;
+    
+    /**
+     * Entries per inch of chord in a spline's arc-length table. Lookups
+     * binary-search this table, so denser only costs memory and init time.
+     */
+    public static final double SPLINE_TABLE_DENSITY = 2.0;
+    
+    /**
+     * Direction change at a segment join above which the robot stops at the join (degrees)
+     */
+    public static final double CORNER_ANGLE_THRESHOLD = 2.0;
+    
+    // ==================== Follower ====================
+    
+    /**
+     * Position error feedback ((inches/s) per inch of error)
+     */
+    public static final double TRANSLATIONAL_KP = 4.0;
+    
+    /**
+     * Heading error feedback ((radians/s) per radian of error)
+     */
+    public static final double HEADING_KP = 4.0;
+    
+    /**
+     * Position error at which a finished trajectory counts as arrived (inches)
+     */
+    public static final double POSITION_TOLERANCE = 1.0;
+    
+    /**
+     * Heading error at which a finished trajectory counts as arrived (degrees)
+     */
+    public static final double HEADING_TOLERANCE = 2.0;
+    
+    /**
+     * Extra time allowed after a trajectory ends to settle into tolerance (seconds)
+     */
+    public static final double SETTLE_TIMEOUT = 0.5;
+    
+    // ==================== Turning ====================
+    
+    /**
+     * Turn profile limits (radians/s, radians/s²). Use about 80% of what the
+     * robot reaches in the Drive Characterization rotate step test, so the
+     * feedback has headroom.
+     */
+    public static final double TURN_MAX_ANGULAR_VELOCITY = Math.toRadians(270);
+    public static final double TURN_MAX_ANGULAR_ACCELERATION = Math.toRadians(540);
+    
+    /**
+     * Heading and angular rate within which a turn counts as settled
+     * (degrees, degrees/s)
+     */
+    public static final double TURN_HEADING_TOLERANCE = 1.0;
+    public static final double TURN_RATE_TOLERANCE = 5.0;
+    
+    /**
+     * How long both must stay within tolerance before the turn ends (seconds)
+     */
+    public static final double TURN_SETTLE_TIME = 0.05;
+    
+    // ==================== Pure Pursuit ====================
+    
+    /**
+     * Lookahead distance at rest and at the highest speed (inches)
+     */
+    public static final double MIN_LOOKAHEAD = 6.0;
+    public static final double MAX_LOOKAHEAD = 18.0;
+    
+    /**
+     * Lookahead added per inch/s of robot speed (seconds)
+     */
+    public static final double LOOKAHEAD_GAIN = 0.3;
+    
+    /**
+     * Side of a spatial index cell (inches). About the lookahead distance
+     * keeps each cell to a few segments.
+     */
+    public static final double PURSUIT_GRID_CELL = 12.0;
+    
+    /**
+     * Distance from the tracked segment beyond which the robot is
+     * considered off the path and the nearest segment is searched again (inches)
+     */
+    public static final double PURSUIT_LOST_DISTANCE = 12.0;
+    
+    /**
+     * Spacing of points when a curved path is converted for pure pursuit (inches)
+     */
+    public static final double PURSUIT_POINT_SPACING = 2.0;
+    
+    // Prevent instantiation
+    private TrajectoryConstants() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
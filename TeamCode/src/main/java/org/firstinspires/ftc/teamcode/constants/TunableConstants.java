@@ -0,0 +1,99 @@
+package org.firstinspires.ftc.teamcode.constants;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.util.ParameterStore;
+import org.firstinspires.ftc.teamcode.util.ParameterStore.BooleanParam;
+import org.firstinspires.ftc.teamcode.util.ParameterStore.DoubleParam;
+
+import java.io.File;
+
+/**
+ * Runtime-tunable copies of the values most often changed during tuning.
+ *
+ * Each parameter is seeded from its static final constant in DriveConstants,
+ * OdometryConstants, OperatorConstants or LoopConstants, then overridden by the parameter
+ * file if one exists. Values can be changed at runtime by editing the file
+ * (picked up at the next OpMode init) or through the Robot Controller web
+ * server at /tuning, without a rebuild.
+ *
+ * Read with PARAM.get() on the hot path; it is a single volatile field load.
+ */
+public final class TunableConstants {
+
+    // ==================== Store ====================
+
+    /**
+     * Parameter file on the Robot Controller
+     */
+    public static final File PARAMETER_FILE =
+        new File(AppUtil.FIRST_FOLDER, "tuning/parameters.properties");
+
+    /**
+     * Store holding every tunable parameter
+     */
+    public static final ParameterStore STORE = new ParameterStore(PARAMETER_FILE);
+
+    // ==================== Drive ====================
+
+    public static final DoubleParam MAX_DRIVE_SPEED =
+        STORE.doubleParam("drive.maxDriveSpeed", DriveConstants.MAX_DRIVE_SPEED, 0.0, 1.0);
+
+    public static final DoubleParam MAX_ANGULAR_SPEED =
+        STORE.doubleParam("drive.maxAngularSpeed", DriveConstants.MAX_ANGULAR_SPEED, 0.0, 1.0);
+
+    public static final DoubleParam PRECISION_MULTIPLIER =
+        STORE.doubleParam("drive.precisionMultiplier", DriveConstants.PRECISION_MULTIPLIER, 0.0, 1.0);
+
+    public static final DoubleParam TURBO_MULTIPLIER =
+        STORE.doubleParam("drive.turboMultiplier", DriveConstants.TURBO_MULTIPLIER, 0.0, 1.0);
+
+    public static final DoubleParam NORMAL_MULTIPLIER =
+        STORE.doubleParam("drive.normalMultiplier", DriveConstants.NORMAL_MULTIPLIER, 0.0, 1.0);
+
+    public static final DoubleParam CONTROLLER_DEADBAND =
+        STORE.doubleParam("drive.controllerDeadband", DriveConstants.CONTROLLER_DEADBAND, 0.0, 0.5);
+
+    public static final BooleanParam SQUARE_INPUTS =
+        STORE.booleanParam("drive.squareInputs", DriveConstants.SQUARE_INPUTS);
+
+    public static final DoubleParam ASSIST_HEADING_AUTHORITY =
+        STORE.doubleParam("drive.assistHeadingAuthority", DriveConstants.ASSIST_HEADING_AUTHORITY, 0.0, 1.0);
+
+    public static final DoubleParam ASSIST_TRANSLATION_AUTHORITY =
+        STORE.doubleParam("drive.assistTranslationAuthority", DriveConstants.ASSIST_TRANSLATION_AUTHORITY, 0.0, 1.0);
+
+    // ==================== Odometry ====================
+    // Applied when the odometry device is configured, i.e. at OpMode init
+
+    public static final DoubleParam X_OFFSET_MM =
+        STORE.doubleParam("odometry.xOffsetMm", OdometryConstants.X_OFFSET_MM, -500.0, 500.0);
+
+    public static final DoubleParam Y_OFFSET_MM =
+        STORE.doubleParam("odometry.yOffsetMm", OdometryConstants.Y_OFFSET_MM, -500.0, 500.0);
+
+    public static final DoubleParam TICKS_PER_MM =
+        STORE.doubleParam("odometry.ticksPerMm", OdometryConstants.TICKS_PER_MM, 0.1, 1000.0);
+
+    // ==================== Operator ====================
+
+    public static final BooleanParam MUTUALLY_EXCLUSIVE_MODES =
+        STORE.booleanParam("operator.mutuallyExclusiveModes", OperatorConstants.MUTUALLY_EXCLUSIVE_MODES);
+
+    public static final BooleanParam PRECISION_PRIORITY =
+        STORE.booleanParam("operator.precisionPriority", OperatorConstants.PRECISION_PRIORITY);
+
+    // ==================== Loop ====================
+
+    public static final BooleanParam ASYNC_TELEMETRY =
+        STORE.booleanParam("loop.asyncTelemetry", LoopConstants.ASYNC_TELEMETRY);
+
+    static {
+        // Every parameter is registered above, so the file can be applied now
+        STORE.reloadIfChanged();
+    }
+
+    // Prevent instantiation
+    private TunableConstants() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
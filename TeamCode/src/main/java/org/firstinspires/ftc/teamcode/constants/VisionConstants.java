@@ -0,0 +1,74 @@
+package org.firstinspires.ftc.teamcode.constants;
+
+/**
+ * Constants for the camera and AprilTag-guided driving.
+ * Units: inches and degrees, matching the AprilTag processor's defaults.
+ */
+public final class VisionConstants {
+    
+    // ==================== Camera ====================
+    
+    /**
+     * Webcam name in Robot Controller configuration
+     */
+    public static final String WEBCAM_NAME = "Webcam 1";
+    
+    /**
+     * Camera lens position relative to robot center (inches)
+     * X positive = forward, Y positive = left
+     */
+    public static final double CAMERA_OFFSET_X = 6.0;
+    public static final double CAMERA_OFFSET_Y = 0.0;
+    
+    /**
+     * Direction the camera points relative to the robot (degrees, counterclockwise positive)
+     */
+    public static final double CAMERA_OFFSET_HEADING = 0.0;
+    
+    // ==================== Tag Approach ====================
+    
+    /**
+     * Speed limits while approaching a tag (inches/s, inches/s², degrees/s)
+     */
+    public static final double APPROACH_MAX_VELOCITY = 30.0;
+    public static final double APPROACH_MAX_ACCELERATION = 40.0;
+    public static final double APPROACH_MAX_ANGULAR_VELOCITY = 120.0;
+    
+    /**
+     * Weight of each new detection when updating the goal (0 to 1).
+     * 1 jumps to every detection; lower averages out pose noise
+     * at close range.
+     */
+    public static final double GOAL_SMOOTHING = 0.5;
+    
+    /**
+     * Detections older than this are ignored (seconds). Must stay within
+     * what OdometryConstants.POSE_HISTORY_SIZE covers.
+     */
+    public static final double MAX_DETECTION_AGE = 0.5;
+    
+    /**
+     * How long to wait for the first sighting of the tag before giving up (seconds)
+     */
+    public static final double ACQUIRE_TIMEOUT = 1.5;
+    
+    // ==================== Driver Assist ====================
+    
+    /**
+     * Tag the teleop assist translates toward, and where to stop in front
+     * of it (inches from tag to robot center)
+     */
+    public static final int ASSIST_TAG_ID = 20;
+    public static final double ASSIST_STANDOFF = 24.0;
+    
+    /**
+     * Seconds without a new sighting after which the assist stops
+     * translating toward the tag and only snaps heading
+     */
+    public static final double ASSIST_TARGET_TIMEOUT = 2.0;
+    
+    // Prevent instantiation
+    private VisionConstants() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
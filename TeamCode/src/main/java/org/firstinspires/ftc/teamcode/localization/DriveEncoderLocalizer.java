@@ -0,0 +1,106 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+
+/**
+ * Localizer using the four mecanum drive motor encoders.
+ *
+ * Needs no extra hardware, but wheels slip under acceleration and the
+ * heading drifts, so it is mainly a fallback. With bulk caching enabled
+ * all four positions and velocities come from the same hub read.
+ *
+ * Each wheel's encoder must count up when that wheel drives the robot forward.
+ */
+public class DriveEncoderLocalizer extends IncrementalLocalizer {
+
+    private final MotorEx frontLeft;
+    private final MotorEx frontRight;
+    private final MotorEx backLeft;
+    private final MotorEx backRight;
+
+    // Half of track width plus wheel base (inches), the mecanum rotation lever arm
+    private final double leverArm;
+
+    private int lastFrontLeft;
+    private int lastFrontRight;
+    private int lastBackLeft;
+    private int lastBackRight;
+    private boolean initialized;
+    private long lastReadNanos;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a drive encoder localizer.
+     *
+     * @param frontLeft Front left motor
+     * @param frontRight Front right motor
+     * @param backLeft Back left motor
+     * @param backRight Back right motor
+     */
+    public DriveEncoderLocalizer(MotorEx frontLeft, MotorEx frontRight, MotorEx backLeft, MotorEx backRight) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backLeft = backLeft;
+        this.backRight = backRight;
+        this.leverArm = (DriveConstants.TRACK_WIDTH + DriveConstants.WHEEL_BASE) / 2.0;
+    }
+
+    // ==================== Localizer ====================
+
+    @Override
+    public void update() {
+        long start = System.nanoTime();
+        int fl = frontLeft.getCurrentPosition();
+        int fr = frontRight.getCurrentPosition();
+        int bl = backLeft.getCurrentPosition();
+        int br = backRight.getCurrentPosition();
+        double vfl = frontLeft.getVelocity();
+        double vfr = frontRight.getVelocity();
+        double vbl = backLeft.getVelocity();
+        double vbr = backRight.getVelocity();
+        long end = System.nanoTime();
+        timestampNanos = (start + end) / 2;
+        lastReadNanos = end - start;
+
+        if (!initialized) {
+            lastFrontLeft = fl;
+            lastFrontRight = fr;
+            lastBackLeft = bl;
+            lastBackRight = br;
+            initialized = true;
+            return;
+        }
+
+        double scale = OdometryConstants.MOTOR_TICKS_TO_INCHES;
+        double dfl = (fl - lastFrontLeft) * scale;
+        double dfr = (fr - lastFrontRight) * scale;
+        double dbl = (bl - lastBackLeft) * scale;
+        double dbr = (br - lastBackRight) * scale;
+        lastFrontLeft = fl;
+        lastFrontRight = fr;
+        lastBackLeft = bl;
+        lastBackRight = br;
+
+        // Mecanum forward kinematics (X roller pattern)
+        integrate(
+            (dfl + dfr + dbl + dbr) / 4.0,
+            (-dfl + dfr + dbl - dbr) / 4.0,
+            (-dfl + dfr - dbl + dbr) / (4.0 * leverArm)
+        );
+        setRobotVelocity(
+            (vfl + vfr + vbl + vbr) / 4.0 * scale,
+            (-vfl + vfr + vbl - vbr) / 4.0 * scale,
+            (-vfl + vfr - vbl + vbr) / (4.0 * leverArm) * scale
+        );
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Encoder Read", "%.2f ms", lastReadNanos / 1e6);
+    }
+}
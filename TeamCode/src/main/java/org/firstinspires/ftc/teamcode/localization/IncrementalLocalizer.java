@@ -0,0 +1,138 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+/**
+ * Base for localizers that integrate robot-frame wheel motion themselves
+ * (dead wheels, drive encoders), as opposed to devices that report a pose.
+ *
+ * Subclasses compute a robot-frame twist each update and pass it to
+ * {@link #integrate(double, double, double)}, which applies it with a
+ * constant-curvature (pose exponential) step.
+ */
+public abstract class IncrementalLocalizer implements Localizer {
+
+    // Field-frame pose, inches and radians
+    private double x;
+    private double y;
+    private double heading;
+    private Pose2d pose = new Pose2d(0, 0, new Rotation2d(0));
+
+    // Field-frame velocity, inches/s and radians/s
+    private double velocityX;
+    private double velocityY;
+    private double velocityHeading;
+
+    /**
+     * System.nanoTime() of the last sample, set by subclasses
+     */
+    protected long timestampNanos;
+
+    // ==================== Integration ====================
+
+    /**
+     * Apply a robot-frame motion to the field-frame pose.
+     *
+     * @param dForward Forward distance (inches)
+     * @param dStrafe Leftward distance (inches)
+     * @param dTheta Heading change (radians, counterclockwise positive)
+     */
+    protected void integrate(double dForward, double dStrafe, double dTheta) {
+        double sinTerm;
+        double cosTerm;
+        if (Math.abs(dTheta) < 1e-6) {
+            sinTerm = 1.0 - dTheta * dTheta / 6.0;
+            cosTerm = dTheta / 2.0;
+        } else {
+            sinTerm = Math.sin(dTheta) / dTheta;
+            cosTerm = (1.0 - Math.cos(dTheta)) / dTheta;
+        }
+        double localX = sinTerm * dForward - cosTerm * dStrafe;
+        double localY = cosTerm * dForward + sinTerm * dStrafe;
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        x += localX * cos - localY * sin;
+        y += localX * sin + localY * cos;
+        heading = angleWrap(heading + dTheta);
+        pose = null;
+    }
+
+    /**
+     * Set the velocity from robot-frame components.
+     *
+     * @param forward Forward velocity (inches/s)
+     * @param strafe Leftward velocity (inches/s)
+     * @param angular Angular velocity (radians/s)
+     */
+    protected void setRobotVelocity(double forward, double strafe, double angular) {
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        velocityX = forward * cos - strafe * sin;
+        velocityY = forward * sin + strafe * cos;
+        velocityHeading = angular;
+    }
+
+    /**
+     * @param radians Any angle
+     * @return The same angle in [-pi, pi]
+     */
+    protected static double angleWrap(double radians) {
+        while (radians > Math.PI) {
+            radians -= 2 * Math.PI;
+        }
+        while (radians < -Math.PI) {
+            radians += 2 * Math.PI;
+        }
+        return radians;
+    }
+
+    // ==================== Localizer ====================
+
+    @Override
+    public Pose2d getPose() {
+        if (pose == null) {
+            pose = new Pose2d(x, y, new Rotation2d(heading));
+        }
+        return pose;
+    }
+
+    /**
+     * Move the pose. Encoders keep counting; only the pose changes.
+     */
+    @Override
+    public void setPose(Pose2d newPose) {
+        x = newPose.getX();
+        y = newPose.getY();
+        heading = newPose.getHeading();
+        pose = newPose;
+    }
+
+    /**
+     * @return Current heading (radians)
+     */
+    protected double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    @Override
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    @Override
+    public double getVelocityHeading() {
+        return velocityHeading;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
@@ -0,0 +1,63 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * Source of the robot's field position.
+ *
+ * Implementations wrap one odometry device (Pinpoint, OTOS, OctoQuad dead
+ * wheels) or the drive motor encoders. The drive subsystem only talks to
+ * this interface, so the backend is chosen by configuration
+ * (OdometryConstants.LOCALIZER) without code changes.
+ *
+ * Units: pose in inches and radians (counterclockwise positive),
+ * velocity in the field frame in inches/s and radians/s.
+ */
+public interface Localizer {
+
+    /**
+     * Read the device and update pose and velocity. Call once per loop.
+     */
+    void update();
+
+    /**
+     * @return Field-frame pose from the last update
+     */
+    Pose2d getPose();
+
+    /**
+     * Reset the pose, e.g. to the starting position.
+     *
+     * @param pose New field-frame pose
+     */
+    void setPose(Pose2d pose);
+
+    /**
+     * @return Field-frame X velocity (inches/s)
+     */
+    double getVelocityX();
+
+    /**
+     * @return Field-frame Y velocity (inches/s)
+     */
+    double getVelocityY();
+
+    /**
+     * @return Angular velocity (radians/s, counterclockwise positive)
+     */
+    double getVelocityHeading();
+
+    /**
+     * @return System.nanoTime() at which the last sample was taken
+     */
+    long getTimestampNanos();
+
+    /**
+     * Add backend-specific diagnostics (read latency, device status) to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    void addTelemetry(Telemetry telemetry);
+}
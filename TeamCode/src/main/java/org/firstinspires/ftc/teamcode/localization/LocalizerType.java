@@ -0,0 +1,17 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+/**
+ * Available odometry backends.
+ */
+public enum LocalizerType {
+    /** goBILDA Pinpoint Odometry Computer (two pods plus built-in IMU) */
+    PINPOINT,
+    /** SparkFun Optical Tracking Odometry Sensor */
+    OTOS,
+    /** Dead wheels on a Digital Chicken Labs OctoQuad */
+    OCTOQUAD,
+    /** Mecanum drive motor encoders (no extra hardware, slips) */
+    DRIVE_ENCODERS,
+    /** No odometry */
+    NONE
+}
@@ -0,0 +1,240 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.qualcomm.hardware.digitalchickenlabs.OctoQuad;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Dead wheel localizer on a Digital Chicken Labs OctoQuad.
+ *
+ * All encoder positions and hardware velocity samples are read in a single
+ * I2C transaction (one EncoderDataBlock) per loop, instead of one read per
+ * encoder through motor ports. Supports:
+ * - Three dead wheels (two parallel, one perpendicular)
+ * - Two dead wheels (one parallel, one perpendicular) plus an IMU heading
+ *
+ * Pose is integrated with constant-curvature (pose exponential) steps.
+ * Velocities come straight from the OctoQuad's velocity samples, so they
+ * do not need differentiating positions in software.
+ *
+ * Units: pose in inches and radians, velocity in inches/s and radians/s.
+ */
+public class OctoQuadLocalizer extends IncrementalLocalizer {
+
+    // ==================== Hardware ====================
+
+    private final OctoQuad octoQuad;
+    private final OctoQuad.EncoderDataBlock block = new OctoQuad.EncoderDataBlock();
+    private final DoubleSupplier headingSupplier;
+
+    // ==================== Geometry (mm) ====================
+
+    private final double ticksPerMm;
+    private final double trackWidthMm;
+    private final double perpendicularOffsetMm;
+    private final double parallelOffsetMm;
+    private final double velocityScale;
+
+    // ==================== State ====================
+
+    private int lastLeft;
+    private int lastRight;
+    private int lastPerpendicular;
+    private double lastImuHeading;
+    private boolean initialized;
+
+    // ==================== Timing ====================
+
+    private long lastReadNanos;
+    private double averageReadNanos;
+    private long lastUpdateTime;
+    private double averagePeriodNanos;
+    private int invalidReads;
+
+    // ==================== Constructors ====================
+
+    /**
+     * Creates a three dead wheel localizer configured from OdometryConstants.
+     *
+     * @param hardwareMap The hardware map
+     */
+    public OctoQuadLocalizer(HardwareMap hardwareMap) {
+        this(hardwareMap, null);
+    }
+
+    /**
+     * Creates a localizer configured from OdometryConstants.
+     *
+     * @param hardwareMap The hardware map
+     * @param headingSupplier IMU heading in radians for two-wheel mode,
+     *                        or null for three dead wheels
+     */
+    public OctoQuadLocalizer(HardwareMap hardwareMap, DoubleSupplier headingSupplier) {
+        this.octoQuad = hardwareMap.get(OctoQuad.class, OdometryConstants.OCTOQUAD_NAME);
+        this.headingSupplier = headingSupplier;
+
+        ticksPerMm = TunableConstants.TICKS_PER_MM.get();
+        trackWidthMm = OdometryConstants.OCTOQUAD_TRACK_WIDTH_MM;
+        perpendicularOffsetMm = OdometryConstants.OCTOQUAD_PERPENDICULAR_OFFSET_MM;
+        parallelOffsetMm = OdometryConstants.OCTOQUAD_PARALLEL_OFFSET_MM;
+
+        // Velocity samples are counts per sample interval
+        velocityScale = 1000.0 / OdometryConstants.OCTOQUAD_VELOCITY_SAMPLE_INTERVAL_MS;
+
+        configure();
+    }
+
+    /**
+     * Configure encoder directions and velocity sampling, then zero the encoders.
+     */
+    private void configure() {
+        octoQuad.setChannelBankConfig(OctoQuad.ChannelBankConfig.ALL_QUADRATURE);
+        octoQuad.setSingleEncoderDirection(OdometryConstants.OCTOQUAD_LEFT_CHANNEL,
+            direction(OdometryConstants.OCTOQUAD_REVERSE_LEFT));
+        octoQuad.setSingleEncoderDirection(OdometryConstants.OCTOQUAD_RIGHT_CHANNEL,
+            direction(OdometryConstants.OCTOQUAD_REVERSE_RIGHT));
+        octoQuad.setSingleEncoderDirection(OdometryConstants.OCTOQUAD_PERPENDICULAR_CHANNEL,
+            direction(OdometryConstants.OCTOQUAD_REVERSE_PERPENDICULAR));
+        octoQuad.setAllVelocitySampleIntervals(OdometryConstants.OCTOQUAD_VELOCITY_SAMPLE_INTERVAL_MS);
+        octoQuad.resetAllPositions();
+    }
+
+    private static OctoQuad.EncoderDirection direction(boolean reversed) {
+        return reversed ? OctoQuad.EncoderDirection.REVERSE : OctoQuad.EncoderDirection.FORWARD;
+    }
+
+    // ==================== Update ====================
+
+    /**
+     * Read every encoder in one transaction and integrate the pose.
+     * Call once per loop.
+     */
+    @Override
+    public void update() {
+        long start = System.nanoTime();
+        octoQuad.readAllEncoderData(block);
+        long end = System.nanoTime();
+        timestampNanos = (start + end) / 2;
+
+        lastReadNanos = end - start;
+        averageReadNanos = averageReadNanos == 0
+            ? lastReadNanos
+            : 0.95 * averageReadNanos + 0.05 * lastReadNanos;
+        double dtSeconds = 0.0;
+        if (lastUpdateTime != 0) {
+            long period = end - lastUpdateTime;
+            dtSeconds = period / 1e9;
+            averagePeriodNanos = averagePeriodNanos == 0
+                ? period
+                : 0.95 * averagePeriodNanos + 0.05 * period;
+        }
+        lastUpdateTime = end;
+
+        if (!block.isDataValid()) {
+            // Keep the last pose rather than integrating a corrupted read
+            invalidReads++;
+            return;
+        }
+
+        int left = block.positions[OdometryConstants.OCTOQUAD_LEFT_CHANNEL];
+        int right = block.positions[OdometryConstants.OCTOQUAD_RIGHT_CHANNEL];
+        int perpendicular = block.positions[OdometryConstants.OCTOQUAD_PERPENDICULAR_CHANNEL];
+        double imuHeading = headingSupplier != null ? headingSupplier.getAsDouble() : 0.0;
+
+        if (!initialized) {
+            lastLeft = left;
+            lastRight = right;
+            lastPerpendicular = perpendicular;
+            lastImuHeading = imuHeading;
+            initialized = true;
+            return;
+        }
+
+        // Int subtraction handles counter wraparound
+        double dLeft = (left - lastLeft) / ticksPerMm;
+        double dRight = (right - lastRight) / ticksPerMm;
+        double dPerpendicular = (perpendicular - lastPerpendicular) / ticksPerMm;
+        lastLeft = left;
+        lastRight = right;
+        lastPerpendicular = perpendicular;
+
+        double vLeft = block.velocities[OdometryConstants.OCTOQUAD_LEFT_CHANNEL] * velocityScale / ticksPerMm;
+        double vRight = block.velocities[OdometryConstants.OCTOQUAD_RIGHT_CHANNEL] * velocityScale / ticksPerMm;
+        double vPerpendicular = block.velocities[OdometryConstants.OCTOQUAD_PERPENDICULAR_CHANNEL] * velocityScale / ticksPerMm;
+
+        // Robot-frame deltas in mm and radians
+        double dTheta;
+        double dForward;
+        double vTheta;
+        double vForward;
+        if (headingSupplier == null) {
+            dTheta = (dRight - dLeft) / trackWidthMm;
+            dForward = (dLeft + dRight) / 2.0;
+            vTheta = (vRight - vLeft) / trackWidthMm;
+            vForward = (vLeft + vRight) / 2.0;
+        } else {
+            dTheta = angleWrap(imuHeading - lastImuHeading);
+            lastImuHeading = imuHeading;
+            // The IMU gives no rate here, so differentiate its heading
+            vTheta = dtSeconds > 0 ? dTheta / dtSeconds : 0.0;
+            // A parallel wheel left of center reads backward while turning CCW
+            dForward = dLeft + parallelOffsetMm * dTheta;
+            vForward = vLeft + parallelOffsetMm * vTheta;
+        }
+        // A perpendicular wheel ahead of center reads left while turning CCW
+        double dStrafe = dPerpendicular - perpendicularOffsetMm * dTheta;
+        double vStrafe = vPerpendicular - perpendicularOffsetMm * vTheta;
+
+        integrate(dForward * OdometryConstants.MM_TO_INCHES, dStrafe * OdometryConstants.MM_TO_INCHES, dTheta);
+
+        setRobotVelocity(vForward * OdometryConstants.MM_TO_INCHES, vStrafe * OdometryConstants.MM_TO_INCHES, vTheta);
+    }
+
+    // ==================== Timing ====================
+
+    /**
+     * @return Duration of the last block read in nanoseconds
+     */
+    public long getLastReadNanos() {
+        return lastReadNanos;
+    }
+
+    /**
+     * @return Smoothed duration of a block read in nanoseconds
+     */
+    public double getAverageReadNanos() {
+        return averageReadNanos;
+    }
+
+    /**
+     * @return Smoothed update rate in Hz
+     */
+    public double getUpdateRateHz() {
+        return averagePeriodNanos > 0 ? 1e9 / averagePeriodNanos : 0.0;
+    }
+
+    /**
+     * @return Number of reads rejected by the data integrity check
+     */
+    public int getInvalidReads() {
+        return invalidReads;
+    }
+
+    /**
+     * Add read latency and update rate to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("OctoQuad Read", "%.2f ms (avg %.2f ms)",
+            lastReadNanos / 1e6, averageReadNanos / 1e6);
+        telemetry.addData("OctoQuad Rate", "%.0f Hz", getUpdateRateHz());
+        telemetry.addData("OctoQuad Invalid", invalidReads);
+    }
+}
@@ -0,0 +1,188 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+
+/**
+ * Localizer backed by the SparkFun Optical Tracking Odometry Sensor.
+ *
+ * The OTOS tracks the floor optically and fuses it with its own IMU; it
+ * reports pose, velocity and acceleration already in the field frame. The
+ * sensor is configured in inches and radians so no conversion is needed.
+ *
+ * Each update() is a single burst read of all three (getPosVelAcc) into
+ * preallocated buffers, so velocity and acceleration for feedforward come
+ * at no extra I2C cost. The result is published as an immutable,
+ * timestamped {@link State} that other threads can read safely.
+ */
+public class OtosLocalizer implements Localizer {
+
+    private final SparkFunOTOS otos;
+
+    // Burst read targets, reused every update
+    private final SparkFunOTOS.Pose2D position = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D velocity = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D acceleration = new SparkFunOTOS.Pose2D();
+
+    private volatile State state = new State(new Pose2d(0, 0, new Rotation2d(0)), 0, 0, 0, 0, 0, 0, 0);
+    private long lastReadNanos;
+
+    // ==================== State ====================
+
+    /**
+     * One timestamped OTOS sample (field frame, inches and radians).
+     */
+    public static class State {
+        public final Pose2d pose;
+        public final double velocityX;
+        public final double velocityY;
+        public final double velocityHeading;
+        public final double accelerationX;
+        public final double accelerationY;
+        public final double accelerationHeading;
+        /** System.nanoTime() at which the sample was taken */
+        public final long timestampNanos;
+
+        State(Pose2d pose, double velocityX, double velocityY, double velocityHeading,
+              double accelerationX, double accelerationY, double accelerationHeading,
+              long timestampNanos) {
+            this.pose = pose;
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+            this.velocityHeading = velocityHeading;
+            this.accelerationX = accelerationX;
+            this.accelerationY = accelerationY;
+            this.accelerationHeading = accelerationHeading;
+            this.timestampNanos = timestampNanos;
+        }
+    }
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates an OTOS localizer configured from OdometryConstants,
+     * calibrates its IMU and resets tracking. The robot must be still.
+     *
+     * @param hardwareMap The hardware map
+     */
+    public OtosLocalizer(HardwareMap hardwareMap) {
+        otos = hardwareMap.get(SparkFunOTOS.class, OdometryConstants.OTOS_NAME);
+
+        otos.setLinearUnit(DistanceUnit.INCH);
+        otos.setAngularUnit(AngleUnit.RADIANS);
+
+        otos.setOffset(new SparkFunOTOS.Pose2D(
+            OdometryConstants.OTOS_OFFSET_X,
+            OdometryConstants.OTOS_OFFSET_Y,
+            Math.toRadians(OdometryConstants.OTOS_OFFSET_HEADING)
+        ));
+        // The sensor rejects scalars outside 0.872 to 1.127
+        if (!otos.setLinearScalar(OdometryConstants.OTOS_LINEAR_SCALAR)) {
+            System.err.println("OTOS rejected linear scalar " + OdometryConstants.OTOS_LINEAR_SCALAR);
+        }
+        if (!otos.setAngularScalar(OdometryConstants.OTOS_ANGULAR_SCALAR)) {
+            System.err.println("OTOS rejected angular scalar " + OdometryConstants.OTOS_ANGULAR_SCALAR);
+        }
+
+        otos.calibrateImu();
+        otos.resetTracking();
+    }
+
+    // ==================== Localizer ====================
+
+    /**
+     * Burst read position, velocity and acceleration and publish a new state.
+     */
+    @Override
+    public void update() {
+        long start = System.nanoTime();
+        otos.getPosVelAcc(position, velocity, acceleration);
+        long end = System.nanoTime();
+        lastReadNanos = end - start;
+
+        state = new State(
+            new Pose2d(position.x, position.y, new Rotation2d(position.h)),
+            velocity.x, velocity.y, velocity.h,
+            acceleration.x, acceleration.y, acceleration.h,
+            (start + end) / 2
+        );
+    }
+
+    /**
+     * @return The latest sample; fields are consistent with each other
+     */
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public Pose2d getPose() {
+        return state.pose;
+    }
+
+    @Override
+    public void setPose(Pose2d newPose) {
+        otos.setPosition(new SparkFunOTOS.Pose2D(newPose.getX(), newPose.getY(), newPose.getHeading()));
+        State last = state;
+        state = new State(newPose,
+            last.velocityX, last.velocityY, last.velocityHeading,
+            last.accelerationX, last.accelerationY, last.accelerationHeading,
+            System.nanoTime());
+    }
+
+    @Override
+    public double getVelocityX() {
+        return state.velocityX;
+    }
+
+    @Override
+    public double getVelocityY() {
+        return state.velocityY;
+    }
+
+    @Override
+    public double getVelocityHeading() {
+        return state.velocityHeading;
+    }
+
+    /**
+     * @return Field-frame X acceleration (inches/s^2)
+     */
+    public double getAccelerationX() {
+        return state.accelerationX;
+    }
+
+    /**
+     * @return Field-frame Y acceleration (inches/s^2)
+     */
+    public double getAccelerationY() {
+        return state.accelerationY;
+    }
+
+    /**
+     * @return Angular acceleration (radians/s^2)
+     */
+    public double getAccelerationHeading() {
+        return state.accelerationHeading;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return state.timestampNanos;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        State current = state;
+        telemetry.addData("OTOS Read", "%.2f ms (burst)", lastReadNanos / 1e6);
+        telemetry.addData("OTOS Accel", "%.1f, %.1f in/s², %.2f rad/s²",
+            current.accelerationX, current.accelerationY, current.accelerationHeading);
+    }
+}
@@ -0,0 +1,133 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.qualcomm.hardware.gobilda.GoBildaPinpointDriver;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Pose2D;
+import org.firstinspires.ftc.robotcore.external.navigation.UnnormalizedAngleUnit;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+
+/**
+ * Localizer backed by the goBILDA Pinpoint Odometry Computer.
+ *
+ * The Pinpoint fuses its two pods with its own IMU on board; each update()
+ * is one I2C bulk read of position and velocity.
+ */
+public class PinpointLocalizer implements Localizer {
+
+    private final GoBildaPinpointDriver pinpoint;
+
+    private Pose2d pose = new Pose2d(0, 0, new Rotation2d(0));
+    private double velocityX;
+    private double velocityY;
+    private double velocityHeading;
+    private long timestampNanos;
+    private long lastReadNanos;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a Pinpoint localizer configured from OdometryConstants
+     * and resets its position and IMU.
+     *
+     * @param hardwareMap The hardware map
+     */
+    public PinpointLocalizer(HardwareMap hardwareMap) {
+        pinpoint = hardwareMap.get(GoBildaPinpointDriver.class, OdometryConstants.PINPOINT_NAME);
+
+        // Set pod offsets (in millimeters)
+        pinpoint.setOffsets(
+            TunableConstants.X_OFFSET_MM.get(),
+            TunableConstants.Y_OFFSET_MM.get(),
+            DistanceUnit.MM
+        );
+
+        // Set encoder resolution
+        pinpoint.setEncoderResolution(TunableConstants.TICKS_PER_MM.get(), DistanceUnit.MM);
+
+        pinpoint.setEncoderDirections(
+            direction(OdometryConstants.PINPOINT_REVERSE_X),
+            direction(OdometryConstants.PINPOINT_REVERSE_Y)
+        );
+
+        // Reset position and recalibrate the IMU (robot must be still)
+        pinpoint.resetPosAndIMU();
+    }
+
+    private static GoBildaPinpointDriver.EncoderDirection direction(boolean reversed) {
+        return reversed
+            ? GoBildaPinpointDriver.EncoderDirection.REVERSED
+            : GoBildaPinpointDriver.EncoderDirection.FORWARD;
+    }
+
+    // ==================== Localizer ====================
+
+    @Override
+    public void update() {
+        long start = System.nanoTime();
+        pinpoint.update();
+        long end = System.nanoTime();
+        timestampNanos = (start + end) / 2;
+        lastReadNanos = end - start;
+
+        Pose2D position = pinpoint.getPosition();
+        pose = new Pose2d(
+            position.getX(DistanceUnit.INCH),
+            position.getY(DistanceUnit.INCH),
+            new Rotation2d(position.getHeading(AngleUnit.RADIANS))
+        );
+        velocityX = pinpoint.getVelX(DistanceUnit.INCH);
+        velocityY = pinpoint.getVelY(DistanceUnit.INCH);
+        velocityHeading = pinpoint.getHeadingVelocity(UnnormalizedAngleUnit.RADIANS);
+    }
+
+    @Override
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    @Override
+    public void setPose(Pose2d newPose) {
+        pinpoint.setPosition(new Pose2D(
+            DistanceUnit.INCH,
+            newPose.getX(),
+            newPose.getY(),
+            AngleUnit.RADIANS,
+            newPose.getHeading()
+        ));
+        pose = newPose;
+    }
+
+    @Override
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    @Override
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    @Override
+    public double getVelocityHeading() {
+        return velocityHeading;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Pinpoint Read", "%.2f ms", lastReadNanos / 1e6);
+        telemetry.addData("Pinpoint Status", pinpoint.getDeviceStatus());
+        telemetry.addData("Pinpoint Rate", "%.0f Hz", pinpoint.getFrequency());
+    }
+}
@@ -0,0 +1,234 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Robot state handed from one OpMode to the next, typically from
+ * autonomous to teleop: final pose, driver heading offset and the
+ * localizer that produced them.
+ *
+ * Published to the OpMode blackboard, which survives between OpModes, and
+ * to a file, which also survives an app restart. Loading prefers the
+ * blackboard and falls back to the file. An entry is only accepted if it
+ * is recent (OdometryConstants.HANDOFF_MAX_AGE_SECONDS, by wall clock),
+ * complete, and from the localizer configured now; anything else is left
+ * over from an earlier session and ignored.
+ */
+public final class PoseHandoff {
+
+    /**
+     * Blackboard key of the current entry
+     */
+    public static final String BLACKBOARD_KEY = "teamcode.poseHandoff";
+
+    /**
+     * File copy of the current entry
+     */
+    public static final File HANDOFF_FILE = new File(AppUtil.FIRST_FOLDER, "handoff/pose.properties");
+
+    // Bump when the fields change, so old files are rejected
+    private static final int FORMAT_VERSION = 1;
+
+    // Wall clocks may be adjusted by a few seconds over network time sync
+    private static final long CLOCK_SKEW_MILLIS = 5000;
+
+    private final double x;
+    private final double y;
+    private final double heading;
+    private final double headingOffset;
+    private final LocalizerType localizerType;
+    private final long wallTimeMillis;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates an entry stamped with the current time.
+     *
+     * @param pose Field pose
+     * @param headingOffset Field heading that field-centric driving treats as forward (radians)
+     * @param localizerType Localizer that produced the pose
+     */
+    public PoseHandoff(Pose2d pose, double headingOffset, LocalizerType localizerType) {
+        this(pose.getX(), pose.getY(), pose.getHeading(), headingOffset, localizerType,
+            System.currentTimeMillis());
+    }
+
+    private PoseHandoff(double x, double y, double heading, double headingOffset,
+                        LocalizerType localizerType, long wallTimeMillis) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.headingOffset = headingOffset;
+        this.localizerType = localizerType;
+        this.wallTimeMillis = wallTimeMillis;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Field pose
+     */
+    public Pose2d getPose() {
+        return new Pose2d(x, y, new Rotation2d(heading));
+    }
+
+    /**
+     * @return Field heading that field-centric driving treats as forward (radians)
+     */
+    public double getHeadingOffset() {
+        return headingOffset;
+    }
+
+    /**
+     * @return Localizer that produced the pose
+     */
+    public LocalizerType getLocalizerType() {
+        return localizerType;
+    }
+
+    /**
+     * @return Age of the entry (seconds)
+     */
+    public double getAgeSeconds() {
+        return (System.currentTimeMillis() - wallTimeMillis) / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "(%.2f, %.2f in, %.1f°, offset %.1f°, %s, %.0f s old)",
+            x, y, Math.toDegrees(heading), Math.toDegrees(headingOffset), localizerType, getAgeSeconds());
+    }
+
+    // ==================== Publish ====================
+
+    /**
+     * Publish an entry to the blackboard and the file. A failed file write
+     * is logged; the blackboard copy still works until the app restarts.
+     *
+     * @param handoff Entry to publish
+     */
+    public static void publish(PoseHandoff handoff) {
+        OpMode.blackboard.put(BLACKBOARD_KEY, handoff);
+
+        Properties properties = new Properties();
+        properties.setProperty("version", Integer.toString(FORMAT_VERSION));
+        properties.setProperty("time", Long.toString(handoff.wallTimeMillis));
+        properties.setProperty("x", Double.toString(handoff.x));
+        properties.setProperty("y", Double.toString(handoff.y));
+        properties.setProperty("heading", Double.toString(handoff.heading));
+        properties.setProperty("headingOffset", Double.toString(handoff.headingOffset));
+        properties.setProperty("localizer", handoff.localizerType.name());
+
+        // Write a temp file and rename, so a crash never leaves half an entry
+        File parent = HANDOFF_FILE.getParentFile();
+        File temp = new File(parent, HANDOFF_FILE.getName() + ".tmp");
+        try {
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            try (OutputStream out = new FileOutputStream(temp)) {
+                properties.store(out, "Pose handoff");
+            }
+            if (!temp.renameTo(HANDOFF_FILE)) {
+                throw new IOException("Cannot rename " + temp);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write pose handoff: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the current entry, e.g. when the robot was moved by hand.
+     */
+    public static void clear() {
+        OpMode.blackboard.remove(BLACKBOARD_KEY);
+        if (HANDOFF_FILE.exists() && !HANDOFF_FILE.delete()) {
+            System.err.println("Failed to delete " + HANDOFF_FILE);
+        }
+    }
+
+    // ==================== Load ====================
+
+    /**
+     * Load the current entry if it is valid for this session.
+     *
+     * @return The entry, or null if there is none or it was rejected
+     */
+    public static PoseHandoff load() {
+        Object entry = OpMode.blackboard.get(BLACKBOARD_KEY);
+        PoseHandoff handoff = entry instanceof PoseHandoff ? (PoseHandoff) entry : readFile();
+        if (handoff == null) {
+            return null;
+        }
+        String problem = validate(handoff);
+        if (problem != null) {
+            System.out.println("Ignoring pose handoff " + handoff + ": " + problem);
+            return null;
+        }
+        return handoff;
+    }
+
+    /**
+     * @return Why the entry cannot be used, or null if it can
+     */
+    private static String validate(PoseHandoff handoff) {
+        long ageMillis = System.currentTimeMillis() - handoff.wallTimeMillis;
+        if (ageMillis < -CLOCK_SKEW_MILLIS) {
+            return "timestamped in the future";
+        }
+        if (ageMillis > OdometryConstants.HANDOFF_MAX_AGE_SECONDS * 1000) {
+            return "stale";
+        }
+        if (handoff.localizerType != OdometryConstants.LOCALIZER) {
+            return "recorded with " + handoff.localizerType;
+        }
+        if (!isFinite(handoff.x) || !isFinite(handoff.y)
+                || !isFinite(handoff.heading) || !isFinite(handoff.headingOffset)) {
+            return "not a finite pose";
+        }
+        return null;
+    }
+
+    private static PoseHandoff readFile() {
+        if (!HANDOFF_FILE.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(HANDOFF_FILE)) {
+            properties.load(in);
+            if (Integer.parseInt(properties.getProperty("version", "0")) != FORMAT_VERSION) {
+                System.out.println("Ignoring pose handoff file: old format");
+                return null;
+            }
+            return new PoseHandoff(
+                Double.parseDouble(properties.getProperty("x")),
+                Double.parseDouble(properties.getProperty("y")),
+                Double.parseDouble(properties.getProperty("heading")),
+                Double.parseDouble(properties.getProperty("headingOffset")),
+                LocalizerType.valueOf(properties.getProperty("localizer")),
+                Long.parseLong(properties.getProperty("time")));
+        } catch (IOException | RuntimeException e) {
+            // Missing keys surface as NullPointerException from the parsers
+            System.err.println("Failed to read pose handoff: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+}
@@ -0,0 +1,140 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+/**
+ * Ring buffer of timestamped odometry poses, for looking up where the
+ * robot was when a delayed measurement (a camera frame) was captured.
+ *
+ * Stored as primitive arrays so recording a pose every loop allocates
+ * nothing. Lookups between two samples are interpolated linearly, with
+ * heading taken the short way around.
+ */
+public class PoseHistory {
+
+    private final long[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+
+    // Index of the oldest sample and number of samples stored
+    private int start;
+    private int count;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates an empty history.
+     *
+     * @param capacity Samples kept; at one per loop this sets how far back lookups reach
+     */
+    public PoseHistory(int capacity) {
+        timestamps = new long[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        headings = new double[capacity];
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Record a pose. Samples not newer than the last one are ignored, so
+     * it is safe to call every loop with a localizer that updates slower.
+     *
+     * @param timestampNanos System.nanoTime() of the sample
+     * @param x Field X (inches)
+     * @param y Field Y (inches)
+     * @param heading Heading (radians)
+     */
+    public void add(long timestampNanos, double x, double y, double heading) {
+        if (count > 0 && timestampNanos <= timestamps[index(count - 1)]) {
+            return;
+        }
+        int slot;
+        if (count < timestamps.length) {
+            slot = index(count);
+            count++;
+        } else {
+            slot = start;
+            start = index(1);
+        }
+        timestamps[slot] = timestampNanos;
+        xs[slot] = x;
+        ys[slot] = y;
+        headings[slot] = heading;
+    }
+
+    /**
+     * Forget every sample, e.g. after the pose was reset and old samples
+     * are in a different frame.
+     */
+    public void clear() {
+        start = 0;
+        count = 0;
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Look up the pose at a past time.
+     *
+     * @param timestampNanos System.nanoTime() to look up
+     * @param out Receives x, y and heading; needs length 3
+     * @return false if the time is older than the oldest sample (out untouched)
+     */
+    public boolean getPose(long timestampNanos, double[] out) {
+        if (count == 0 || timestampNanos < timestamps[start]) {
+            return false;
+        }
+        int newest = index(count - 1);
+        if (timestampNanos >= timestamps[newest]) {
+            copy(newest, out);
+            return true;
+        }
+
+        // Binary search for the last sample at or before the time
+        int low = 0;
+        int high = count - 1;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] <= timestampNanos) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        int before = index(low);
+        int after = index(high);
+        double fraction = (double) (timestampNanos - timestamps[before])
+            / (timestamps[after] - timestamps[before]);
+
+        double turn = headings[after] - headings[before];
+        turn = Math.atan2(Math.sin(turn), Math.cos(turn));
+        out[0] = xs[before] + fraction * (xs[after] - xs[before]);
+        out[1] = ys[before] + fraction * (ys[after] - ys[before]);
+        out[2] = headings[before] + fraction * turn;
+        return true;
+    }
+
+    /**
+     * @return Number of samples stored
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return Time span covered by the stored samples (seconds)
+     */
+    public double getSpanSeconds() {
+        return count < 2 ? 0.0 : (timestamps[index(count - 1)] - timestamps[start]) / 1e9;
+    }
+
+    private void copy(int slot, double[] out) {
+        out[0] = xs[slot];
+        out[1] = ys[slot];
+        out[2] = headings[slot];
+    }
+
+    private int index(int offset) {
+        return (start + offset) % timestamps.length;
+    }
+}
@@ -0,0 +1,213 @@
+package org.firstinspires.ftc.teamcode.localization;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+
+import java.util.Locale;
+
+/**
+ * Detects wheel slip and collisions by comparing the chassis motion the
+ * drive encoders imply with the motion an independent localizer measures.
+ *
+ * - WHEEL_SLIP: the wheels turn faster than the robot moves (lost traction,
+ *   spinning out in a pushing match)
+ * - PUSHED: the robot moves faster than its wheels turn (shoved by another robot)
+ * - COLLISION: the robot accelerates sharply in a way the wheels did not
+ *
+ * Slip must persist for DriveConstants.SLIP_DEBOUNCE_LOOPS loops before it
+ * is reported. For collisions, the difference between the odometry and
+ * wheel velocities is low-pass filtered (COLLISION_FILTER_SECONDS) before
+ * it is differentiated, and the acceleration must stay over the threshold
+ * for COLLISION_DEBOUNCE_LOOPS loops, so velocity noise alone does not
+ * trip it. Every event is logged when it starts and when it clears.
+ *
+ * The localizer's angular velocity stands in for the IMU yaw rate: the
+ * Pinpoint and OTOS both measure heading with their own IMU.
+ */
+public class SlipDetector {
+
+    /**
+     * Traction state.
+     */
+    public enum State {
+        NONE,
+        WHEEL_SLIP,
+        PUSHED,
+        COLLISION
+    }
+
+    // Half of track width plus wheel base (inches), the mecanum rotation lever arm
+    private final double leverArm;
+
+    private State state = State.NONE;
+    private long stateStartNanos;
+    private long collisionUntilNanos;
+    private int slipLoops;
+    private int pushLoops;
+    private int collisionLoops;
+    private final int[] eventCounts = new int[State.values().length];
+
+    // Filtered odometry minus wheel velocity, robot frame (inches/s)
+    private double filteredForwardDifference;
+    private double filteredStrafeDifference;
+    private long lastTimestampNanos;
+    private boolean initialized;
+
+    // Last comparison, for telemetry (inches/s and inches/s²)
+    private double wheelSpeed;
+    private double odometrySpeed;
+    private double mismatch;
+    private double unexplainedAccel;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a slip detector for the drive geometry in DriveConstants.
+     */
+    public SlipDetector() {
+        this.leverArm = (DriveConstants.TRACK_WIDTH + DriveConstants.WHEEL_BASE) / 2.0;
+    }
+
+    // ==================== Detection ====================
+
+    /**
+     * Compare the latest wheel velocities with the localizer. Call once per
+     * loop, after the localizer has been updated.
+     *
+     * @param frontLeft Front left velocity (ticks/s)
+     * @param frontRight Front right velocity (ticks/s)
+     * @param backLeft Back left velocity (ticks/s)
+     * @param backRight Back right velocity (ticks/s)
+     * @param localizer Independent odometry (not the drive encoders)
+     * @return The traction state after this update
+     */
+    public State update(double frontLeft, double frontRight, double backLeft, double backRight,
+                        Localizer localizer) {
+        long now = localizer.getTimestampNanos();
+
+        // Chassis velocity implied by the wheels, robot frame (X roller pattern)
+        double scale = OdometryConstants.MOTOR_TICKS_TO_INCHES;
+        double wheelForward = (frontLeft + frontRight + backLeft + backRight) / 4.0 * scale;
+        double wheelStrafe = (-frontLeft + frontRight + backLeft - backRight) / 4.0 * scale;
+        double wheelAngular = (-frontLeft + frontRight - backLeft + backRight) / (4.0 * leverArm) * scale;
+
+        // Measured velocity, rotated from the field frame into the robot frame
+        double heading = localizer.getPose().getHeading();
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double fieldX = localizer.getVelocityX();
+        double fieldY = localizer.getVelocityY();
+        double odometryForward = fieldX * cos + fieldY * sin;
+        double odometryStrafe = -fieldX * sin + fieldY * cos;
+        double odometryAngular = localizer.getVelocityHeading();
+
+        // Compare as wheel surface speed, so rotation and translation share one threshold
+        wheelSpeed = Math.abs(wheelForward) + Math.abs(wheelStrafe) + Math.abs(wheelAngular * leverArm);
+        odometrySpeed = Math.abs(odometryForward) + Math.abs(odometryStrafe)
+            + Math.abs(odometryAngular * leverArm);
+        mismatch = Math.hypot(
+            Math.hypot(wheelForward - odometryForward, wheelStrafe - odometryStrafe),
+            (wheelAngular - odometryAngular) * leverArm);
+
+        double threshold = DriveConstants.SLIP_VELOCITY_THRESHOLD
+            + DriveConstants.SLIP_RELATIVE_TOLERANCE * Math.max(wheelSpeed, odometrySpeed);
+        boolean diverged = mismatch > threshold;
+        slipLoops = diverged && wheelSpeed > odometrySpeed ? slipLoops + 1 : 0;
+        pushLoops = diverged && wheelSpeed <= odometrySpeed ? pushLoops + 1 : 0;
+
+        // Acceleration of the chassis that the wheels do not account for,
+        // from the filtered velocity difference so per-loop noise is not amplified
+        double forwardDifference = odometryForward - wheelForward;
+        double strafeDifference = odometryStrafe - wheelStrafe;
+        double dt = (now - lastTimestampNanos) / 1e9;
+        if (!initialized) {
+            filteredForwardDifference = forwardDifference;
+            filteredStrafeDifference = strafeDifference;
+            lastTimestampNanos = now;
+            initialized = true;
+        } else if (dt > 0) {
+            double alpha = dt / (DriveConstants.COLLISION_FILTER_SECONDS + dt);
+            double forwardChange = alpha * (forwardDifference - filteredForwardDifference);
+            double strafeChange = alpha * (strafeDifference - filteredStrafeDifference);
+            filteredForwardDifference += forwardChange;
+            filteredStrafeDifference += strafeChange;
+            lastTimestampNanos = now;
+
+            unexplainedAccel = Math.hypot(forwardChange, strafeChange) / dt;
+            collisionLoops = unexplainedAccel > DriveConstants.COLLISION_ACCEL_THRESHOLD
+                ? collisionLoops + 1 : 0;
+            if (collisionLoops >= DriveConstants.COLLISION_DEBOUNCE_LOOPS) {
+                collisionUntilNanos = now + (long) (DriveConstants.COLLISION_HOLD_SECONDS * 1e9);
+            }
+        }
+
+        State next;
+        if (now < collisionUntilNanos) {
+            next = State.COLLISION;
+        } else if (slipLoops >= DriveConstants.SLIP_DEBOUNCE_LOOPS) {
+            next = State.WHEEL_SLIP;
+        } else if (pushLoops >= DriveConstants.SLIP_DEBOUNCE_LOOPS) {
+            next = State.PUSHED;
+        } else {
+            next = State.NONE;
+        }
+        setState(next, now);
+        return state;
+    }
+
+    private void setState(State next, long now) {
+        if (next == state) {
+            return;
+        }
+        if (state != State.NONE) {
+            System.out.println(String.format(Locale.US, "Slip detector: %s cleared after %.2f s",
+                state, (now - stateStartNanos) / 1e9));
+        }
+        if (next != State.NONE) {
+            eventCounts[next.ordinal()]++;
+            System.out.println(String.format(Locale.US,
+                "Slip detector: %s (wheels %.1f in/s, odometry %.1f in/s, mismatch %.1f in/s, accel %.0f in/s²)",
+                next, wheelSpeed, odometrySpeed, mismatch, unexplainedAccel));
+        }
+        state = next;
+        stateStartNanos = now;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Traction state from the last update
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return true while drive acceleration should be limited to regain traction
+     */
+    public boolean isTractionLimited() {
+        return state == State.WHEEL_SLIP || state == State.COLLISION;
+    }
+
+    /**
+     * @param event Event type
+     * @return How many times the event has started since construction
+     */
+    public int getEventCount(State event) {
+        return eventCounts[event.ordinal()];
+    }
+
+    /**
+     * Add the traction state and event counts to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Traction", state);
+        telemetry.addData("Wheels / Odometry", "%.1f / %.1f in/s", wheelSpeed, odometrySpeed);
+        telemetry.addData("Mismatch", "%.1f in/s", mismatch);
+        telemetry.addData("Events", "slip %d, pushed %d, collision %d",
+            getEventCount(State.WHEEL_SLIP), getEventCount(State.PUSHED), getEventCount(State.COLLISION));
+    }
+}
@@ -0,0 +1,319 @@
+package org.firstinspires.ftc.teamcode.opmodes;
+
+import com.arcrobotics.ftclib.command.Command;
+import com.arcrobotics.ftclib.command.CommandScheduler;
+import com.arcrobotics.ftclib.command.Subsystem;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+import org.firstinspires.ftc.teamcode.scheduler.FastCommandScheduler;
+import org.firstinspires.ftc.teamcode.util.AsyncTelemetry;
+import org.firstinspires.ftc.teamcode.util.BulkReadManager;
+import org.firstinspires.ftc.teamcode.util.LoopPacer;
+
+/**
+ * Drop-in replacement for FTCLib's CommandOpMode that runs the
+ * allocation-free {@link FastCommandScheduler} instead of the FTCLib singleton.
+ *
+ * Differences from CommandOpMode:
+ * - Set default commands with {@link #setDefaultCommand(Subsystem, Command)}
+ *   instead of subsystem.setDefaultCommand()
+ * - Bind buttons through {@link #scheduler} instead of GamepadButton triggers
+ * - Optional bulk reads of every hub at the start of each loop, see
+ *   {@link #enableBulkReads(boolean)}
+ * - Optional fixed loop rate, see {@link #enableLoopPacing(double)}, and the
+ *   measured loop time in {@link #getLoopDt()} either way
+ * - Optional per-loop telemetry through {@link #addLoopTelemetry(Telemetry)},
+ *   formatted on the control thread or on a background thread, see
+ *   {@link #setTelemetryMode(TelemetryMode)}
+ */
+public abstract class FastCommandOpMode extends LinearOpMode {
+
+    /**
+     * Scheduler that runs this OpMode's subsystems and commands
+     */
+    protected final FastCommandScheduler scheduler = new FastCommandScheduler();
+
+    /**
+     * Bulk read manager, or null if bulk reads are not enabled
+     */
+    protected BulkReadManager bulkReads;
+
+    /**
+     * Loop pacer, or null if the loop runs as fast as it can
+     */
+    protected LoopPacer loopPacer;
+
+    private long lastLoopNanos;
+    private double loopDt;
+
+    /**
+     * Where loop telemetry is formatted and sent
+     */
+    public enum TelemetryMode {
+        /** On the control thread, inside the loop */
+        SYNC,
+        /** On a background thread; the loop only records a snapshot */
+        ASYNC
+    }
+
+    private TelemetryMode telemetryMode = TelemetryMode.SYNC;
+    private AsyncTelemetry asyncTelemetry;
+    private long telemetryPeriodNanos;
+    private long lastTelemetryNanos;
+    private boolean loopTelemetryUsed;
+
+    // Smoothed control-thread cost of loop telemetry per mode (nanoseconds)
+    private final double[] telemetryCostNanos = new double[TelemetryMode.values().length];
+
+    // Smoothed loop work time per mode, excluding the pacer wait (nanoseconds)
+    private final double[] loopWorkNanos = new double[TelemetryMode.values().length];
+
+    /**
+     * Create subsystems, commands and bindings. Runs once before start.
+     */
+    public abstract void initialize();
+
+    /**
+     * Run one scheduler cycle. Override to add work around the scheduler,
+     * calling super.run() to keep commands running.
+     */
+    public void run() {
+        scheduler.run();
+    }
+
+    /**
+     * Register subsystems with the scheduler.
+     *
+     * @param subsystems Subsystems to register
+     */
+    public void register(Subsystem... subsystems) {
+        scheduler.registerSubsystem(subsystems);
+    }
+
+    /**
+     * Schedule commands.
+     *
+     * @param commands Commands to schedule
+     */
+    public void schedule(Command... commands) {
+        for (Command command : commands) {
+            scheduler.schedule(command);
+        }
+    }
+
+    /**
+     * Set the default command of a subsystem.
+     *
+     * @param subsystem The subsystem
+     * @param command Its default command
+     */
+    public void setDefaultCommand(Subsystem subsystem, Command command) {
+        scheduler.setDefaultCommand(subsystem, command);
+    }
+
+    /**
+     * Put every hub into MANUAL bulk caching and refresh all caches once at
+     * the start of each loop, before run(). Call from initialize().
+     *
+     * @param concurrent true to read the hubs concurrently
+     */
+    public void enableBulkReads(boolean concurrent) {
+        if (bulkReads == null) {
+            bulkReads = new BulkReadManager(hardwareMap);
+        }
+        bulkReads.setConcurrent(concurrent);
+    }
+
+    /**
+     * Run the loop at a fixed period against absolute deadlines instead of
+     * as fast as possible. Call from initialize().
+     *
+     * @param periodSeconds Loop period (seconds)
+     */
+    public void enableLoopPacing(double periodSeconds) {
+        loopPacer = new LoopPacer(periodSeconds);
+    }
+
+    /**
+     * Measured time between the start of the previous loop and this one,
+     * for controllers that integrate or differentiate.
+     *
+     * @return Loop time (seconds); the first loop counts from start
+     */
+    public double getLoopDt() {
+        return loopDt;
+    }
+
+    // ==================== Loop Telemetry ====================
+
+    /**
+     * Add this loop's telemetry. Called after run() at most once per
+     * telemetry period; the base class calls update() afterwards. If an
+     * OpMode does not override this, the base class never calls update().
+     *
+     * Write to the telemetry passed in, not the telemetry field: in ASYNC
+     * mode it is a recorder whose output is formatted on another thread.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    protected void addLoopTelemetry(Telemetry telemetry) {
+    }
+
+    /**
+     * Choose where loop telemetry is formatted and sent. Can be changed
+     * while running, e.g. to compare the two modes' cost.
+     *
+     * @param mode SYNC or ASYNC
+     */
+    public void setTelemetryMode(TelemetryMode mode) {
+        if (mode == telemetryMode) {
+            return;
+        }
+        if (mode == TelemetryMode.ASYNC) {
+            asyncTelemetry = new AsyncTelemetry(telemetry);
+            asyncTelemetry.start();
+        } else {
+            // Wait for the worker so the two threads never write at once
+            asyncTelemetry.shutdown();
+            asyncTelemetry = null;
+        }
+        telemetryMode = mode;
+    }
+
+    /**
+     * @return Current telemetry mode
+     */
+    public TelemetryMode getTelemetryMode() {
+        return telemetryMode;
+    }
+
+    /**
+     * Limit how often addLoopTelemetry() runs.
+     *
+     * @param periodSeconds Minimum time between updates (seconds, 0 = every loop)
+     */
+    public void setTelemetryPeriod(double periodSeconds) {
+        telemetryPeriodNanos = (long) (periodSeconds * 1e9);
+    }
+
+    private void updateLoopTelemetry() {
+        if (!loopTelemetryUsed) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (start - lastTelemetryNanos < telemetryPeriodNanos) {
+            return;
+        }
+        lastTelemetryNanos = start;
+
+        Telemetry target = asyncTelemetry != null ? asyncTelemetry.getRecorder() : telemetry;
+        addLoopTelemetry(target);
+        target.update();
+
+        int mode = telemetryMode.ordinal();
+        double cost = System.nanoTime() - start;
+        telemetryCostNanos[mode] = telemetryCostNanos[mode] == 0
+            ? cost
+            : 0.95 * telemetryCostNanos[mode] + 0.05 * cost;
+    }
+
+    /**
+     * Add the measured control-thread cost of loop telemetry and the whole
+     * loop's work time in both modes. Run once in each mode on the robot
+     * and compare the loop times: that is the real saving of ASYNC, since
+     * it also includes the recording cost and the worker thread competing
+     * for the CPU.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    protected void addTelemetryCost(Telemetry telemetry) {
+        int sync = TelemetryMode.SYNC.ordinal();
+        int async = TelemetryMode.ASYNC.ordinal();
+        telemetry.addData("Telemetry Mode", telemetryMode);
+        // 0 until the mode has been used
+        telemetry.addData("Telemetry Cost", "sync %.2f ms, async %.2f ms",
+            telemetryCostNanos[sync] / 1e6, telemetryCostNanos[async] / 1e6);
+        telemetry.addData("Loop Work", "sync %.2f ms, async %.2f ms",
+            loopWorkNanos[sync] / 1e6, loopWorkNanos[async] / 1e6);
+        if (asyncTelemetry != null) {
+            telemetry.addData("Telemetry Thread", "%.2f ms/frame, %d sent, %d dropped",
+                asyncTelemetry.getAverageSendNanos() / 1e6,
+                asyncTelemetry.getSent(), asyncTelemetry.getDropped());
+        }
+    }
+
+    private boolean overridesLoopTelemetry() {
+        for (Class<?> type = getClass(); type != FastCommandOpMode.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("addLoopTelemetry", Telemetry.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared at this level
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancel all commands, clear the scheduler and stop the bulk read and
+     * telemetry threads. Runs when the OpMode ends, also if initialize() or
+     * run() throws, so overrides must allow for a partly initialized OpMode.
+     */
+    public void reset() {
+        scheduler.cancelAll();
+        scheduler.reset();
+
+        // SubsystemBase registers itself with the FTCLib singleton on construction
+        CommandScheduler.getInstance().reset();
+
+        if (bulkReads != null) {
+            bulkReads.shutdown();
+        }
+        setTelemetryMode(TelemetryMode.SYNC);
+    }
+
+    @Override
+    public void runOpMode() throws InterruptedException {
+        // Pick up parameter file edits made since the last OpMode
+        TunableConstants.STORE.reloadIfChanged();
+
+        // reset() also runs if initialize() throws or stop comes before start,
+        // so threads started during init never outlive the OpMode
+        try {
+            initialize();
+
+            waitForStart();
+
+            if (loopPacer != null) {
+                loopPacer.start();
+            }
+            loopTelemetryUsed = overridesLoopTelemetry();
+            lastLoopNanos = System.nanoTime();
+            while (!isStopRequested() && opModeIsActive()) {
+                long now = System.nanoTime();
+                loopDt = (now - lastLoopNanos) / 1e9;
+                lastLoopNanos = now;
+
+                if (bulkReads != null) {
+                    bulkReads.update();
+                }
+                run();
+                updateLoopTelemetry();
+
+                int mode = telemetryMode.ordinal();
+                double work = System.nanoTime() - now;
+                loopWorkNanos[mode] = loopWorkNanos[mode] == 0
+                    ? work
+                    : 0.95 * loopWorkNanos[mode] + 0.05 * work;
+
+                if (loopPacer != null) {
+                    loopPacer.await();
+                }
+            }
+        } finally {
+            reset();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.opmodes.auto;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.commands.drive.FollowTrajectory;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.opmodes.FastCommandOpMode;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.trajectory.Trajectory;
+import org.firstinspires.ftc.teamcode.trajectory.TrajectoryBuilder;
+import org.firstinspires.ftc.teamcode.trajectory.TrajectoryCache;
+import org.firstinspires.ftc.teamcode.util.HardwareBootstrap;
+
+/**
+ * Trajectory Test
+ *
+ * Drives a 24 inch square, turning 90 degrees along each side, and reports
+ * the tracking error. Use it to tune the feedforward gains in
+ * DriveConstants and the follower gains in TrajectoryConstants.
+ *
+ * The final pose is handed off, so a teleop started next continues from it.
+ *
+ * Needs about 3 feet of clear space in front of and to the left of the robot.
+ */
+@Autonomous(name = "Trajectory Test", group = "Testing")
+public class TrajectoryTest extends FastCommandOpMode {
+
+    private static final double SIDE_INCHES = 24.0;
+
+    private MecanumDriveSubsystem driveSubsystem;
+    private Trajectory trajectory;
+    private FollowTrajectory followCommand;
+
+    // Worst tracking error seen (inches, degrees)
+    private double maxPositionError;
+    private double maxHeadingError;
+
+    @Override
+    public void initialize() {
+        telemetry.addData("Status", "Initializing...");
+        telemetry.update();
+
+        try (HardwareBootstrap bootstrap = new HardwareBootstrap(hardwareMap)) {
+            driveSubsystem = new MecanumDriveSubsystem(bootstrap);
+            bootstrap.finish();
+        }
+        enableBulkReads(true);
+        if (DriveConstants.ENABLE_VELOCITY_LOOP) {
+            driveSubsystem.enableVelocityLoop(bulkReads);
+        }
+
+        // Generated once and cached on disk; following only indexes the tables
+        TrajectoryCache cache = new TrajectoryCache();
+        long buildStart = System.nanoTime();
+        Pose2d start = new Pose2d(0, 0, new Rotation2d(0));
+        trajectory = new TrajectoryBuilder(start)
+            .lineTo(SIDE_INCHES, 0, new Rotation2d(Math.toRadians(90)))
+            .lineTo(SIDE_INCHES, SIDE_INCHES, new Rotation2d(Math.toRadians(180)))
+            .lineTo(0, SIDE_INCHES, new Rotation2d(Math.toRadians(-90)))
+            .lineTo(0, 0, new Rotation2d(0))
+            .build(cache);
+        double buildMillis = (System.nanoTime() - buildStart) / 1e6;
+
+        driveSubsystem.resetOdometry(trajectory.getStartPose());
+        followCommand = new FollowTrajectory(driveSubsystem, trajectory);
+
+        register(driveSubsystem);
+        schedule(followCommand);
+
+        telemetry.clearAll();
+        telemetry.addData("Duration", "%.2f s", trajectory.getDuration());
+        telemetry.addData("Samples", trajectory.size());
+        telemetry.addData("Ready In", "%.1f ms", buildMillis);
+        cache.addTelemetry(telemetry);
+        telemetry.addData("Localizer", driveSubsystem.getLocalizer() != null
+            ? "active" : "none (feedforward only)");
+        telemetry.addLine();
+        telemetry.addData("Status", "Ready to Start");
+        telemetry.update();
+    }
+
+    @Override
+    public void run() {
+        super.run();
+
+        maxPositionError = Math.max(maxPositionError, followCommand.getPositionError());
+        maxHeadingError = Math.max(maxHeadingError, Math.abs(Math.toDegrees(followCommand.getHeadingError())));
+    }
+
+    @Override
+    protected void addLoopTelemetry(Telemetry telemetry) {
+        Pose2d pose = driveSubsystem.getPose();
+        telemetry.addLine("=== TRAJECTORY ===");
+        telemetry.addData("Time", "%.2f / %.2f s", followCommand.getElapsed(), trajectory.getDuration());
+        telemetry.addData("Pose", "%.2f, %.2f in, %.1f°",
+            pose.getX(), pose.getY(), Math.toDegrees(pose.getHeading()));
+        telemetry.addData("Position Error", "%.2f in (max %.2f)",
+            followCommand.getPositionError(), maxPositionError);
+        telemetry.addData("Heading Error", "%.1f° (max %.1f)",
+            Math.toDegrees(followCommand.getHeadingError()), maxHeadingError);
+        telemetry.addData("Battery", "%.2f V", driveSubsystem.getBatteryVoltage());
+        if (driveSubsystem.getVelocityLoop() != null) {
+            driveSubsystem.getVelocityLoop().addTelemetry(telemetry);
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (driveSubsystem != null) {
+            driveSubsystem.publishHandoff();
+        }
+        super.reset();
+    }
+}
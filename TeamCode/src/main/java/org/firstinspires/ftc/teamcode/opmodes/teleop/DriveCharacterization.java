@@ -0,0 +1,254 @@
+package org.firstinspires.ftc.teamcode.opmodes.teleop;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.util.BulkReadManager;
+import org.firstinspires.ftc.teamcode.util.FeedforwardFitter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Drive Characterization
+ *
+ * Runs the feedforward identification tests on the drive motors in three
+ * directions (forward, strafe, rotate), about 45 seconds in total:
+ * - Quasi-static: voltage ramps up slowly, so velocity tracks kS + kV * v
+ * - Step: a constant voltage is applied, so the acceleration phase shows kA
+ *
+ * Step tests run in the opposite direction of the ramp, which brings the
+ * robot roughly back to where it started. Every loop is logged (voltage,
+ * velocity, acceleration, angular velocity) to
+ * /sdcard/FIRST/characterization/ and fitted with {@link FeedforwardFitter}
+ * at the end; the same log can be refitted on a laptop.
+ *
+ * Needs about 6 feet of clear space in front of and to the left of the robot.
+ * Hold B to abort at any time.
+ */
+@TeleOp(name = "Drive Characterization", group = "Testing")
+public class DriveCharacterization extends LinearOpMode {
+
+    // ==================== Test Parameters ====================
+
+    private static final double RAMP_VOLTS_PER_SECOND = 1.0;
+    private static final double MAX_RAMP_VOLTS = 8.0;
+    private static final double STEP_VOLTS = 6.0;
+    private static final double STEP_SECONDS = 2.0;
+    private static final double SETTLE_SECONDS = 1.5;
+
+    /**
+     * Longest straight-line travel per test before it is cut short (inches)
+     */
+    private static final double MAX_DISTANCE_INCHES = 72.0;
+
+    /**
+     * Direction of a test, as the sign of each wheel's power (FL, FR, BL, BR).
+     * Velocity in a direction is the matching signed average of the wheels.
+     */
+    private enum Mode {
+        FORWARD(1, 1, 1, 1),
+        STRAFE(-1, 1, 1, -1),
+        ROTATE(-1, 1, -1, 1);
+
+        final double frontLeft;
+        final double frontRight;
+        final double backLeft;
+        final double backRight;
+
+        Mode(double frontLeft, double frontRight, double backLeft, double backRight) {
+            this.frontLeft = frontLeft;
+            this.frontRight = frontRight;
+            this.backLeft = backLeft;
+            this.backRight = backRight;
+        }
+    }
+
+    private MecanumDriveSubsystem driveSubsystem;
+    private BulkReadManager bulkReads;
+    private VoltageSensor batterySensor;
+    private BufferedWriter csv;
+    private long startNanos;
+
+    @Override
+    public void runOpMode() {
+        telemetry.addData("Status", "Initializing...");
+        telemetry.update();
+
+        bulkReads = new BulkReadManager(hardwareMap);
+        driveSubsystem = new MecanumDriveSubsystem(hardwareMap);
+        if (!hardwareMap.voltageSensor.iterator().hasNext()) {
+            // Applied voltage cannot be logged without it
+            telemetry.addData("ERROR", "No voltage sensor configured; cannot characterize");
+            telemetry.update();
+            waitForStart();
+            return;
+        }
+        batterySensor = hardwareMap.voltageSensor.iterator().next();
+
+        File directory = new File(AppUtil.FIRST_FOLDER, "characterization");
+        File file = new File(directory, "drive_" + System.currentTimeMillis() + ".csv");
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create " + directory);
+            }
+            csv = new BufferedWriter(new FileWriter(file));
+            csv.write("time_s,mode,test,battery_v,applied_v,velocity_in_s,acceleration_in_s2,angular_velocity_rad_s");
+            csv.newLine();
+        } catch (IOException e) {
+            telemetry.addData("ERROR", "Cannot open log: " + e.getMessage());
+            telemetry.update();
+            waitForStart();
+            return;
+        }
+
+        telemetry.addData("Log", file.getPath());
+        telemetry.addData("Angular Velocity", driveSubsystem.getLocalizer() != null
+            ? "from localizer" : "unavailable (no lever arm fit)");
+        telemetry.addLine();
+        telemetry.addLine("Clear 6 ft ahead and to the left, then press START");
+        telemetry.addLine("Hold B to abort");
+        telemetry.update();
+
+        waitForStart();
+        startNanos = System.nanoTime();
+
+        for (Mode mode : Mode.values()) {
+            if (!runTest(mode, true, 1.0) || !runTest(mode, false, -1.0)) {
+                break;
+            }
+        }
+        driveSubsystem.stop();
+
+        try {
+            csv.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close characterization log: " + e.getMessage());
+        }
+
+        // Fit on the robot for immediate feedback
+        telemetry.clearAll();
+        telemetry.addLine("=== CHARACTERIZATION ===");
+        telemetry.addData("Log", file.getPath());
+        try {
+            for (String line : FeedforwardFitter.fit(file).format(DriveConstants.WHEEL_BASE).split("\n")) {
+                telemetry.addLine(line);
+            }
+        } catch (IOException | RuntimeException e) {
+            telemetry.addData("Fit Failed", e.getMessage());
+        }
+        telemetry.update();
+
+        while (opModeIsActive()) {
+            sleep(100);
+        }
+    }
+
+    // ==================== Tests ====================
+
+    /**
+     * Run one test and log every loop.
+     *
+     * @param mode Direction
+     * @param quasiStatic true for the voltage ramp, false for the step
+     * @param direction +1 or -1
+     * @return false if the test was aborted
+     */
+    private boolean runTest(Mode mode, boolean quasiStatic, double direction) {
+        String test = quasiStatic ? "QUASISTATIC" : "STEP";
+        long testStart = System.nanoTime();
+        long lastNanos = testStart;
+        double lastVelocity = 0.0;
+        double appliedVolts = 0.0;
+        double distance = 0.0;
+
+        while (opModeIsActive()) {
+            if (gamepad1.b) {
+                driveSubsystem.stop();
+                return false;
+            }
+
+            bulkReads.update();
+            driveSubsystem.periodic();
+            long now = System.nanoTime();
+            double t = (now - testStart) / 1e9;
+            double dt = (now - lastNanos) / 1e9;
+            lastNanos = now;
+
+            // Measurements of the interval that appliedVolts was acting over
+            double velocity = modeVelocity(mode);
+            double acceleration = dt > 0 ? (velocity - lastVelocity) / dt : 0.0;
+            lastVelocity = velocity;
+            distance += Math.abs(velocity) * dt;
+            Localizer localizer = driveSubsystem.getLocalizer();
+            double angularVelocity = localizer != null ? localizer.getVelocityHeading() : Double.NaN;
+            double battery = batterySensor.getVoltage();
+
+            if (t > 0) {
+                log(mode, test, battery, appliedVolts, velocity, acceleration, angularVelocity);
+            }
+
+            double targetVolts = quasiStatic ? RAMP_VOLTS_PER_SECOND * t : STEP_VOLTS;
+            boolean done = quasiStatic ? targetVolts > MAX_RAMP_VOLTS : t > STEP_SECONDS;
+            if (mode != Mode.ROTATE && distance > MAX_DISTANCE_INCHES) {
+                done = true;
+            }
+            if (done) {
+                break;
+            }
+
+            double power = Math.max(-1.0, Math.min(1.0, direction * targetVolts / battery));
+            appliedVolts = power * battery;
+            driveSubsystem.setMotorPowers(
+                mode.frontLeft * power, mode.frontRight * power,
+                mode.backLeft * power, mode.backRight * power);
+
+            telemetry.addData("Test", "%s %s", mode, test);
+            telemetry.addData("Voltage", "%.2f V", appliedVolts);
+            telemetry.addData("Velocity", "%.1f in/s", velocity);
+            telemetry.update();
+        }
+
+        // Let the robot come to rest before the next test
+        driveSubsystem.stop();
+        long settleStart = System.nanoTime();
+        while (opModeIsActive() && (System.nanoTime() - settleStart) / 1e9 < SETTLE_SECONDS) {
+            if (gamepad1.b) {
+                return false;
+            }
+            sleep(20);
+        }
+        return opModeIsActive();
+    }
+
+    /**
+     * @return Signed average wheel surface speed in the test direction (inches/s)
+     */
+    private double modeVelocity(Mode mode) {
+        double[] velocities = driveSubsystem.getMotorVelocities();
+        double ticksPerSecond = (mode.frontLeft * velocities[0] + mode.frontRight * velocities[1]
+            + mode.backLeft * velocities[2] + mode.backRight * velocities[3]) / 4.0;
+        return ticksPerSecond * OdometryConstants.MOTOR_TICKS_TO_INCHES;
+    }
+
+    private void log(Mode mode, String test, double battery, double volts,
+                     double velocity, double acceleration, double angularVelocity) {
+        try {
+            csv.write(String.format(Locale.US, "%.4f,%s,%s,%.3f,%.4f,%.4f,%.3f,%.5f",
+                (System.nanoTime() - startNanos) / 1e9, mode, test,
+                battery, volts, velocity, acceleration, angularVelocity));
+            csv.newLine();
+        } catch (IOException e) {
+            System.err.println("Failed to write characterization sample: " + e.getMessage());
+        }
+    }
+}
@@ -3,9 +3,10 @@ package org.firstinspires.ftc.teamcode.opmodes.teleop;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 
-import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
 import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
 import org.firstinspires.ftc.teamcode.util.InputProcessor;
+import org.firstinspires.ftc.teamcode.util.LoopPacer;
 
 /**
  * Advanced Diagnostic for Drive System
@@ -21,6 +22,9 @@ import org.firstinspires.ftc.teamcode.util.InputProcessor;
 @TeleOp(name = "Drive Diagnostic", group = "Testing")
 public class DriveDiagnostic extends LinearOpMode {
     
+    // 50 Hz, a fixed period regardless of how long the loop body takes
+    private static final double LOOP_PERIOD = 0.02;
+    
     private MecanumDriveSubsystem driveSubsystem;
     
     @Override
@@ -47,6 +51,8 @@ public class DriveDiagnostic extends LinearOpMode {
         
         waitForStart();
         
+        LoopPacer pacer = new LoopPacer(LOOP_PERIOD);
+        pacer.start();
         while (opModeIsActive()) {
             // Get raw inputs
             double rawStrafe = -gamepad1.left_stick_x;
@@ -56,20 +62,20 @@ public class DriveDiagnostic extends LinearOpMode {
             // Process inputs (same as TeleopMecanumDrive)
             double strafeSpeed = InputProcessor.processInput(
                 rawStrafe,
-                DriveConstants.CONTROLLER_DEADBAND,
-                DriveConstants.MAX_DRIVE_SPEED
+                TunableConstants.CONTROLLER_DEADBAND.get(),
+                TunableConstants.MAX_DRIVE_SPEED.get()
             );
             
             double forwardSpeed = InputProcessor.processInput(
                 rawForward,
-                DriveConstants.CONTROLLER_DEADBAND,
-                DriveConstants.MAX_DRIVE_SPEED
+                TunableConstants.CONTROLLER_DEADBAND.get(),
+                TunableConstants.MAX_DRIVE_SPEED.get()
             );
             
             double turnSpeed = InputProcessor.processInput(
                 rawTurn,
-                DriveConstants.CONTROLLER_DEADBAND,
-                DriveConstants.MAX_ANGULAR_SPEED
+                TunableConstants.CONTROLLER_DEADBAND.get(),
+                TunableConstants.MAX_ANGULAR_SPEED.get()
             );
             
             // Send to subsystem
@@ -110,15 +116,16 @@ public class DriveDiagnostic extends LinearOpMode {
             telemetry.addLine("=== STATUS ===");
             telemetry.addData("Drive Mode", 
                 driveSubsystem.isFieldCentric() ? "Field-Centric" : "Robot-Centric");
-            telemetry.addData("Deadband", DriveConstants.CONTROLLER_DEADBAND);
-            telemetry.addData("Max Speed", DriveConstants.MAX_DRIVE_SPEED);
+            telemetry.addData("Deadband", TunableConstants.CONTROLLER_DEADBAND.get());
+            telemetry.addData("Max Speed", TunableConstants.MAX_DRIVE_SPEED.get());
+            pacer.addTelemetry(telemetry);
             
             telemetry.addLine();
             telemetry.addData("Instructions", "Move sticks and watch values");
             
             telemetry.update();
             
-            sleep(20); // Small delay for readability
+            pacer.await();
         }
     }
 }
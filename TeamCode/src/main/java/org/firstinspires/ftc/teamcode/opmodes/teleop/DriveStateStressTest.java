@@ -0,0 +1,239 @@
+package org.firstinspires.ftc.teamcode.opmodes.teleop;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.teamcode.subsystems.DriveState;
+import org.firstinspires.ftc.teamcode.subsystems.DriveStatePublisher;
+
+/**
+ * Stress test: DriveStatePublisher under concurrent readers
+ *
+ * A writer thread publishes state as fast as it can while READERS threads
+ * read it and check that every field came from the same publication. Every
+ * field is derived from the sequence number, so a mix of two publications
+ * is detected exactly. No hardware needed.
+ *
+ * Two phases run back to back:
+ * - Snapshot: the writer publishes through a DriveStatePublisher and the
+ *   readers call get(), exactly as MecanumDriveSubsystem.periodic() and
+ *   getState() do
+ * - Plain fields: the writer updates separate plain fields, the way the
+ *   subsystem's own pose and mode fields work; this is the baseline and is
+ *   expected to show torn reads on a multi-core hub
+ *
+ * The test passes if the snapshot phase has no torn reads and no reader
+ * ever sees the sequence go backwards.
+ */
+@TeleOp(name = "DriveState Stress Test", group = "Testing")
+public class DriveStateStressTest extends LinearOpMode {
+
+    private static final int READERS = 3;
+    private static final long PHASE_MILLIS = 2000;
+
+    // ==================== Shared State ====================
+
+    private volatile boolean running;
+
+    // Snapshot phase, replaced by each run
+    private volatile DriveStatePublisher publisher;
+
+    // Plain field phase, deliberately not volatile
+    private long plainSequence;
+    private double plainX;
+    private double plainY;
+    private double plainHeading;
+    private boolean plainFieldCentric;
+
+    // ==================== Results ====================
+
+    /**
+     * Counts from one phase, summed over the readers.
+     */
+    private static class PhaseResult {
+        long publishes;
+        long reads;
+        long torn;
+        long regressions;
+    }
+
+    @Override
+    public void runOpMode() throws InterruptedException {
+        telemetry.addLine("Press START to run the stress test");
+        telemetry.addData("Readers", READERS);
+        telemetry.addData("Phase Length", "%d ms", PHASE_MILLIS);
+        telemetry.update();
+
+        waitForStart();
+
+        telemetry.addLine("Running...");
+        telemetry.update();
+
+        PhaseResult snapshot = runPhase(true);
+        PhaseResult plain = runPhase(false);
+        boolean pass = snapshot.torn == 0 && snapshot.regressions == 0 && snapshot.reads > 0;
+
+        telemetry.addLine("=== DRIVE STATE STRESS ===");
+        telemetry.addData("Result", pass ? "PASS" : "FAIL");
+        telemetry.addLine();
+        addPhase("Snapshot", snapshot);
+        telemetry.addLine();
+        addPhase("Plain Fields", plain);
+        telemetry.update();
+
+        System.out.println("DriveStateStressTest: " + (pass ? "PASS" : "FAIL")
+            + " snapshot torn=" + snapshot.torn + " regressions=" + snapshot.regressions
+            + " reads=" + snapshot.reads + ", plain torn=" + plain.torn + " reads=" + plain.reads);
+
+        while (opModeIsActive()) {
+            sleep(100);
+        }
+    }
+
+    private void addPhase(String name, PhaseResult result) {
+        telemetry.addLine("=== " + name.toUpperCase() + " ===");
+        telemetry.addData("Publishes", result.publishes);
+        telemetry.addData("Reads", "%d (%.0f per ms)", result.reads, (double) result.reads / PHASE_MILLIS);
+        telemetry.addData("Torn Reads", result.torn);
+        telemetry.addData("Sequence Regressions", result.regressions);
+    }
+
+    // ==================== Phases ====================
+
+    /**
+     * Run the writer and readers for PHASE_MILLIS.
+     *
+     * @param useSnapshot true to publish DriveState objects, false for plain fields
+     * @return Summed counts
+     */
+    private PhaseResult runPhase(boolean useSnapshot) throws InterruptedException {
+        publisher = new DriveStatePublisher();
+        plainSequence = 0;
+        plainX = 0.0;
+        plainY = 0.0;
+        plainHeading = 0.0;
+        plainFieldCentric = true;
+
+        long[] publishes = new long[1];
+        long[][] counts = new long[READERS][3];
+        running = true;
+
+        Thread writer = new Thread(() -> publishes[0] = useSnapshot ? writeSnapshots() : writePlain(),
+            "DriveStateWriter");
+        Thread[] readers = new Thread[READERS];
+        for (int i = 0; i < READERS; i++) {
+            long[] readerCounts = counts[i];
+            readers[i] = new Thread(() -> {
+                if (useSnapshot) {
+                    readSnapshots(readerCounts);
+                } else {
+                    readPlain(readerCounts);
+                }
+            }, "DriveStateReader-" + i);
+        }
+
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        try {
+            sleep(PHASE_MILLIS);
+        } finally {
+            running = false;
+            writer.join();
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+
+        PhaseResult result = new PhaseResult();
+        result.publishes = publishes[0];
+        for (long[] readerCounts : counts) {
+            result.reads += readerCounts[0];
+            result.torn += readerCounts[1];
+            result.regressions += readerCounts[2];
+        }
+        return result;
+    }
+
+    // ==================== Writers ====================
+
+    private long writeSnapshots() {
+        DriveStatePublisher target = publisher;
+        long sequence = 0;
+        while (running) {
+            // The publisher numbers snapshots 1, 2, 3, ... so the fields can predict it
+            sequence++;
+            target.publish(sequence, sequence, 2.0 * sequence, -sequence,
+                0.5 * sequence, -0.5 * sequence, 3.0 * sequence, sequence % 2 == 0);
+        }
+        return sequence;
+    }
+
+    private long writePlain() {
+        long sequence = 0;
+        while (running) {
+            sequence++;
+            plainSequence = sequence;
+            plainX = sequence;
+            plainY = 2.0 * sequence;
+            plainHeading = -sequence;
+            plainFieldCentric = sequence % 2 == 0;
+        }
+        return sequence;
+    }
+
+    // ==================== Readers ====================
+
+    /**
+     * @param counts Filled with {reads, torn, regressions}
+     */
+    private void readSnapshots(long[] counts) {
+        DriveStatePublisher source = publisher;
+        long lastSequence = 0;
+        while (running) {
+            DriveState state = source.get();
+            long sequence = state.getSequence();
+            boolean consistent = state.getTimestampNanos() == sequence
+                && state.getX() == sequence
+                && state.getY() == 2.0 * sequence
+                && state.getHeading() == -sequence
+                && state.getVelocityX() == 0.5 * sequence
+                && state.getVelocityY() == -0.5 * sequence
+                && state.getAngularVelocity() == 3.0 * sequence
+                && state.isFieldCentric() == (sequence % 2 == 0);
+            count(counts, consistent, sequence, lastSequence);
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+    }
+
+    /**
+     * @param counts Filled with {reads, torn, regressions}
+     */
+    private void readPlain(long[] counts) {
+        long lastSequence = 0;
+        while (running) {
+            long sequence = plainSequence;
+            double x = plainX;
+            double y = plainY;
+            double heading = plainHeading;
+            boolean fieldCentric = plainFieldCentric;
+            boolean consistent = x == sequence
+                && y == 2.0 * sequence
+                && heading == -sequence
+                && fieldCentric == (sequence % 2 == 0);
+            count(counts, consistent, sequence, lastSequence);
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+    }
+
+    private static void count(long[] counts, boolean consistent, long sequence, long lastSequence) {
+        counts[0]++;
+        if (!consistent) {
+            counts[1]++;
+        }
+        if (sequence < lastSequence) {
+            counts[2]++;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.firstinspires.ftc.teamcode.opmodes.teleop;
+
+import com.arcrobotics.ftclib.drivebase.MecanumDrive;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.localization.DriveEncoderLocalizer;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.localization.OctoQuadLocalizer;
+import org.firstinspires.ftc.teamcode.localization.OtosLocalizer;
+import org.firstinspires.ftc.teamcode.localization.PinpointLocalizer;
+import org.firstinspires.ftc.teamcode.util.BulkReadManager;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Localizer Benchmark
+ *
+ * Runs every localizer backend whose hardware is present side by side on
+ * the same drive session and reports, per backend:
+ * - Update cost (average and worst update() time)
+ * - Drift: pose error after driving a loop and returning to the start mark
+ *
+ * Every sample of every backend is recorded to
+ * /sdcard/FIRST/localizer_benchmark.csv for offline comparison.
+ *
+ * Procedure:
+ * 1. Place the robot on a marked start position and init
+ * 2. Press START, drive a route with gamepad1 and return to the mark
+ * 3. Press A to capture the drift of each backend
+ * 4. Press B to zero every backend and start a new run
+ */
+@TeleOp(name = "Localizer Benchmark", group = "Testing")
+public class LocalizerBenchmark extends LinearOpMode {
+
+    private static final double DRIVE_SCALE = 0.5;
+
+    private final List<Backend> backends = new ArrayList<>();
+
+    @Override
+    public void runOpMode() {
+        telemetry.addData("Status", "Initializing...");
+        telemetry.update();
+
+        BulkReadManager bulkReads = new BulkReadManager(hardwareMap);
+
+        MotorEx frontLeft = createMotor(DriveConstants.FRONT_LEFT_MOTOR, DriveConstants.INVERT_FRONT_LEFT);
+        MotorEx frontRight = createMotor(DriveConstants.FRONT_RIGHT_MOTOR, DriveConstants.INVERT_FRONT_RIGHT);
+        MotorEx backLeft = createMotor(DriveConstants.BACK_LEFT_MOTOR, DriveConstants.INVERT_BACK_LEFT);
+        MotorEx backRight = createMotor(DriveConstants.BACK_RIGHT_MOTOR, DriveConstants.INVERT_BACK_RIGHT);
+        MecanumDrive drive = new MecanumDrive(frontLeft, frontRight, backLeft, backRight);
+
+        // Every backend whose device is configured; missing ones are skipped
+        try {
+            backends.add(new Backend("Pinpoint", new PinpointLocalizer(hardwareMap)));
+        } catch (Exception e) {
+            telemetry.addData("Pinpoint", "not found");
+        }
+        try {
+            backends.add(new Backend("OTOS", new OtosLocalizer(hardwareMap)));
+        } catch (Exception e) {
+            telemetry.addData("OTOS", "not found");
+        }
+        try {
+            backends.add(new Backend("OctoQuad", new OctoQuadLocalizer(hardwareMap)));
+        } catch (Exception e) {
+            telemetry.addData("OctoQuad", "not found");
+        }
+        backends.add(new Backend("Encoders",
+            new DriveEncoderLocalizer(frontLeft, frontRight, backLeft, backRight)));
+
+        File file = new File(AppUtil.FIRST_FOLDER, "localizer_benchmark.csv");
+        BufferedWriter csv = openCsv(file);
+
+        telemetry.addData("Backends", backends.size());
+        telemetry.addData("Recording", csv != null ? file.getPath() : "disabled");
+        telemetry.addLine();
+        telemetry.addLine("Place the robot on the start mark and press START");
+        telemetry.update();
+
+        waitForStart();
+
+        long startNanos = System.nanoTime();
+        boolean lastA = false;
+        boolean lastB = false;
+
+        while (opModeIsActive()) {
+            bulkReads.update();
+
+            double time = (System.nanoTime() - startNanos) / 1e9;
+            for (Backend backend : backends) {
+                backend.update();
+                if (csv != null) {
+                    writeSample(csv, time, backend);
+                }
+            }
+
+            // Drive
+            drive.driveRobotCentric(
+                -gamepad1.left_stick_x * DRIVE_SCALE,
+                -gamepad1.left_stick_y * DRIVE_SCALE,
+                -gamepad1.right_stick_x * DRIVE_SCALE
+            );
+
+            // A: capture drift at the start mark
+            if (gamepad1.a && !lastA) {
+                for (Backend backend : backends) {
+                    backend.captureDrift();
+                }
+            }
+            lastA = gamepad1.a;
+
+            // B: zero every backend for a new run
+            if (gamepad1.b && !lastB) {
+                for (Backend backend : backends) {
+                    backend.reset();
+                }
+            }
+            lastB = gamepad1.b;
+
+            telemetry.addLine("=== LOCALIZER BENCHMARK ===");
+            telemetry.addData("Bulk Read", "%.2f ms", bulkReads.getLastUpdateNanos() / 1e6);
+            for (Backend backend : backends) {
+                Pose2d pose = backend.localizer.getPose();
+                telemetry.addLine();
+                telemetry.addLine("--- " + backend.name + " ---");
+                telemetry.addData("Pose", "%.2f, %.2f in, %.1f°",
+                    pose.getX(), pose.getY(), Math.toDegrees(pose.getHeading()));
+                telemetry.addData("Update", "avg %.3f ms, max %.3f ms",
+                    backend.getAverageMillis(), backend.maxNanos / 1e6);
+                if (backend.hasDrift) {
+                    telemetry.addData("Drift", "%.2f in, %.2f°",
+                        backend.driftDistance, backend.driftDegrees);
+                }
+            }
+            telemetry.addLine();
+            telemetry.addLine("A: Capture drift at start mark");
+            telemetry.addLine("B: Zero all backends");
+            telemetry.update();
+        }
+
+        drive.stop();
+        if (csv != null) {
+            try {
+                csv.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close benchmark log: " + e.getMessage());
+            }
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private MotorEx createMotor(String name, boolean inverted) {
+        MotorEx motor = new MotorEx(hardwareMap, name);
+        motor.setInverted(inverted);
+        motor.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
+        motor.resetEncoder();
+        return motor;
+    }
+
+    private static BufferedWriter openCsv(File file) {
+        try {
+            BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+            writer.write("time_s,backend,x_in,y_in,heading_rad,vx_in_s,vy_in_s,vheading_rad_s,update_us");
+            writer.newLine();
+            return writer;
+        } catch (IOException e) {
+            System.err.println("Failed to open benchmark log: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeSample(BufferedWriter csv, double time, Backend backend) {
+        Localizer localizer = backend.localizer;
+        Pose2d pose = localizer.getPose();
+        try {
+            csv.write(String.format(Locale.US, "%.4f,%s,%.3f,%.3f,%.5f,%.3f,%.3f,%.5f,%.1f",
+                time, backend.name, pose.getX(), pose.getY(), pose.getHeading(),
+                localizer.getVelocityX(), localizer.getVelocityY(), localizer.getVelocityHeading(),
+                backend.lastNanos / 1e3));
+            csv.newLine();
+        } catch (IOException e) {
+            System.err.println("Failed to write benchmark sample: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One localizer under test and its statistics.
+     */
+    private static class Backend {
+        final String name;
+        final Localizer localizer;
+
+        long lastNanos;
+        long maxNanos;
+        long totalNanos;
+        int updates;
+
+        boolean hasDrift;
+        double driftDistance;
+        double driftDegrees;
+
+        Backend(String name, Localizer localizer) {
+            this.name = name;
+            this.localizer = localizer;
+        }
+
+        void update() {
+            long start = System.nanoTime();
+            localizer.update();
+            lastNanos = System.nanoTime() - start;
+            maxNanos = Math.max(maxNanos, lastNanos);
+            totalNanos += lastNanos;
+            updates++;
+        }
+
+        double getAverageMillis() {
+            return updates > 0 ? totalNanos / 1e6 / updates : 0.0;
+        }
+
+        void captureDrift() {
+            Pose2d pose = localizer.getPose();
+            driftDistance = Math.hypot(pose.getX(), pose.getY());
+            driftDegrees = Math.toDegrees(pose.getHeading());
+            hasDrift = true;
+        }
+
+        void reset() {
+            localizer.setPose(new Pose2d(0, 0, new Rotation2d(0)));
+            maxNanos = 0;
+            totalNanos = 0;
+            updates = 0;
+            hasDrift = false;
+        }
+    }
+}
@@ -1,29 +1,51 @@
 package org.firstinspires.ftc.teamcode.opmodes.teleop;
 
-import com.arcrobotics.ftclib.command.CommandOpMode;
-import com.arcrobotics.ftclib.gamepad.GamepadEx;
+import com.arcrobotics.ftclib.command.InstantCommand;
+import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.WebcamName;
 import org.firstinspires.ftc.teamcode.commands.drive.TeleopMecanumDrive;
+import org.firstinspires.ftc.teamcode.constants.LoopConstants;
 import org.firstinspires.ftc.teamcode.constants.OperatorConstants;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+import org.firstinspires.ftc.teamcode.constants.VisionConstants;
+import org.firstinspires.ftc.teamcode.localization.PoseHandoff;
+import org.firstinspires.ftc.teamcode.opmodes.FastCommandOpMode;
 import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
 import org.firstinspires.ftc.teamcode.commands.drive.FieldCentricToggle;
+import org.firstinspires.ftc.teamcode.util.GamepadSnapshot;
+import org.firstinspires.ftc.teamcode.util.HardwareBootstrap;
+import org.firstinspires.ftc.teamcode.util.LoopWatchdog;
+import org.firstinspires.ftc.teamcode.vision.AprilTagGoalTracker;
+import org.firstinspires.ftc.vision.VisionPortal;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
 
 /**
  * Main TeleOp OpMode
  * 
  * This is the primary teleop mode for the robot. It initializes all subsystems,
  * creates commands, binds controls, and manages the command scheduler.
+ * Runs on the allocation-free FastCommandScheduler, with one gamepad
+ * snapshot per loop feeding every command and binding.
  * 
  * Features:
  * - Mecanum drive with robot-centric and field-centric modes
  * - Precision and turbo drive modes
  * - Field-centric toggle
  * - Heading reset
- * - Comprehensive telemetry
+ * - Driver assist: hold to snap heading and pull toward the AprilTag target
+ * - Loop watchdog: sheds telemetry rate, the camera and battery voltage
+ *   reads when the loop runs over budget; driving and slip detection are
+ *   never shed
+ * - Continues from the autonomous pose, and consumes it: once teleop has
+ *   run, the next teleop starts from the initial pose
+ * - Comprehensive telemetry, formatted on a background thread when
+ *   TunableConstants.ASYNC_TELEMETRY is on
  */
 @TeleOp(name = "Main TeleOp", group = "Competition")
-public class MainTeleOp extends CommandOpMode {
+public class MainTeleOp extends FastCommandOpMode {
     
     // ==================== Subsystems ====================
     
@@ -31,8 +53,21 @@ public class MainTeleOp extends CommandOpMode {
     
     // ==================== Controllers ====================
     
-    private GamepadEx driverGamepad;
-    // private GamepadEx operatorGamepad; // Add when you need operator controls
+    private GamepadSnapshot driverInput;
+    // private GamepadSnapshot operatorInput; // Add when you need operator controls
+    
+    // Button masks resolved once from OperatorConstants
+    private int precisionMask;
+    private int turboMask;
+    private int assistMask;
+    
+    // ==================== Vision ====================
+    
+    // Camera and assist target; null if no webcam is configured
+    private VisionPortal visionPortal;
+    private AprilTagProcessor aprilTag;
+    private AprilTagGoalTracker assistTracker;
+    private Pose2d assistTarget;
     
     // ==================== Commands ====================
     
@@ -42,6 +77,8 @@ public class MainTeleOp extends CommandOpMode {
     
     private FieldCentricToggle fieldCentricToggle;
     
+    private final LoopWatchdog watchdog = new LoopWatchdog();
+    
     // ==================== Initialization ====================
     
     /**
@@ -51,56 +88,66 @@ public class MainTeleOp extends CommandOpMode {
     @Override
     public void initialize() {
         // ===== 1. Initialize Subsystems =====
-        telemetry.addData("Status", "Initializing subsystems...");
-        telemetry.update();
+        // Devices of all subsystems are set up concurrently; no telemetry
+        // round-trips until everything is ready
+        // Kept past finish() for its init timing telemetry; closed even if init fails
+        HardwareBootstrap bootstrap = new HardwareBootstrap(hardwareMap);
+        try {
+            driveSubsystem = new MecanumDriveSubsystem(bootstrap);
+            bootstrap.finish();
+        } finally {
+            bootstrap.close();
+        }
         
-        driveSubsystem = new MecanumDriveSubsystem(hardwareMap);
+        // One bulk read per hub per loop; the hubs are read concurrently
+        enableBulkReads(true);
         
         // ===== 2. Initialize Gamepads =====
-        telemetry.addData("Status", "Initializing gamepads...");
-        telemetry.update();
+        driverInput = new GamepadSnapshot();
+        driverInput.update(gamepad1);
+        // operatorInput = new GamepadSnapshot(); // Add when needed
         
-        driverGamepad = new GamepadEx(gamepad1);
-        // operatorGamepad = new GamepadEx(gamepad2); // Add when needed
+        precisionMask = GamepadSnapshot.maskOf(OperatorConstants.PRECISION_MODE_BUTTON);
+        turboMask = GamepadSnapshot.maskOf(OperatorConstants.TURBO_MODE_BUTTON);
+        assistMask = GamepadSnapshot.maskOf(OperatorConstants.ASSIST_BUTTON);
         
         // ===== 3. Create Commands =====
-        telemetry.addData("Status", "Creating commands...");
-        telemetry.update();
-        
+        assistTracker = createAssistTracker();
         driveCommand = new TeleopMecanumDrive(
             driveSubsystem,
-            () -> -driverGamepad.getLeftX(),   // Strafe (negative for correct direction)
-            () -> -driverGamepad.getLeftY(),   // Forward (negative because Y is inverted)
-            () -> -driverGamepad.getRightX(),  // Turn (negative for correct rotation)
-            () -> driverGamepad.getButton(OperatorConstants.PRECISION_MODE_BUTTON),
-            () -> driverGamepad.getButton(OperatorConstants.TURBO_MODE_BUTTON)
+            () -> -driverInput.getLeftX(),   // Strafe (negative for correct direction)
+            () -> -driverInput.getLeftY(),   // Forward (negative because Y is inverted)
+            () -> -driverInput.getRightX(),  // Turn (negative for correct rotation)
+            () -> driverInput.isDown(precisionMask),
+            () -> driverInput.isDown(turboMask),
+            () -> driverInput.isDown(assistMask),
+            this::getAssistTarget
         );
         
         // ===== 4. Set Default Commands =====
-        telemetry.addData("Status", "Setting default commands...");
-        telemetry.update();
-        
-        driveSubsystem.setDefaultCommand(driveCommand);
+        setDefaultCommand(driveSubsystem, driveCommand);
         
         // ===== 5. Initialize Helpers =====
         fieldCentricToggle = new FieldCentricToggle(false); // Start in robot-centric
         
         // ===== 6. Configure Button Bindings =====
-        telemetry.addData("Status", "Configuring controls...");
-        telemetry.update();
-        
         configureButtonBindings();
         
         // ===== 7. Register Subsystems =====
         register(driveSubsystem);
         
-        // ===== 8. Initialization Complete =====
+        // ===== 8. Configure Loop Watchdog =====
+        configureWatchdog();
+        
+        // ===== 9. Initialization Complete =====
         telemetry.clearAll();
         telemetry.addLine("=================================");
         telemetry.addLine("    INITIALIZATION COMPLETE");
         telemetry.addLine("=================================");
         telemetry.addLine();
         telemetry.addData("Drive Mode", "Robot-Centric (default)");
+        telemetry.addData("Start Pose", driveSubsystem.isStartedFromHandoff()
+            ? "from autonomous" : "initial");
         telemetry.addLine();
         telemetry.addLine("Controls:");
         telemetry.addLine("  Left Stick = Move");
@@ -109,11 +156,72 @@ public class MainTeleOp extends CommandOpMode {
         telemetry.addLine("  Right Bumper = Turbo");
         telemetry.addLine("  Start = Toggle Field-Centric");
         telemetry.addLine("  Back = Reset Heading");
+        telemetry.addLine("  X (hold) = Assist");
+        telemetry.addData("Assist Target", assistTracker != null
+            ? "tag " + VisionConstants.ASSIST_TAG_ID : "none (heading only)");
+        telemetry.addLine();
+        bootstrap.addTelemetry(telemetry);
         telemetry.addLine();
         telemetry.addData("Status", "Ready to Start");
         telemetry.update();
     }
     
+    /**
+     * Start the camera for the assist target. The assist still snaps
+     * heading without it.
+     * 
+     * @return Tracker for the assist tag, or null if there is no camera
+     */
+    private AprilTagGoalTracker createAssistTracker() {
+        try {
+            aprilTag = new AprilTagProcessor.Builder().build();
+            visionPortal = new VisionPortal.Builder()
+                .setCamera(hardwareMap.get(WebcamName.class, VisionConstants.WEBCAM_NAME))
+                .addProcessor(aprilTag)
+                .build();
+            return new AprilTagGoalTracker(driveSubsystem, aprilTag,
+                VisionConstants.ASSIST_TAG_ID, VisionConstants.ASSIST_STANDOFF, 0.0, 0.0);
+        } catch (Exception e) {
+            System.err.println("Assist camera unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Assist target from the last sighting of the tag, carried between
+     * frames by odometry.
+     * 
+     * @return Target in the odometry frame, or null if the tag has not been seen recently
+     */
+    private Pose2d getAssistTarget() {
+        if (assistTracker == null) {
+            return null;
+        }
+        assistTracker.update();
+        assistTarget = assistTracker.getSecondsSinceUpdate() <= VisionConstants.ASSIST_TARGET_TIMEOUT
+            ? assistTracker.getGoal() : null;
+        return assistTarget;
+    }
+    
+    /**
+     * Register optional work with the watchdog, least important first.
+     * The drive command is deliberately not registered.
+     */
+    private void configureWatchdog() {
+        watchdog.addStage("telemetry rate",
+            () -> setTelemetryPeriod(LoopConstants.REDUCED_TELEMETRY_PERIOD),
+            () -> setTelemetryPeriod(0.0));
+        if (visionPortal != null) {
+            // Assist falls back to heading only while the camera is paused
+            watchdog.addStage("assist camera",
+                () -> visionPortal.setProcessorEnabled(aprilTag, false),
+                () -> visionPortal.setProcessorEnabled(aprilTag, true));
+        }
+        watchdog.addStage("battery voltage",
+            () -> driveSubsystem.setVoltageRefreshScale(LoopConstants.VOLTAGE_REFRESH_SCALE),
+            () -> driveSubsystem.setVoltageRefreshScale(1));
+    }
+    
     // ==================== Button Configuration ====================
     
     /**
@@ -123,37 +231,39 @@ public class MainTeleOp extends CommandOpMode {
         
         // ===== Field-Centric Toggle =====
         // Press START to toggle between robot-centric and field-centric
-        driverGamepad.getGamepadButton(OperatorConstants.TOGGLE_FIELD_CENTRIC_BUTTON)
-            .whenPressed(() -> {
-                // Update toggle state
-                boolean newState = fieldCentricToggle.update(true);
+        scheduler.whenPressed(
+            driverInput,
+            GamepadSnapshot.maskOf(OperatorConstants.TOGGLE_FIELD_CENTRIC_BUTTON),
+            new InstantCommand(() -> {
+                // The binding already fired on the rising edge
+                boolean newState = fieldCentricToggle.toggle();
                 driveSubsystem.setFieldCentric(newState);
                 
                 // Provide feedback
                 if (newState) {
                     gamepad1.rumble(200); // Short rumble for field-centric ON
                 }
-            })
-            .whenReleased(() -> {
-                // Update toggle helper to track button release
-                fieldCentricToggle.update(false);
-            });
+            }));
         
         // ===== Reset Heading =====
         // Press BACK to reset the IMU heading to zero
-        driverGamepad.getGamepadButton(OperatorConstants.RESET_HEADING_BUTTON)
-            .whenPressed(() -> {
+        scheduler.whenPressed(
+            driverInput,
+            GamepadSnapshot.maskOf(OperatorConstants.RESET_HEADING_BUTTON),
+            new InstantCommand(() -> {
                 driveSubsystem.resetHeading();
                 gamepad1.rumble(100); // Short rumble for confirmation
-            });
+            }));
         
         // ===== Reset Odometry (Optional) =====
         // Press DPAD_DOWN to reset odometry to (0, 0, 0)
-        driverGamepad.getGamepadButton(OperatorConstants.RESET_ODOMETRY_BUTTON)
-            .whenPressed(() -> {
+        scheduler.whenPressed(
+            driverInput,
+            GamepadSnapshot.maskOf(OperatorConstants.RESET_ODOMETRY_BUTTON),
+            new InstantCommand(() -> {
                 driveSubsystem.resetOdometry();
                 gamepad1.rumble(100); // Short rumble for confirmation
-            });
+            }));
     }
     
     // ==================== Main Loop ====================
@@ -165,12 +275,34 @@ public class MainTeleOp extends CommandOpMode {
      */
     @Override
     public void run() {
-        driverGamepad.readButtons();
+        // Single input stage: everything below reads this snapshot
+        driverInput.update(gamepad1);
+        
         // Run the command scheduler (handles all commands and subsystems)
         super.run();
         
-        // Update telemetry
-        updateTelemetry();
+        // Shed or restore optional work based on loop time
+        watchdog.update(getLoopDt());
+        
+        // Telemetry itself runs after run(); pick where it is formatted
+        setTelemetryMode(TunableConstants.ASYNC_TELEMETRY.get()
+            ? TelemetryMode.ASYNC : TelemetryMode.SYNC);
+    }
+    
+    /**
+     * Drop the autonomous handoff once teleop has run, then shut down.
+     * Only autonomous publishes; after practice the robot is usually
+     * carried back by hand, so a restarted teleop must not reuse the pose.
+     */
+    @Override
+    public void reset() {
+        if (isStarted()) {
+            PoseHandoff.clear();
+        }
+        if (visionPortal != null) {
+            visionPortal.close();
+        }
+        super.reset();
     }
     
     // ==================== Telemetry ====================
@@ -179,7 +311,8 @@ public class MainTeleOp extends CommandOpMode {
      * Update telemetry with current robot state.
      * This provides real-time feedback to the driver station.
      */
-    private void updateTelemetry() {
+    @Override
+    protected void addLoopTelemetry(Telemetry telemetry) {
         // Clear previous data
         telemetry.clearAll();
         
@@ -196,16 +329,28 @@ public class MainTeleOp extends CommandOpMode {
         telemetry.addData("Y", "%.2f in", driveSubsystem.getPose().getY());
         telemetry.addData("Rotation", "%.1f°", 
             Math.toDegrees(driveSubsystem.getPose().getRotation().getRadians()));
+        if (driveSubsystem.getLocalizer() != null) {
+            driveSubsystem.getLocalizer().addTelemetry(telemetry);
+        }
+        
+        // ===== Traction =====
+        if (driveSubsystem.getSlipDetector() != null) {
+            telemetry.addLine();
+            telemetry.addLine("=== TRACTION ===");
+            driveSubsystem.getSlipDetector().addTelemetry(telemetry);
+        }
         
         // ===== Drive Mode =====
         telemetry.addLine();
         telemetry.addLine("=== DRIVE MODE ===");
-        boolean precisionActive = gamepad1.left_bumper;
-        boolean turboActive = gamepad1.right_bumper;
+        boolean precisionActive = driverInput.isDown(precisionMask);
+        boolean turboActive = driverInput.isDown(turboMask);
         String currentMode = precisionActive ? "PRECISION (30%)" : 
                             turboActive ? "TURBO (100%)" : 
                             "NORMAL (100%)";
         telemetry.addData("Speed", currentMode);
+        telemetry.addData("Assist", driveCommand.isAssisting()
+            ? (assistTarget != null ? "ON (heading + target)" : "ON (heading)") : "off");
         
         // ===== Motor Info (Optional - comment out if too cluttered) =====
         /*
@@ -216,18 +361,27 @@ public class MainTeleOp extends CommandOpMode {
         telemetry.addData("BL/BR", "%.0f / %.0f", encoders[2], encoders[3]);
         */
         
+        // ===== Bulk Reads =====
+        telemetry.addLine();
+        telemetry.addLine("=== BULK READS ===");
+        bulkReads.addTelemetry(telemetry);
+        
+        // ===== Loop =====
+        telemetry.addLine();
+        telemetry.addLine("=== LOOP ===");
+        watchdog.addTelemetry(telemetry);
+        addTelemetryCost(telemetry);
+        
         // ===== Controls Reminder =====
         telemetry.addLine();
         telemetry.addLine("=== CONTROLS ===");
         telemetry.addLine("START: Toggle Field-Centric");
         telemetry.addLine("BACK: Reset Heading");
+        telemetry.addLine("X: Assist (hold)");
 
 //        Add joystick info if desired
         telemetry.addData("Left Stick", "X: %.2f, Y: %.2f",
-            -driverGamepad.getLeftX(), -driverGamepad.getLeftY());
-        telemetry.addData("Right Stick X", "%.2f", -driverGamepad.getRightX());
-        
-        // Update the display
-        telemetry.update();
+            -driverInput.getLeftX(), -driverInput.getLeftY());
+        telemetry.addData("Right Stick X", "%.2f", -driverInput.getRightX());
     }
 }
@@ -7,6 +7,7 @@ import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 import org.firstinspires.ftc.teamcode.commands.drive.TeleopMecanumDrive;
 import org.firstinspires.ftc.teamcode.constants.OperatorConstants;
 import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.teamcode.util.CommandTracer;
 
 /**
  * Simplified MainTeleOp for debugging
@@ -18,14 +19,20 @@ public class MainTeleOpDebug extends CommandOpMode {
     private MecanumDriveSubsystem driveSubsystem;
     private GamepadEx driverGamepad;
     private TeleopMecanumDrive driveCommand;
+    private CommandTracer tracer;
     
     private int loopCount = 0;
+    private boolean dumpRequested = false;
     
     @Override
     public void initialize() {
         telemetry.addLine("=== INITIALIZATION START ===");
         telemetry.update();
         
+        // 0. Install command tracing before anything is scheduled
+        tracer = new CommandTracer(512, 20.0);
+        tracer.install();
+        
         // 1. Initialize Subsystem
         try {
             driveSubsystem = new MecanumDriveSubsystem(hardwareMap);
@@ -95,7 +102,9 @@ public class MainTeleOpDebug extends CommandOpMode {
         driverGamepad.readButtons();
         
         // Run the scheduler (this executes commands)
+        tracer.beginLoop();
         super.run();
+        tracer.endLoop();
         
         // Count loops
         loopCount++;
@@ -134,6 +143,18 @@ public class MainTeleOpDebug extends CommandOpMode {
         telemetry.addLine("--- COMMAND STATUS ---");
         telemetry.addData("Default Cmd", driveCommand != null ? "Set" : "NULL");
         telemetry.addData("Is Scheduled", driveCommand != null && driveCommand.isScheduled());
+        telemetry.addLine();
+        
+        // Per-command timing
+        telemetry.addLine("--- COMMAND TRACE ---");
+        tracer.addTelemetry(telemetry);
+        telemetry.addData("Slowest", tracer.getSlowestSource());
+        
+        // Dump the trace to logcat once per Y press
+        if (gamepad1.y && !dumpRequested) {
+            tracer.dumpEvents();
+        }
+        dumpRequested = gamepad1.y;
         
         telemetry.update();
     }
@@ -4,6 +4,8 @@ import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 import com.qualcomm.robotcore.hardware.DcMotor;
 
+import org.firstinspires.ftc.teamcode.util.LoopPacer;
+
 /**
  * Diagnostic OpMode to test each motor individually.
  * Use this to verify:
@@ -68,6 +70,9 @@ MotorDiagnostic extends LinearOpMode {
         
         waitForStart();
         
+        // 20 Hz, a fixed period regardless of how long the loop body takes
+        LoopPacer pacer = new LoopPacer(0.05);
+        pacer.start();
         while (opModeIsActive()) {
             // Stop all motors first
             stopAllMotors();
@@ -136,9 +141,11 @@ MotorDiagnostic extends LinearOpMode {
             telemetry.addLine("A: All Forward");
             telemetry.addLine("B: All Backward");
             telemetry.addLine("X: Stop All");
+            telemetry.addLine();
+            pacer.addTelemetry(telemetry);
             
             telemetry.update();
-            sleep(50);
+            pacer.await();
         }
     }
     
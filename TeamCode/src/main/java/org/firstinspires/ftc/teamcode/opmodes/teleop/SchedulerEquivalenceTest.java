@@ -0,0 +1,309 @@
+package org.firstinspires.ftc.teamcode.opmodes.teleop;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+import com.arcrobotics.ftclib.command.CommandScheduler;
+import com.arcrobotics.ftclib.command.SubsystemBase;
+import com.arcrobotics.ftclib.command.button.Trigger;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.teamcode.scheduler.FastCommandScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Equivalence test: FastCommandScheduler vs FTCLib CommandScheduler
+ *
+ * Runs the same scripted scenario through both schedulers using logging
+ * subsystems and commands (no hardware needed) and compares the resulting
+ * event logs line by line. The scenario covers:
+ * - Default commands and their rescheduling
+ * - Interruption, and a non-interruptible command blocking a binding
+ * - Commands scheduled from inside execute() (deferred until after the loop)
+ * - WHEN_PRESSED, TOGGLE_WHEN_PRESSED and WHEN_HELD bindings
+ * - Explicit cancel from outside the run loop
+ *
+ * Also measures the average run() time of both schedulers.
+ */
+@TeleOp(name = "Scheduler Equivalence Test", group = "Testing")
+public class SchedulerEquivalenceTest extends LinearOpMode {
+
+    private static final int STEPS = 20;
+    private static final int TIMING_LOOPS = 2000;
+
+    // Scripted button states per step: {X, Y, Z}
+    private static final boolean[][] BUTTONS = new boolean[STEPS][3];
+    static {
+        BUTTONS[2][0] = true;                       // X: whenPressed shortA
+        BUTTONS[3][1] = true;                       // Y: toggle holdB (blocked by lockB)
+        BUTTONS[6][1] = true;                       // Y: toggle holdB on
+        BUTTONS[9][1] = true;                       // Y: toggle holdB off
+        for (int i = 11; i <= 13; i++) {
+            BUTTONS[i][2] = true;                   // Z: hold spinAB
+        }
+        BUTTONS[16][1] = true;                      // Y: toggle holdB on again
+    }
+
+    // Current step, read by the binding suppliers
+    private int step;
+
+    @Override
+    public void runOpMode() {
+        telemetry.addLine("Press START to run the equivalence test");
+        telemetry.update();
+
+        waitForStart();
+
+        List<String> ftclibLog = runScenario(false);
+        List<String> fastLog = runScenario(true);
+
+        int mismatch = firstMismatch(ftclibLog, fastLog);
+
+        double ftclibMs = timeScheduler(false);
+        double fastMs = timeScheduler(true);
+
+        telemetry.addLine("=== SCHEDULER EQUIVALENCE ===");
+        telemetry.addData("Result", mismatch < 0 ? "PASS" : "FAIL");
+        telemetry.addData("Events", "%d FTCLib / %d Fast", ftclibLog.size(), fastLog.size());
+        if (mismatch >= 0) {
+            telemetry.addData("First Mismatch", mismatch);
+            telemetry.addData("FTCLib", mismatch < ftclibLog.size() ? ftclibLog.get(mismatch) : "<end>");
+            telemetry.addData("Fast", mismatch < fastLog.size() ? fastLog.get(mismatch) : "<end>");
+        }
+        telemetry.addLine();
+        telemetry.addLine("=== RUN() COST ===");
+        telemetry.addData("FTCLib", "%.4f ms", ftclibMs);
+        telemetry.addData("Fast", "%.4f ms", fastMs);
+        telemetry.update();
+
+        for (String line : ftclibLog) {
+            System.out.println("EQUIV ftclib " + line);
+        }
+        for (String line : fastLog) {
+            System.out.println("EQUIV fast   " + line);
+        }
+
+        while (opModeIsActive()) {
+            sleep(100);
+        }
+    }
+
+    // ==================== Scenario ====================
+
+    /**
+     * Run the scripted scenario on one scheduler and return its event log.
+     *
+     * @param useFast true for FastCommandScheduler, false for FTCLib
+     * @return Ordered list of events
+     */
+    private List<String> runScenario(boolean useFast) {
+        List<String> log = new ArrayList<>();
+        CommandScheduler ftclib = CommandScheduler.getInstance();
+        ftclib.reset();
+        FastCommandScheduler fast = new FastCommandScheduler();
+        step = -1;
+
+        // Subsystems register themselves with FTCLib on construction
+        LoggingSubsystem subsystemA = new LoggingSubsystem("A", log);
+        LoggingSubsystem subsystemB = new LoggingSubsystem("B", log);
+
+        LoggingCommand driveA = new LoggingCommand("driveA", -1, log, subsystemA);
+        LoggingCommand shortA = new LoggingCommand("shortA", 2, log, subsystemA);
+        LoggingCommand lockB = new LoggingCommand("lockB", 3, log, subsystemB);
+        LoggingCommand holdB = new LoggingCommand("holdB", -1, log, subsystemB);
+        LoggingCommand spinAB = new LoggingCommand("spinAB", -1, log, subsystemA, subsystemB);
+        LoggingCommand spawned = new LoggingCommand("spawned", 1, log);
+        LoggingCommand spawner = new LoggingCommand("spawner", 2, log);
+        spawner.onFirstExecute = () -> {
+            if (useFast) {
+                fast.schedule(spawned);
+            } else {
+                ftclib.schedule(spawned);
+            }
+        };
+
+        if (useFast) {
+            fast.registerSubsystem(subsystemA, subsystemB);
+            fast.setDefaultCommand(subsystemA, driveA);
+            fast.whenPressed(() -> button(0), shortA);
+            fast.toggleWhenPressed(() -> button(1), holdB);
+            fast.whenHeld(() -> button(2), spinAB);
+        } else {
+            ftclib.setDefaultCommand(subsystemA, driveA);
+            new Trigger(() -> button(0)).whenActive(shortA);
+            new Trigger(() -> button(1)).toggleWhenActive(holdB);
+            new Trigger(() -> button(2)).whileActiveOnce(spinAB);
+        }
+
+        for (step = 0; step < STEPS; step++) {
+            log.add("--- step " + step);
+
+            // Scripted requests from outside the run loop
+            if (step == 1) {
+                if (useFast) {
+                    fast.schedule(lockB, false);
+                } else {
+                    ftclib.schedule(false, lockB);
+                }
+            }
+            if (step == 5) {
+                if (useFast) {
+                    fast.schedule(spawner);
+                } else {
+                    ftclib.schedule(spawner);
+                }
+            }
+            if (step == 15) {
+                if (useFast) {
+                    fast.cancel(driveA);
+                } else {
+                    ftclib.cancel(driveA);
+                }
+            }
+
+            if (useFast) {
+                fast.run();
+            } else {
+                ftclib.run();
+            }
+        }
+
+        if (useFast) {
+            fast.cancelAll();
+        } else {
+            ftclib.cancelAll();
+        }
+        ftclib.reset();
+        return log;
+    }
+
+    private boolean button(int index) {
+        return step >= 0 && BUTTONS[step][index];
+    }
+
+    private static int firstMismatch(List<String> expected, List<String> actual) {
+        int common = Math.min(expected.size(), actual.size());
+        for (int i = 0; i < common; i++) {
+            if (!expected.get(i).equals(actual.get(i))) {
+                return i;
+            }
+        }
+        return expected.size() == actual.size() ? -1 : common;
+    }
+
+    // ==================== Timing ====================
+
+    /**
+     * Measure the average cost of run() with two subsystems and a default command.
+     *
+     * @param useFast true for FastCommandScheduler, false for FTCLib
+     * @return Average run() time in milliseconds
+     */
+    private double timeScheduler(boolean useFast) {
+        CommandScheduler ftclib = CommandScheduler.getInstance();
+        ftclib.reset();
+        FastCommandScheduler fast = new FastCommandScheduler();
+
+        // A null log keeps the measurement free of list growth
+        LoggingSubsystem subsystemA = new LoggingSubsystem("A", null);
+        LoggingSubsystem subsystemB = new LoggingSubsystem("B", null);
+        LoggingCommand driveA = new LoggingCommand("driveA", -1, null, subsystemA);
+        LoggingCommand driveB = new LoggingCommand("driveB", -1, null, subsystemB);
+
+        if (useFast) {
+            fast.setDefaultCommand(subsystemA, driveA);
+            fast.setDefaultCommand(subsystemB, driveB);
+        } else {
+            ftclib.setDefaultCommand(subsystemA, driveA);
+            ftclib.setDefaultCommand(subsystemB, driveB);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMING_LOOPS; i++) {
+            if (useFast) {
+                fast.run();
+            } else {
+                ftclib.run();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        ftclib.reset();
+        return elapsed / 1e6 / TIMING_LOOPS;
+    }
+
+    // ==================== Logging Helpers ====================
+
+    /**
+     * Subsystem that logs its periodic() calls.
+     */
+    private static class LoggingSubsystem extends SubsystemBase {
+        private final String name;
+        private final List<String> log;
+
+        LoggingSubsystem(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        @Override
+        public void periodic() {
+            if (log != null) {
+                log.add(name + ".periodic");
+            }
+        }
+    }
+
+    /**
+     * Command that logs its lifecycle and finishes after a set number of executes.
+     */
+    private static class LoggingCommand extends CommandBase {
+        private final String name;
+        private final int executesToFinish;
+        private final List<String> log;
+        private int executeCount;
+        Runnable onFirstExecute;
+
+        /**
+         * @param executesToFinish Executes before finishing, or -1 to never finish
+         */
+        LoggingCommand(String name, int executesToFinish, List<String> log, SubsystemBase... requirements) {
+            this.name = name;
+            this.executesToFinish = executesToFinish;
+            this.log = log;
+            addRequirements(requirements);
+        }
+
+        @Override
+        public void initialize() {
+            executeCount = 0;
+            if (log != null) {
+                log.add(name + ".initialize");
+            }
+        }
+
+        @Override
+        public void execute() {
+            executeCount++;
+            if (log != null) {
+                log.add(name + ".execute");
+            }
+            if (executeCount == 1 && onFirstExecute != null) {
+                onFirstExecute.run();
+            }
+        }
+
+        @Override
+        public void end(boolean interrupted) {
+            if (log != null) {
+                log.add(name + ".end(" + interrupted + ")");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return executesToFinish >= 0 && executeCount >= executesToFinish;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.firstinspires.ftc.teamcode.opmodes.teleop;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.trajectory.PathPoint;
+import org.firstinspires.ftc.teamcode.trajectory.QuinticSplinePath;
+import org.firstinspires.ftc.teamcode.trajectory.Trajectory;
+import org.firstinspires.ftc.teamcode.trajectory.TrajectoryBuilder;
+import org.firstinspires.ftc.teamcode.trajectory.TrajectoryCache;
+
+import java.io.File;
+
+/**
+ * Trajectory Benchmark
+ *
+ * Measures, on the robot controller itself, how long trajectory
+ * generation takes for a set of representative paths, from a single line
+ * to a long multi-waypoint route, and how long the same route takes to
+ * load from the trajectory cache instead. Also measures the per-loop cost
+ * of sampling a trajectory and of a spline's arc-length lookup.
+ *
+ * Uses no hardware; results are shown in telemetry and printed to logcat.
+ * Press START to run.
+ */
+@TeleOp(name = "Trajectory Benchmark", group = "Testing")
+public class TrajectoryBenchmark extends LinearOpMode {
+
+    private static final int BUILD_REPEATS = 20;
+    private static final int SAMPLE_REPEATS = 100000;
+
+    private static final Pose2d ORIGIN = new Pose2d(0, 0, new Rotation2d(0));
+
+    /**
+     * One path to time.
+     */
+    private interface Case {
+        Trajectory build();
+    }
+
+    @Override
+    public void runOpMode() {
+        telemetry.addLine("Press START to run the trajectory benchmark");
+        telemetry.update();
+        waitForStart();
+
+        // ===== Generation =====
+        telemetry.addLine("=== GENERATION (avg / max) ===");
+        time("Line 24 in", () -> new TrajectoryBuilder(ORIGIN)
+            .lineTo(24, 0)
+            .build());
+        time("Square", () -> new TrajectoryBuilder(ORIGIN)
+            .lineTo(24, 0, new Rotation2d(Math.toRadians(90)))
+            .lineTo(24, 24, new Rotation2d(Math.toRadians(180)))
+            .lineTo(0, 24, new Rotation2d(Math.toRadians(-90)))
+            .lineTo(0, 0, new Rotation2d(0))
+            .build());
+        time("S-curve", () -> new TrajectoryBuilder(ORIGIN)
+            .splineTo(36, 24, new Rotation2d(0))
+            .splineTo(72, 0, new Rotation2d(0))
+            .build());
+        Trajectory longRoute = time("Long route", () -> longRoute().build());
+
+        // ===== Disk cache =====
+        telemetry.addLine();
+        telemetry.addLine("=== CACHE ===");
+        File directory = new File(AppUtil.FIRST_FOLDER, "trajectories/benchmark");
+        clear(directory);
+        TrajectoryCache cache = new TrajectoryCache(directory);
+        long start = System.nanoTime();
+        longRoute().build(cache);
+        report("Long route, miss", (System.nanoTime() - start) / 1e6, "ms");
+        start = System.nanoTime();
+        longRoute().build(cache);
+        report("Long route, hit", (System.nanoTime() - start) / 1e6, "ms");
+        cache.addTelemetry(telemetry);
+        clear(directory);
+
+        // ===== Per-loop costs =====
+        telemetry.addLine();
+        telemetry.addLine("=== LOOKUP ===");
+
+        Trajectory.Sample sample = new Trajectory.Sample();
+        double duration = longRoute.getDuration();
+        start = System.nanoTime();
+        for (int i = 0; i < SAMPLE_REPEATS && opModeIsActive(); i++) {
+            longRoute.sample(duration * i / SAMPLE_REPEATS, sample);
+        }
+        report("Trajectory.sample", (System.nanoTime() - start) / (double) SAMPLE_REPEATS, "ns");
+
+        QuinticSplinePath spline = new QuinticSplinePath(0, 0, 0, 120, 48, Math.toRadians(90), 0, 0, false);
+        PathPoint point = new PathPoint();
+        double length = spline.length();
+        start = System.nanoTime();
+        for (int i = 0; i < SAMPLE_REPEATS && opModeIsActive(); i++) {
+            spline.sample(length * i / SAMPLE_REPEATS, point);
+        }
+        report("Spline arc-length lookup", (System.nanoTime() - start) / (double) SAMPLE_REPEATS, "ns");
+
+        telemetry.update();
+        while (opModeIsActive()) {
+            sleep(100);
+        }
+    }
+
+    /**
+     * @return An 8-waypoint spline route across most of the field
+     */
+    private static TrajectoryBuilder longRoute() {
+        return new TrajectoryBuilder(ORIGIN)
+            .splineThrough(
+                new Pose2d(24, 24, new Rotation2d(Math.toRadians(90))),
+                new Pose2d(48, 48, new Rotation2d(Math.toRadians(90))),
+                new Pose2d(96, 48, new Rotation2d(0)),
+                new Pose2d(120, 24, new Rotation2d(Math.toRadians(-90))),
+                new Pose2d(96, 0, new Rotation2d(Math.toRadians(180))),
+                new Pose2d(48, 0, new Rotation2d(Math.toRadians(180))),
+                new Pose2d(24, -24, new Rotation2d(Math.toRadians(90))),
+                new Pose2d(0, 0, new Rotation2d(0)));
+    }
+
+    /**
+     * Build a trajectory repeatedly and report its generation time.
+     *
+     * @return The last trajectory built
+     */
+    private Trajectory time(String name, Case benchmark) {
+        Trajectory trajectory = benchmark.build(); // Warm up
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < BUILD_REPEATS && opModeIsActive(); i++) {
+            long start = System.nanoTime();
+            trajectory = benchmark.build();
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            max = Math.max(max, elapsed);
+        }
+        double average = total / 1e6 / BUILD_REPEATS;
+        telemetry.addData(name, "%.2f / %.2f ms (%.1f s, %d samples)",
+            average, max / 1e6, trajectory.getDuration(), trajectory.size());
+        System.out.println(String.format("Trajectory benchmark: %s avg %.2f ms, max %.2f ms, %.2f s, %d samples",
+            name, average, max / 1e6, trajectory.getDuration(), trajectory.size()));
+        return trajectory;
+    }
+
+    private void report(String name, double value, String unit) {
+        telemetry.addData(name, "%.2f %s", value, unit);
+        System.out.println(String.format("Trajectory benchmark: %s %.2f %s", name, value, unit));
+    }
+
+    /**
+     * Delete the benchmark's own cache files so every run starts with a miss.
+     */
+    private static void clear(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    System.err.println("Failed to delete " + file.getName());
+                }
+            }
+        }
+    }
+}
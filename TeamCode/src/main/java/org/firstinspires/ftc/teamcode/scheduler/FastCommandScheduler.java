@@ -0,0 +1,707 @@
+package org.firstinspires.ftc.teamcode.scheduler;
+
+import com.arcrobotics.ftclib.command.Command;
+import com.arcrobotics.ftclib.command.Subsystem;
+
+import org.firstinspires.ftc.teamcode.util.CommandTracer;
+import org.firstinspires.ftc.teamcode.util.GamepadSnapshot;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Allocation-free replacement for the FTCLib CommandScheduler.
+ *
+ * FTCLib iterates hash maps and builds iterators and temporary sets every
+ * cycle, which causes steady GC churn on the Control Hub. This scheduler
+ * keeps the same semantics for CommandBase/SubsystemBase (requirements,
+ * default commands, interruption, deferred scheduling from inside the run
+ * loop) but stores everything in fixed-size arrays:
+ * - Subsystems are numbered on registration, so a command's requirements
+ *   become a 64-bit mask computed once and cached
+ * - Scheduled commands live in an array compacted in place
+ * - Button bindings are precomputed (condition, edge type, command), and
+ *   gamepad bindings read edges straight from a {@link GamepadSnapshot} mask
+ *
+ * Once every command has been scheduled once, run() does not allocate.
+ *
+ * NOTE: FTCLib's Command.schedule(), isScheduled() and
+ * Subsystem.setDefaultCommand() talk to the FTCLib singleton. When using
+ * this scheduler, call the methods on this class instead.
+ */
+public class FastCommandScheduler {
+
+    // ==================== Limits ====================
+
+    /**
+     * Maximum number of subsystems (one bit each in a requirement mask)
+     */
+    public static final int MAX_SUBSYSTEMS = 64;
+
+    /**
+     * Maximum number of commands scheduled at the same time
+     */
+    public static final int MAX_SCHEDULED = 32;
+
+    /**
+     * Maximum number of button bindings
+     */
+    public static final int MAX_BINDINGS = 32;
+
+    // ==================== Binding Types ====================
+
+    /**
+     * How a binding reacts to its condition, mirroring FTCLib's Trigger methods.
+     */
+    public enum BindingType {
+        /** Schedule on the rising edge (Trigger.whenActive) */
+        WHEN_PRESSED,
+        /** Schedule on the falling edge (Trigger.whenInactive) */
+        WHEN_RELEASED,
+        /** Schedule every loop while held, cancel on release (Trigger.whileActiveContinuous) */
+        WHILE_HELD,
+        /** Schedule on press, cancel on release (Trigger.whileActiveOnce) */
+        WHEN_HELD,
+        /** Toggle the command on each press (Trigger.toggleWhenActive) */
+        TOGGLE_WHEN_PRESSED
+    }
+
+    // ==================== Subsystems ====================
+
+    private final Subsystem[] subsystems = new Subsystem[MAX_SUBSYSTEMS];
+    private final Command[] defaultCommands = new Command[MAX_SUBSYSTEMS];
+    private int subsystemCount;
+
+    // Requirement masks are computed on first schedule and cached
+    private final Map<Command, Long> requirementMasks = new IdentityHashMap<>();
+
+    // ==================== Scheduled Commands ====================
+
+    private final Command[] scheduled = new Command[MAX_SCHEDULED];
+    private final long[] scheduledMasks = new long[MAX_SCHEDULED];
+    private final boolean[] scheduledInterruptible = new boolean[MAX_SCHEDULED];
+    private int scheduledCount;
+    private long requiredMask;
+
+    // Requests made while commands are executing are applied after the loop
+    private final Command[] pendingSchedule = new Command[MAX_SCHEDULED];
+    private final boolean[] pendingInterruptible = new boolean[MAX_SCHEDULED];
+    private int pendingScheduleCount;
+    private final Command[] pendingCancel = new Command[MAX_SCHEDULED];
+    private int pendingCancelCount;
+    private boolean inRunLoop;
+
+    // ==================== Bindings ====================
+
+    private final BooleanSupplier[] bindingConditions = new BooleanSupplier[MAX_BINDINGS];
+    private final GamepadSnapshot[] bindingInputs = new GamepadSnapshot[MAX_BINDINGS];
+    private final int[] bindingMasks = new int[MAX_BINDINGS];
+    private final BindingType[] bindingTypes = new BindingType[MAX_BINDINGS];
+    private final Command[] bindingCommands = new Command[MAX_BINDINGS];
+    private final boolean[] bindingLastState = new boolean[MAX_BINDINGS];
+    private final boolean[] bindingInterruptible = new boolean[MAX_BINDINGS];
+    private int bindingCount;
+
+    // ==================== State ====================
+
+    private boolean disabled;
+    private CommandTracer tracer;
+    private ParallelPeriodicExecutor periodicExecutor;
+
+    // Subsystems whose periodic() is run by the executor instead of the loop
+    private long parallelMask;
+
+    // ==================== Subsystem Registration ====================
+
+    /**
+     * Register subsystems so their periodic() runs every cycle.
+     * Registering a subsystem twice has no effect.
+     *
+     * @param toRegister Subsystems to register
+     */
+    public void registerSubsystem(Subsystem... toRegister) {
+        for (Subsystem subsystem : toRegister) {
+            if (indexOf(subsystem) >= 0) {
+                continue;
+            }
+            if (subsystemCount >= MAX_SUBSYSTEMS) {
+                throw new IllegalStateException("Too many subsystems (max " + MAX_SUBSYSTEMS + ")");
+            }
+            if (periodicExecutor != null && periodicExecutor.contains(subsystem)) {
+                parallelMask |= 1L << subsystemCount;
+            }
+            subsystems[subsystemCount++] = subsystem;
+        }
+    }
+
+    /**
+     * Set the command that runs on a subsystem whenever nothing else requires it.
+     * The subsystem is registered if it was not already.
+     *
+     * @param subsystem The subsystem
+     * @param defaultCommand The default command, which must require the subsystem
+     */
+    public void setDefaultCommand(Subsystem subsystem, Command defaultCommand) {
+        if (!defaultCommand.getRequirements().contains(subsystem)) {
+            throw new IllegalArgumentException("Default commands must require their subsystem!");
+        }
+        if (defaultCommand.isFinished()) {
+            System.err.println("Default command " + defaultCommand.getName() + " finishes immediately");
+        }
+        registerSubsystem(subsystem);
+        defaultCommands[indexOf(subsystem)] = defaultCommand;
+    }
+
+    /**
+     * @param subsystem The subsystem
+     * @return The default command of the subsystem, or null if none
+     */
+    public Command getDefaultCommand(Subsystem subsystem) {
+        int index = indexOf(subsystem);
+        return index < 0 ? null : defaultCommands[index];
+    }
+
+    private int indexOf(Subsystem subsystem) {
+        for (int i = 0; i < subsystemCount; i++) {
+            if (subsystems[i] == subsystem) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the requirement mask of a command, computing it on first use.
+     * Requirements that are not registered subsystems are registered here.
+     */
+    private long maskOf(Command command) {
+        Long cached = requirementMasks.get(command);
+        if (cached != null) {
+            return cached;
+        }
+        long mask = 0;
+        for (Subsystem requirement : command.getRequirements()) {
+            registerSubsystem(requirement);
+            mask |= 1L << indexOf(requirement);
+        }
+        requirementMasks.put(command, mask);
+        return mask;
+    }
+
+    // ==================== Scheduling ====================
+
+    /**
+     * Schedule a command as interruptible.
+     *
+     * @param command Command to schedule
+     */
+    public void schedule(Command command) {
+        schedule(command, true);
+    }
+
+    /**
+     * Schedule a command.
+     *
+     * If a scheduled command shares a requirement and is interruptible, it is
+     * interrupted. If any conflicting command is not interruptible, the new
+     * command is not scheduled.
+     *
+     * @param command Command to schedule
+     * @param interruptible Whether later commands may interrupt this one
+     */
+    public void schedule(Command command, boolean interruptible) {
+        if (inRunLoop) {
+            if (pendingScheduleCount < MAX_SCHEDULED) {
+                pendingSchedule[pendingScheduleCount] = command;
+                pendingInterruptible[pendingScheduleCount] = interruptible;
+                pendingScheduleCount++;
+            }
+            return;
+        }
+        if (disabled || isScheduled(command)) {
+            return;
+        }
+
+        long mask = maskOf(command);
+
+        // Check every conflicting command can be interrupted before touching any
+        if ((mask & requiredMask) != 0) {
+            for (int i = 0; i < scheduledCount; i++) {
+                if ((scheduledMasks[i] & mask) != 0 && !scheduledInterruptible[i]) {
+                    return;
+                }
+            }
+            int i = 0;
+            while (i < scheduledCount) {
+                if ((scheduledMasks[i] & mask) != 0) {
+                    interrupt(i);
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        if (scheduledCount >= MAX_SCHEDULED) {
+            throw new IllegalStateException("Too many scheduled commands (max " + MAX_SCHEDULED + ")");
+        }
+
+        long start = System.nanoTime();
+        command.initialize();
+        trace(CommandTracer.EventType.INITIALIZE, command, start);
+
+        scheduled[scheduledCount] = command;
+        scheduledMasks[scheduledCount] = mask;
+        scheduledInterruptible[scheduledCount] = interruptible;
+        scheduledCount++;
+        requiredMask |= mask;
+    }
+
+    /**
+     * Cancel a scheduled command. Its end(true) is called.
+     *
+     * @param command Command to cancel
+     */
+    public void cancel(Command command) {
+        if (inRunLoop) {
+            if (pendingCancelCount < MAX_SCHEDULED) {
+                pendingCancel[pendingCancelCount++] = command;
+            }
+            return;
+        }
+        int index = scheduledIndexOf(command);
+        if (index >= 0) {
+            interrupt(index);
+        }
+    }
+
+    /**
+     * Cancel every scheduled command.
+     */
+    public void cancelAll() {
+        while (scheduledCount > 0) {
+            interrupt(0);
+        }
+    }
+
+    /**
+     * @param command Command to check
+     * @return true if the command is currently scheduled by this scheduler
+     */
+    public boolean isScheduled(Command command) {
+        return scheduledIndexOf(command) >= 0;
+    }
+
+    /**
+     * @param subsystem The subsystem
+     * @return The scheduled command requiring the subsystem, or null if none
+     */
+    public Command requiring(Subsystem subsystem) {
+        int index = indexOf(subsystem);
+        if (index < 0) {
+            return null;
+        }
+        long bit = 1L << index;
+        for (int i = 0; i < scheduledCount; i++) {
+            if ((scheduledMasks[i] & bit) != 0) {
+                return scheduled[i];
+            }
+        }
+        return null;
+    }
+
+    private int scheduledIndexOf(Command command) {
+        for (int i = 0; i < scheduledCount; i++) {
+            if (scheduled[i] == command) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * End a scheduled command as interrupted and remove it, keeping order.
+     */
+    private void interrupt(int index) {
+        Command command = scheduled[index];
+        long start = System.nanoTime();
+        command.end(true);
+        trace(CommandTracer.EventType.INTERRUPT, command, start);
+        removeAt(index);
+    }
+
+    private void removeAt(int index) {
+        int last = scheduledCount - 1;
+        for (int i = index; i < last; i++) {
+            scheduled[i] = scheduled[i + 1];
+            scheduledMasks[i] = scheduledMasks[i + 1];
+            scheduledInterruptible[i] = scheduledInterruptible[i + 1];
+        }
+        scheduled[last] = null;
+        scheduledCount = last;
+        recomputeRequiredMask();
+    }
+
+    private void recomputeRequiredMask() {
+        long mask = 0;
+        for (int i = 0; i < scheduledCount; i++) {
+            mask |= scheduledMasks[i];
+        }
+        requiredMask = mask;
+    }
+
+    // ==================== Bindings ====================
+
+    /**
+     * Bind a command to a condition. The condition is sampled once per cycle,
+     * after subsystem periodic() and before commands execute.
+     *
+     * @param condition Condition to watch (e.g. a button)
+     * @param type How the command reacts to the condition
+     * @param command Command to run
+     * @param interruptible Whether the scheduled command is interruptible
+     */
+    public void bind(BooleanSupplier condition, BindingType type, Command command, boolean interruptible) {
+        if (bindingCount >= MAX_BINDINGS) {
+            throw new IllegalStateException("Too many bindings (max " + MAX_BINDINGS + ")");
+        }
+        bindingConditions[bindingCount] = condition;
+        bindingInputs[bindingCount] = null;
+        bindingTypes[bindingCount] = type;
+        bindingCommands[bindingCount] = command;
+        bindingInterruptible[bindingCount] = interruptible;
+        bindingLastState[bindingCount] = condition.getAsBoolean();
+        bindingCount++;
+    }
+
+    /**
+     * Bind a command to one or more gamepad buttons. Button state and edges
+     * are read from the snapshot, which must be updated once per loop
+     * before the scheduler runs. With several bits in the mask, the binding
+     * acts on the chord (all buttons down).
+     *
+     * @param input Gamepad snapshot to read
+     * @param buttonMask GamepadSnapshot button bits
+     * @param type How the command reacts to the buttons
+     * @param command Command to run
+     * @param interruptible Whether the scheduled command is interruptible
+     */
+    public void bind(GamepadSnapshot input, int buttonMask, BindingType type, Command command, boolean interruptible) {
+        bind(() -> input.isDown(buttonMask), type, command, interruptible);
+        bindingInputs[bindingCount - 1] = input;
+        bindingMasks[bindingCount - 1] = buttonMask;
+    }
+
+    /**
+     * Schedule a command when the gamepad buttons are pressed.
+     */
+    public void whenPressed(GamepadSnapshot input, int buttonMask, Command command) {
+        bind(input, buttonMask, BindingType.WHEN_PRESSED, command, true);
+    }
+
+    /**
+     * Schedule a command when the gamepad buttons are released.
+     */
+    public void whenReleased(GamepadSnapshot input, int buttonMask, Command command) {
+        bind(input, buttonMask, BindingType.WHEN_RELEASED, command, true);
+    }
+
+    /**
+     * Keep a command scheduled while the gamepad buttons are held.
+     */
+    public void whileHeld(GamepadSnapshot input, int buttonMask, Command command) {
+        bind(input, buttonMask, BindingType.WHILE_HELD, command, true);
+    }
+
+    /**
+     * Schedule a command on press of the gamepad buttons and cancel it on release.
+     */
+    public void whenHeld(GamepadSnapshot input, int buttonMask, Command command) {
+        bind(input, buttonMask, BindingType.WHEN_HELD, command, true);
+    }
+
+    /**
+     * Toggle a command each time the gamepad buttons are pressed.
+     */
+    public void toggleWhenPressed(GamepadSnapshot input, int buttonMask, Command command) {
+        bind(input, buttonMask, BindingType.TOGGLE_WHEN_PRESSED, command, true);
+    }
+
+    /**
+     * Schedule a command when the condition becomes true.
+     */
+    public void whenPressed(BooleanSupplier condition, Command command) {
+        bind(condition, BindingType.WHEN_PRESSED, command, true);
+    }
+
+    /**
+     * Schedule a command when the condition becomes false.
+     */
+    public void whenReleased(BooleanSupplier condition, Command command) {
+        bind(condition, BindingType.WHEN_RELEASED, command, true);
+    }
+
+    /**
+     * Keep a command scheduled while the condition is true, cancel it when released.
+     */
+    public void whileHeld(BooleanSupplier condition, Command command) {
+        bind(condition, BindingType.WHILE_HELD, command, true);
+    }
+
+    /**
+     * Schedule a command on press and cancel it on release.
+     */
+    public void whenHeld(BooleanSupplier condition, Command command) {
+        bind(condition, BindingType.WHEN_HELD, command, true);
+    }
+
+    /**
+     * Toggle a command each time the condition becomes true.
+     */
+    public void toggleWhenPressed(BooleanSupplier condition, Command command) {
+        bind(condition, BindingType.TOGGLE_WHEN_PRESSED, command, true);
+    }
+
+    /**
+     * Remove every binding.
+     */
+    public void clearBindings() {
+        for (int i = 0; i < bindingCount; i++) {
+            bindingConditions[i] = null;
+            bindingInputs[i] = null;
+            bindingCommands[i] = null;
+        }
+        bindingCount = 0;
+    }
+
+    private void pollBindings() {
+        for (int i = 0; i < bindingCount; i++) {
+            boolean pressed;
+            boolean last;
+            GamepadSnapshot input = bindingInputs[i];
+            if (input != null) {
+                // Edges come from the snapshot, no per-binding polling state
+                pressed = input.isDown(bindingMasks[i]);
+                last = input.wasDown(bindingMasks[i]);
+            } else {
+                pressed = bindingConditions[i].getAsBoolean();
+                last = bindingLastState[i];
+            }
+            Command command = bindingCommands[i];
+
+            switch (bindingTypes[i]) {
+                case WHEN_PRESSED:
+                    if (pressed && !last) {
+                        schedule(command, bindingInterruptible[i]);
+                    }
+                    break;
+                case WHEN_RELEASED:
+                    if (!pressed && last) {
+                        schedule(command, bindingInterruptible[i]);
+                    }
+                    break;
+                case WHILE_HELD:
+                    if (pressed) {
+                        schedule(command, bindingInterruptible[i]);
+                    } else if (last) {
+                        cancel(command);
+                    }
+                    break;
+                case WHEN_HELD:
+                    if (pressed && !last) {
+                        schedule(command, bindingInterruptible[i]);
+                    } else if (!pressed && last) {
+                        cancel(command);
+                    }
+                    break;
+                case TOGGLE_WHEN_PRESSED:
+                    if (pressed && !last) {
+                        if (isScheduled(command)) {
+                            cancel(command);
+                        } else {
+                            schedule(command, bindingInterruptible[i]);
+                        }
+                    }
+                    break;
+            }
+
+            bindingLastState[i] = pressed;
+        }
+    }
+
+    // ==================== Run Loop ====================
+
+    /**
+     * Run one scheduler cycle, in the same order as FTCLib:
+     * 1. Subsystem periodic() (parallel ones first, when an executor is set)
+     * 2. Bindings
+     * 3. Execute scheduled commands, ending the finished ones
+     * 4. Apply schedule/cancel requests made during step 3
+     * 5. Schedule default commands on idle subsystems
+     */
+    public void run() {
+        if (disabled) {
+            return;
+        }
+
+        // 1. Subsystem periodic, joined before anything below runs
+        if (periodicExecutor != null) {
+            periodicExecutor.runPeriodic();
+        }
+        for (int i = 0; i < subsystemCount; i++) {
+            if ((parallelMask & (1L << i)) != 0) {
+                continue;
+            }
+            long start = System.nanoTime();
+            subsystems[i].periodic();
+            trace(CommandTracer.EventType.PERIODIC, subsystems[i], start);
+        }
+
+        // 2. Bindings
+        pollBindings();
+
+        // 3. Execute, compacting finished commands out of the array in place
+        inRunLoop = true;
+        int write = 0;
+        boolean anyFinished = false;
+        for (int read = 0; read < scheduledCount; read++) {
+            Command command = scheduled[read];
+
+            long start = System.nanoTime();
+            command.execute();
+            trace(CommandTracer.EventType.EXECUTE, command, start);
+
+            if (command.isFinished()) {
+                start = System.nanoTime();
+                command.end(false);
+                trace(CommandTracer.EventType.FINISH, command, start);
+                anyFinished = true;
+                continue;
+            }
+
+            scheduled[write] = command;
+            scheduledMasks[write] = scheduledMasks[read];
+            scheduledInterruptible[write] = scheduledInterruptible[read];
+            write++;
+        }
+        for (int i = write; i < scheduledCount; i++) {
+            scheduled[i] = null;
+        }
+        scheduledCount = write;
+        if (anyFinished) {
+            recomputeRequiredMask();
+        }
+        inRunLoop = false;
+
+        // 4. Deferred requests
+        for (int i = 0; i < pendingScheduleCount; i++) {
+            schedule(pendingSchedule[i], pendingInterruptible[i]);
+            pendingSchedule[i] = null;
+        }
+        pendingScheduleCount = 0;
+        for (int i = 0; i < pendingCancelCount; i++) {
+            cancel(pendingCancel[i]);
+            pendingCancel[i] = null;
+        }
+        pendingCancelCount = 0;
+
+        // 5. Default commands
+        for (int i = 0; i < subsystemCount; i++) {
+            if (defaultCommands[i] != null && (requiredMask & (1L << i)) == 0) {
+                schedule(defaultCommands[i], true);
+            }
+        }
+    }
+
+    // ==================== Control ====================
+
+    /**
+     * Stop running commands and subsystems until {@link #enable()} is called.
+     */
+    public void disable() {
+        disabled = true;
+    }
+
+    /**
+     * Resume running after {@link #disable()}.
+     */
+    public void enable() {
+        disabled = false;
+    }
+
+    /**
+     * Forget all subsystems, commands and bindings without ending commands.
+     */
+    public void reset() {
+        for (int i = 0; i < subsystemCount; i++) {
+            subsystems[i] = null;
+            defaultCommands[i] = null;
+        }
+        subsystemCount = 0;
+        for (int i = 0; i < scheduledCount; i++) {
+            scheduled[i] = null;
+        }
+        scheduledCount = 0;
+        requiredMask = 0;
+        pendingScheduleCount = 0;
+        pendingCancelCount = 0;
+        requirementMasks.clear();
+        clearBindings();
+        disabled = false;
+        setPeriodicExecutor(null);
+    }
+
+    // ==================== Parallel Periodic ====================
+
+    /**
+     * Run the periodic() of the executor's subsystems on its thread pool.
+     * Subsystems not added to the executor keep running serially afterwards.
+     * The scheduler takes ownership and shuts the executor down on reset.
+     *
+     * @param executor A built executor, or null to run everything serially
+     * @throws IllegalStateException if the executor's build() has not been called
+     */
+    public void setPeriodicExecutor(ParallelPeriodicExecutor executor) {
+        if (executor != null && !executor.isBuilt()) {
+            throw new IllegalStateException("build() not called on the periodic executor");
+        }
+        if (periodicExecutor != null && periodicExecutor != executor) {
+            periodicExecutor.shutdown();
+        }
+        periodicExecutor = executor;
+        parallelMask = 0;
+        if (executor != null) {
+            for (int i = 0; i < subsystemCount; i++) {
+                if (executor.contains(subsystems[i])) {
+                    parallelMask |= 1L << i;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The parallel periodic executor, or null if none
+     */
+    public ParallelPeriodicExecutor getPeriodicExecutor() {
+        return periodicExecutor;
+    }
+
+    // ==================== Tracing ====================
+
+    /**
+     * Attach a tracer. Every command and periodic() call is timed exactly.
+     * Do NOT call {@link CommandTracer#install()} for this scheduler.
+     *
+     * @param tracer Tracer to record into, or null to disable tracing
+     */
+    public void setTracer(CommandTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    private void trace(CommandTracer.EventType type, Object source, long startNanos) {
+        if (tracer != null) {
+            long now = System.nanoTime();
+            tracer.record(type, source, now, now - startNanos);
+        }
+    }
+}
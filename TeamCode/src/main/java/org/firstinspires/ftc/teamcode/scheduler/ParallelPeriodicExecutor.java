@@ -0,0 +1,404 @@
+package org.firstinspires.ftc.teamcode.scheduler;
+
+import com.arcrobotics.ftclib.command.Subsystem;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs subsystem periodic() methods on a small fixed thread pool.
+ *
+ * Many periodic() methods spend their time waiting on independent I2C/USB
+ * devices, so running them side by side shortens the loop. Subsystems
+ * declare which other subsystems they read data from (e.g. vision fusion
+ * reads odometry), and these dependencies form a DAG. The DAG is split into
+ * levels once, at {@link #build()}:
+ * - Level 0 holds subsystems without dependencies
+ * - Level N holds subsystems whose dependencies are all in levels below N
+ *
+ * Each level runs in parallel and fully joins before the next one starts,
+ * and the last level joins before any command executes. Subsystems in the
+ * same level never depend on each other, so the results are the same as a
+ * serial run in level order.
+ *
+ * Threads are started once and reused; runPeriodic() does not allocate.
+ *
+ * Usage:
+ * <pre>
+ * ParallelPeriodicExecutor executor = new ParallelPeriodicExecutor(2);
+ * executor.add(driveSubsystem);
+ * executor.add(intakeSubsystem);
+ * executor.add(visionSubsystem, driveSubsystem); // vision runs after drive
+ * executor.build();
+ * scheduler.setPeriodicExecutor(executor);
+ * </pre>
+ */
+public class ParallelPeriodicExecutor {
+
+    // ==================== Task Graph ====================
+
+    private final List<Subsystem> pendingSubsystems = new ArrayList<>();
+    private final List<Subsystem[]> pendingDependencies = new ArrayList<>();
+
+    // Filled by build(): tasks sorted by level, levelStart has levelCount + 1 entries
+    private Subsystem[] tasks;
+    private int[] levelStart;
+    private int levelCount;
+
+    // ==================== Workers ====================
+
+    private final Thread[] workers;
+    private final Object wakeLock = new Object();
+    private final Object doneLock = new Object();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private AtomicIntegerArray claimStamps;
+    private volatile boolean running;
+
+    // Current dispatch, guarded by wakeLock
+    private int generation;
+    private int dispatchId;
+    private int dispatchStart;
+    private int dispatchEnd;
+
+    // ==================== Results ====================
+
+    private Throwable[] errors;
+    private long[] taskNanos;
+    private long lastWallNanos;
+    private long lastSerialNanos;
+    private double averageSavedNanos;
+    private boolean parallelEnabled = true;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a new executor. The calling (OpMode) thread also runs tasks,
+     * so the effective parallelism is threadCount + 1.
+     *
+     * @param threadCount Number of worker threads (1-3 is plenty on a Control Hub)
+     */
+    public ParallelPeriodicExecutor(int threadCount) {
+        workers = new Thread[threadCount];
+    }
+
+    // ==================== Graph Construction ====================
+
+    /**
+     * Add a subsystem whose periodic() should run on the pool.
+     *
+     * @param subsystem The subsystem
+     * @param dependsOn Subsystems whose periodic() must finish first
+     */
+    public void add(Subsystem subsystem, Subsystem... dependsOn) {
+        if (tasks != null) {
+            throw new IllegalStateException("Cannot add subsystems after build()");
+        }
+        pendingSubsystems.add(subsystem);
+        pendingDependencies.add(dependsOn);
+    }
+
+    /**
+     * Sort the subsystems into dependency levels and start the worker threads.
+     *
+     * @throws IllegalStateException if the dependencies contain a cycle or
+     *                               reference a subsystem that was not added
+     */
+    public void build() {
+        int count = pendingSubsystems.size();
+        int[] level = new int[count];
+        boolean[] resolved = new boolean[count];
+
+        // Longest-path layering: repeat until every subsystem has a level
+        int resolvedCount = 0;
+        int maxLevel = 0;
+        while (resolvedCount < count) {
+            boolean progress = false;
+            for (int i = 0; i < count; i++) {
+                if (resolved[i]) {
+                    continue;
+                }
+                int myLevel = 0;
+                boolean ready = true;
+                for (Subsystem dependency : pendingDependencies.get(i)) {
+                    int d = pendingSubsystems.indexOf(dependency);
+                    if (d < 0) {
+                        throw new IllegalStateException("Dependency of "
+                            + pendingSubsystems.get(i).getClass().getSimpleName()
+                            + " was not added to the executor");
+                    }
+                    if (!resolved[d]) {
+                        ready = false;
+                        break;
+                    }
+                    myLevel = Math.max(myLevel, level[d] + 1);
+                }
+                if (ready) {
+                    level[i] = myLevel;
+                    resolved[i] = true;
+                    resolvedCount++;
+                    maxLevel = Math.max(maxLevel, myLevel);
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                throw new IllegalStateException("Subsystem dependencies contain a cycle");
+            }
+        }
+
+        // Lay out tasks level by level, keeping insertion order within a level
+        levelCount = count == 0 ? 0 : maxLevel + 1;
+        tasks = new Subsystem[count];
+        levelStart = new int[levelCount + 1];
+        int next = 0;
+        for (int l = 0; l < levelCount; l++) {
+            levelStart[l] = next;
+            for (int i = 0; i < count; i++) {
+                if (level[i] == l) {
+                    tasks[next++] = pendingSubsystems.get(i);
+                }
+            }
+        }
+        levelStart[levelCount] = next;
+
+        errors = new Throwable[count];
+        taskNanos = new long[count];
+        claimStamps = new AtomicIntegerArray(count);
+
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::workerLoop, "PeriodicWorker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * @return true once {@link #build()} has been called
+     */
+    public boolean isBuilt() {
+        return tasks != null;
+    }
+
+    /**
+     * @param subsystem The subsystem
+     * @return true if the subsystem's periodic() is run by this executor
+     * @throws IllegalStateException if build() has not been called
+     */
+    public boolean contains(Subsystem subsystem) {
+        if (tasks == null) {
+            throw new IllegalStateException("build() not called");
+        }
+        for (Subsystem task : tasks) {
+            if (task == subsystem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== Execution ====================
+
+    /**
+     * Run every subsystem's periodic(), level by level, and wait for all of them.
+     * Exceptions thrown by a periodic() are rethrown here, on the calling thread.
+     */
+    public void runPeriodic() {
+        long start = System.nanoTime();
+
+        for (int l = 0; l < levelCount; l++) {
+            int first = levelStart[l];
+            int end = levelStart[l + 1];
+
+            if (!parallelEnabled || end - first == 1 || workers.length == 0) {
+                // Nothing to overlap, skip the thread handoff
+                for (int i = first; i < end; i++) {
+                    runTask(i);
+                }
+            } else {
+                int id;
+                remaining.set(end - first);
+                synchronized (wakeLock) {
+                    id = ++dispatchId;
+                    dispatchStart = first;
+                    dispatchEnd = end;
+                    generation++;
+                    wakeLock.notifyAll();
+                }
+                claimAndRun(first, end, id);
+                awaitLevel();
+            }
+            rethrowErrors(first, end);
+        }
+
+        lastWallNanos = System.nanoTime() - start;
+        long serial = 0;
+        for (long nanos : taskNanos) {
+            serial += nanos;
+        }
+        lastSerialNanos = serial;
+        averageSavedNanos = 0.95 * averageSavedNanos + 0.05 * (serial - lastWallNanos);
+    }
+
+    /**
+     * Claim unclaimed tasks of a dispatch and run them. A task is claimed by
+     * moving its stamp forward to the dispatch id, so a worker that wakes
+     * late for an old dispatch can never claim a task of a newer one.
+     */
+    private void claimAndRun(int first, int end, int id) {
+        for (int i = first; i < end; i++) {
+            int stamp = claimStamps.get(i);
+            if (stamp - id < 0 && claimStamps.compareAndSet(i, stamp, id)) {
+                runTask(i);
+                if (remaining.decrementAndGet() == 0) {
+                    synchronized (doneLock) {
+                        doneLock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private void runTask(int index) {
+        long start = System.nanoTime();
+        try {
+            tasks[index].periodic();
+        } catch (Throwable t) {
+            errors[index] = t;
+        }
+        taskNanos[index] = System.nanoTime() - start;
+    }
+
+    private void awaitLevel() {
+        boolean interrupted = false;
+        synchronized (doneLock) {
+            while (remaining.get() > 0) {
+                try {
+                    doneLock.wait();
+                } catch (InterruptedException e) {
+                    // Never leave tasks running behind the caller's back
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rethrowErrors(int first, int end) {
+        for (int i = first; i < end; i++) {
+            Throwable error = errors[i];
+            if (error == null) {
+                continue;
+            }
+            errors[i] = null;
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            throw new RuntimeException(error);
+        }
+    }
+
+    private void workerLoop() {
+        int seenGeneration = 0;
+        while (true) {
+            int id;
+            int first;
+            int end;
+            synchronized (wakeLock) {
+                while (running && generation == seenGeneration) {
+                    try {
+                        wakeLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                seenGeneration = generation;
+                id = dispatchId;
+                first = dispatchStart;
+                end = dispatchEnd;
+            }
+            claimAndRun(first, end, id);
+        }
+    }
+
+    // ==================== Control ====================
+
+    /**
+     * Run everything serially on the calling thread (same level order).
+     * Useful for A/B timing against the parallel mode.
+     *
+     * @param enabled true to run levels in parallel
+     */
+    public void setParallelEnabled(boolean enabled) {
+        this.parallelEnabled = enabled;
+    }
+
+    /**
+     * @return true if levels run in parallel
+     */
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    /**
+     * Stop the worker threads. The executor cannot be used afterwards.
+     */
+    public void shutdown() {
+        synchronized (wakeLock) {
+            running = false;
+            wakeLock.notifyAll();
+        }
+    }
+
+    // ==================== Timing ====================
+
+    /**
+     * @return Wall time of the last runPeriodic() in nanoseconds
+     */
+    public long getLastWallNanos() {
+        return lastWallNanos;
+    }
+
+    /**
+     * @return Sum of all periodic() times of the last run, i.e. the serial cost
+     */
+    public long getLastSerialNanos() {
+        return lastSerialNanos;
+    }
+
+    /**
+     * @return Smoothed time saved per loop versus running serially, in nanoseconds
+     */
+    public double getAverageSavedNanos() {
+        return averageSavedNanos;
+    }
+
+    /**
+     * Add timing for each subsystem and the overall saving to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Periodic Mode", parallelEnabled ? "Parallel" : "Serial");
+        telemetry.addData("Periodic Wall", "%.2f ms (serial %.2f ms)",
+            lastWallNanos / 1e6, lastSerialNanos / 1e6);
+        telemetry.addData("Periodic Saved", "%.2f ms avg", averageSavedNanos / 1e6);
+        for (int l = 0; l < levelCount; l++) {
+            for (int i = levelStart[l]; i < levelStart[l + 1]; i++) {
+                telemetry.addData("L" + l + " " + tasks[i].getClass().getSimpleName(),
+                    "%.2f ms", taskNanos[i] / 1e6);
+            }
+        }
+    }
+}
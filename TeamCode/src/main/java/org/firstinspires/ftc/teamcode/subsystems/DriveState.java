@@ -0,0 +1,133 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+/**
+ * Immutable snapshot of the drive state, published once per loop by
+ * {@link MecanumDriveSubsystem#periodic()} through a {@link DriveStatePublisher}.
+ *
+ * The subsystem's own fields are only safe to read from the OpMode thread.
+ * Other threads (telemetry, logging, the web endpoint) should read
+ * {@link MecanumDriveSubsystem#getState()} instead: it returns the latest
+ * snapshot through a volatile reference, and since every field here is
+ * final, a reader always sees one complete snapshot, never a mix of two
+ * loops. Reading costs one volatile load and takes no lock.
+ *
+ * Keep the reference for as long as the values need to agree with each
+ * other; calling getState() again may return a newer snapshot.
+ */
+public final class DriveState {
+
+    /**
+     * State before the first loop: origin, not moving, sequence 0
+     */
+    public static final DriveState EMPTY = new DriveState(0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, false);
+
+    private final long sequence;
+    private final long timestampNanos;
+    private final double x;
+    private final double y;
+    private final double heading;
+    private final double velocityX;
+    private final double velocityY;
+    private final double angularVelocity;
+    private final boolean fieldCentric;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param sequence Publication count, increasing by one per snapshot
+     * @param timestampNanos System.nanoTime() of the pose sample
+     * @param x Field X (inches)
+     * @param y Field Y (inches)
+     * @param heading Field heading (radians)
+     * @param velocityX Field-frame X velocity (inches/s)
+     * @param velocityY Field-frame Y velocity (inches/s)
+     * @param angularVelocity Angular velocity (radians/s, counterclockwise positive)
+     * @param fieldCentric Whether field-centric driving is on
+     */
+    public DriveState(long sequence, long timestampNanos, double x, double y, double heading,
+                      double velocityX, double velocityY, double angularVelocity,
+                      boolean fieldCentric) {
+        this.sequence = sequence;
+        this.timestampNanos = timestampNanos;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.angularVelocity = angularVelocity;
+        this.fieldCentric = fieldCentric;
+    }
+
+    /**
+     * @return Publication count; a reader that sees the same value twice saw the same loop
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return System.nanoTime() of the pose sample
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * @return Field X (inches)
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return Field Y (inches)
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * @return Field heading (radians)
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * @return Pose as an FTCLib Pose2d (allocates)
+     */
+    public Pose2d getPose() {
+        return new Pose2d(x, y, new Rotation2d(heading));
+    }
+
+    /**
+     * @return Field-frame X velocity (inches/s)
+     */
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * @return Field-frame Y velocity (inches/s)
+     */
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * @return Angular velocity (radians/s, counterclockwise positive)
+     */
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * @return true if field-centric driving was on
+     */
+    public boolean isFieldCentric() {
+        return fieldCentric;
+    }
+}
@@ -0,0 +1,49 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Publishes {@link DriveState} snapshots from one writer thread to any
+ * number of reader threads.
+ *
+ * The writer (the OpMode thread, in MecanumDriveSubsystem.periodic())
+ * builds a new immutable snapshot, numbers it and stores it in a volatile
+ * field. Readers load that field: they get the newest complete snapshot,
+ * never a mix of two, and never block the writer. Only one thread may
+ * call {@link #publish}.
+ */
+public final class DriveStatePublisher {
+
+    private volatile DriveState latest = DriveState.EMPTY;
+    private long sequence;  // Writer thread only
+
+    /**
+     * Publish a new snapshot, numbered one past the previous one.
+     * Writer thread only.
+     *
+     * @param timestampNanos System.nanoTime() of the pose sample
+     * @param x Field X (inches)
+     * @param y Field Y (inches)
+     * @param heading Field heading (radians)
+     * @param velocityX Field-frame X velocity (inches/s)
+     * @param velocityY Field-frame Y velocity (inches/s)
+     * @param angularVelocity Angular velocity (radians/s, counterclockwise positive)
+     * @param fieldCentric Whether field-centric driving is on
+     * @return The published snapshot
+     */
+    public DriveState publish(long timestampNanos, double x, double y, double heading,
+                              double velocityX, double velocityY, double angularVelocity,
+                              boolean fieldCentric) {
+        DriveState state = new DriveState(++sequence, timestampNanos, x, y, heading,
+            velocityX, velocityY, angularVelocity, fieldCentric);
+        latest = state;
+        return state;
+    }
+
+    /**
+     * Safe from any thread.
+     *
+     * @return Latest snapshot (DriveState.EMPTY before the first publish)
+     */
+    public DriveState get() {
+        return latest;
+    }
+}
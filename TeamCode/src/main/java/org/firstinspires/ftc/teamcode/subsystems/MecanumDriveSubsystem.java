@@ -7,13 +7,27 @@ import com.arcrobotics.ftclib.geometry.Rotation2d;
 //import com.arcrobotics.ftclib.hardware.RevIMU;
 import com.arcrobotics.ftclib.hardware.motors.Motor;
 import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
 import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.IMU;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
 
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import org.firstinspires.ftc.teamcode.constants.DriveConstants;
 import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
-
-// Import for Pinpoint - adjust based on your SDK version
-// import com.qualcomm.hardware.gobilda.GoBildaPinpointDriver;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+import org.firstinspires.ftc.teamcode.localization.DriveEncoderLocalizer;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.localization.LocalizerType;
+import org.firstinspires.ftc.teamcode.localization.OctoQuadLocalizer;
+import org.firstinspires.ftc.teamcode.localization.OtosLocalizer;
+import org.firstinspires.ftc.teamcode.localization.PinpointLocalizer;
+import org.firstinspires.ftc.teamcode.localization.PoseHandoff;
+import org.firstinspires.ftc.teamcode.localization.PoseHistory;
+import org.firstinspires.ftc.teamcode.localization.SlipDetector;
+import org.firstinspires.ftc.teamcode.util.BulkReadManager;
+import org.firstinspires.ftc.teamcode.util.HardwareBootstrap;
 
 /**
  * Mecanum Drive Subsystem
@@ -22,12 +36,18 @@ import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
  * It integrates:
  * - 4 mecanum wheel motors
  * - RevIMU for field-centric driving
- * - goBILDA Pinpoint Odometry Computer for pose estimation
+ * - A configurable Localizer (Pinpoint, OTOS, OctoQuad or drive encoders) for pose estimation
  * 
  * Features:
  * - Robot-centric and field-centric driving modes
- * - Odometry tracking with Pinpoint
+ * - Starts from the pose handed off by the previous OpMode (see PoseHandoff)
+ * - Odometry tracking through the Localizer interface, with a pose history
+ *   for latency-compensating camera measurements
+ * - Wheel slip and collision detection, with traction control in drive()
+ * - Optional high-rate wheel velocity loop for driveWithFeedforward(),
+ *   see {@link #enableVelocityLoop(BulkReadManager)}
  * - Heading management with IMU
+ * - A per-loop DriveState snapshot that any thread can read, see {@link #getState()}
  */
 public class MecanumDriveSubsystem extends SubsystemBase {
     
@@ -41,16 +61,51 @@ public class MecanumDriveSubsystem extends SubsystemBase {
     private final MecanumDrive drive;
 //    private final RevIMU imu;
     
-    // Pinpoint Odometry Computer
-    // NOTE: Uncomment and use the actual Pinpoint class when available
-    // private GoBildaPinpointDriver pinpoint;
-    private Object pinpoint; // Placeholder - replace with actual type
+    // Battery voltage for feedforward (null if the hub reports none)
+    private final VoltageSensor batterySensor;
+    
+    // Odometry backend selected by OdometryConstants.LOCALIZER (null = none)
+    private final Localizer localizer;
+    
+    // Wheel vs odometry comparison (null without an independent localizer)
+    private final SlipDetector slipDetector;
+    
+    // Inner wheel velocity loop (null unless enabled)
+    private WheelVelocityLoop velocityLoop;
+    private final double[] wheelVolts = new double[4];
+    private final double[] wheelVelocities = new double[4];
     
     // ==================== State ====================
     
     private boolean fieldCentricEnabled;
     private Pose2d currentPose;
     
+    // Field heading that field-centric driving treats as forward (radians)
+    private double headingOffset;
+    private boolean startedFromHandoff;
+    
+    // Snapshot for readers on other threads, replaced once per loop
+    private final DriveStatePublisher statePublisher = new DriveStatePublisher();
+    
+    // Recent localizer poses by sample time
+    private final PoseHistory poseHistory = new PoseHistory(OdometryConstants.POSE_HISTORY_SIZE);
+    
+    // Last commands sent by drive(), for traction control
+    private double lastStrafe;
+    private double lastForward;
+    private double lastTurn;
+    private long lastDriveNanos;
+    
+    // Cached battery voltage, see DriveConstants.VOLTAGE_REFRESH_SECONDS
+    private double batteryVoltage = 12.0;
+    private long lastVoltageNanos;
+    
+    // Voltage refresh interval multiplier, raised while the loop is over budget
+    private int voltageRefreshScale = 1;
+    
+    // Half of track width plus wheel base (inches), the mecanum rotation lever arm
+    private static final double LEVER_ARM = (DriveConstants.TRACK_WIDTH + DriveConstants.WHEEL_BASE) / 2.0;
+    
     // ==================== Constructor ====================
     
     /**
@@ -59,100 +114,201 @@ public class MecanumDriveSubsystem extends SubsystemBase {
      * @param hardwareMap The hardware map from the OpMode
      */
     public MecanumDriveSubsystem(HardwareMap hardwareMap) {
-        // Initialize motors
-        frontLeft = new MotorEx(hardwareMap, DriveConstants.FRONT_LEFT_MOTOR);
-        frontRight = new MotorEx(hardwareMap, DriveConstants.FRONT_RIGHT_MOTOR);
-        backLeft = new MotorEx(hardwareMap, DriveConstants.BACK_LEFT_MOTOR);
-        backRight = new MotorEx(hardwareMap, DriveConstants.BACK_RIGHT_MOTOR);
-        
-        // Configure motors
-        configureMotors();
-        
-        // Create mecanum drive
-        drive = new MecanumDrive(frontLeft, frontRight, backLeft, backRight);
-        
-        // Initialize IMU
-//        imu = new RevIMU(hardwareMap, OdometryConstants.IMU_NAME);
-//        imu.init();
-        
-        // Initialize Pinpoint
-        initializePinpoint(hardwareMap);
-        
-        // Set initial state
-        fieldCentricEnabled = DriveConstants.DEFAULT_FIELD_CENTRIC;
-        currentPose = new Pose2d(
-            OdometryConstants.INITIAL_POSE_X,
-            OdometryConstants.INITIAL_POSE_Y,
-            new Rotation2d(Math.toRadians(OdometryConstants.INITIAL_HEADING))
-        );
+        this(new HardwareBootstrap(hardwareMap), true);
+    }
+    
+    /**
+     * Creates a new MecanumDriveSubsystem, initializing its devices
+     * concurrently through a shared bootstrap.
+     * 
+     * The caller owns the bootstrap and should call finish() on it once
+     * every subsystem has been created.
+     * 
+     * @param bootstrap Hardware bootstrap shared by the OpMode's subsystems
+     */
+    public MecanumDriveSubsystem(HardwareBootstrap bootstrap) {
+        this(bootstrap, false);
+    }
+    
+    private MecanumDriveSubsystem(HardwareBootstrap bootstrap, boolean ownsBootstrap) {
+        try {
+            HardwareMap hardwareMap = bootstrap.getHardwareMap();
+            
+            // Look up and configure every device concurrently
+            HardwareBootstrap.Device<MotorEx> frontLeftInit = bootstrap.submit(
+                DriveConstants.FRONT_LEFT_MOTOR,
+                () -> createMotor(hardwareMap, DriveConstants.FRONT_LEFT_MOTOR, DriveConstants.INVERT_FRONT_LEFT));
+            HardwareBootstrap.Device<MotorEx> frontRightInit = bootstrap.submit(
+                DriveConstants.FRONT_RIGHT_MOTOR,
+                () -> createMotor(hardwareMap, DriveConstants.FRONT_RIGHT_MOTOR, DriveConstants.INVERT_FRONT_RIGHT));
+            HardwareBootstrap.Device<MotorEx> backLeftInit = bootstrap.submit(
+                DriveConstants.BACK_LEFT_MOTOR,
+                () -> createMotor(hardwareMap, DriveConstants.BACK_LEFT_MOTOR, DriveConstants.INVERT_BACK_LEFT));
+            HardwareBootstrap.Device<MotorEx> backRightInit = bootstrap.submit(
+                DriveConstants.BACK_RIGHT_MOTOR,
+                () -> createMotor(hardwareMap, DriveConstants.BACK_RIGHT_MOTOR, DriveConstants.INVERT_BACK_RIGHT));
+            HardwareBootstrap.Device<Localizer> localizerInit = bootstrap.submit(
+                OdometryConstants.LOCALIZER.name(),
+                () -> initializeLocalizer(hardwareMap));
+            
+            // Wait for this subsystem's devices
+            frontLeft = frontLeftInit.get();
+            frontRight = frontRightInit.get();
+            backLeft = backLeftInit.get();
+            backRight = backRightInit.get();
+            localizer = selectLocalizer(localizerInit.get());
+            slipDetector = DriveConstants.ENABLE_SLIP_DETECTION
+                    && localizer != null && !(localizer instanceof DriveEncoderLocalizer)
+                ? new SlipDetector() : null;
+            
+            // Create mecanum drive
+            drive = new MecanumDrive(frontLeft, frontRight, backLeft, backRight);
+            batterySensor = hardwareMap.voltageSensor.iterator().hasNext()
+                ? hardwareMap.voltageSensor.iterator().next() : null;
+            
+            // Initialize IMU
+//            imu = new RevIMU(hardwareMap, OdometryConstants.IMU_NAME);
+//            imu.init();
+            
+            // Set initial state
+            fieldCentricEnabled = DriveConstants.DEFAULT_FIELD_CENTRIC;
+            currentPose = new Pose2d(
+                OdometryConstants.INITIAL_POSE_X,
+                OdometryConstants.INITIAL_POSE_Y,
+                new Rotation2d(Math.toRadians(OdometryConstants.INITIAL_HEADING))
+            );
+            headingOffset = Math.toRadians(OdometryConstants.INITIAL_HEADING);
+            seedFromHandoff();
+            
+            // Report device failures if nobody else shares the bootstrap
+            if (ownsBootstrap) {
+                bootstrap.finish();
+            }
+        } finally {
+            // Stop the init threads even if a device or the setup above failed
+            if (ownsBootstrap) {
+                bootstrap.close();
+            }
+        }
     }
     
     // ==================== Configuration ====================
     
     /**
-     * Configure motor properties (inversion, zero power behavior, etc.)
+     * Look up a drive motor and configure its properties (inversion, zero power behavior, etc.)
+     * Each motor is independent, so this runs concurrently for all four.
+     * 
+     * @param hardwareMap The hardware map
+     * @param name Motor name in the Robot Controller configuration
+     * @param inverted Whether the motor runs in reverse
+     * @return The configured motor
      */
-    private void configureMotors() {
-        // Set motor inversions
-        frontLeft.setInverted(DriveConstants.INVERT_FRONT_LEFT);
-        frontRight.setInverted(DriveConstants.INVERT_FRONT_RIGHT);
-        backLeft.setInverted(DriveConstants.INVERT_BACK_LEFT);
-        backRight.setInverted(DriveConstants.INVERT_BACK_RIGHT);
+    private static MotorEx createMotor(HardwareMap hardwareMap, String name, boolean inverted) {
+        MotorEx motor = new MotorEx(hardwareMap, name);
+        
+        // Set motor inversion
+        motor.setInverted(inverted);
         
         // Set zero power behavior to brake for better control
-        frontLeft.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
-        frontRight.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
-        backLeft.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
-        backRight.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
+        motor.setZeroPowerBehavior(Motor.ZeroPowerBehavior.BRAKE);
+        
+        // Reset encoder
+        motor.resetEncoder();
         
-        // Reset encoders
-        frontLeft.resetEncoder();
-        frontRight.resetEncoder();
-        backLeft.resetEncoder();
-        backRight.resetEncoder();
+        return motor;
     }
     
     /**
-     * Initialize the Pinpoint Odometry Computer.
+     * Initialize the configured odometry device.
+     * Drive encoders need the motors, so they are set up in selectLocalizer().
      * 
      * @param hardwareMap The hardware map
+     * @return The localizer, or null if none is configured or it failed
      */
-    private void initializePinpoint(HardwareMap hardwareMap) {
-        if (!OdometryConstants.USE_PINPOINT) {
-            return;
-        }
-        
+    private Localizer initializeLocalizer(HardwareMap hardwareMap) {
         try {
-            // TODO: Initialize Pinpoint when you have the correct library
-            // Example initialization (adjust based on actual API):
-            /*
-            pinpoint = hardwareMap.get(GoBildaPinpointDriver.class, OdometryConstants.PINPOINT_NAME);
-            
-            // Set pod offsets (in millimeters)
-            pinpoint.setOffsets(
-                OdometryConstants.X_OFFSET_MM,
-                OdometryConstants.Y_OFFSET_MM
-            );
-            
-            // Set encoder resolution
-            pinpoint.setEncoderResolution(OdometryConstants.TICKS_PER_MM);
-            
-            // Set encoder directions (adjust based on your setup)
-            pinpoint.setEncoderDirections(
-                GoBildaPinpointDriver.EncoderDirection.FORWARD,
-                GoBildaPinpointDriver.EncoderDirection.FORWARD
-            );
-            
-            // Reset position
-            pinpoint.resetPosAndIMU();
-            */
-            
+            switch (OdometryConstants.LOCALIZER) {
+                case PINPOINT:
+                    return new PinpointLocalizer(hardwareMap);
+                case OTOS:
+                    return new OtosLocalizer(hardwareMap);
+                case OCTOQUAD:
+                    if (OdometryConstants.OCTOQUAD_USE_IMU_HEADING) {
+                        // Two dead wheels plus IMU heading
+                        IMU imu = initializeImu(hardwareMap);
+                        return new OctoQuadLocalizer(hardwareMap,
+                            () -> imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS));
+                    }
+                    return new OctoQuadLocalizer(hardwareMap);
+                default:
+                    return null;
+            }
         } catch (Exception e) {
-            // If Pinpoint initialization fails, log it
+            // If initialization fails, log it
             // The subsystem will still work without odometry
-            System.err.println("Failed to initialize Pinpoint: " + e.getMessage());
-            pinpoint = null;
+            System.err.println("Failed to initialize " + OdometryConstants.LOCALIZER + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Initialize the IMU for localizers that fuse its heading.
+     * 
+     * @param hardwareMap The hardware map
+     * @return The IMU, with yaw zeroed
+     * @throws IllegalStateException if the IMU is missing or fails to initialize
+     */
+    private static IMU initializeImu(HardwareMap hardwareMap) {
+        IMU imu = hardwareMap.tryGet(IMU.class, OdometryConstants.IMU_NAME);
+        if (imu == null) {
+            throw new IllegalStateException("no IMU named \"" + OdometryConstants.IMU_NAME + "\"");
+        }
+        boolean initialized = imu.initialize(new IMU.Parameters(new RevHubOrientationOnRobot(
+            OdometryConstants.IMU_LOGO_DIRECTION, OdometryConstants.IMU_USB_DIRECTION)));
+        if (!initialized) {
+            throw new IllegalStateException("IMU failed to initialize");
         }
+        imu.resetYaw();
+        return imu;
+    }
+    
+    /**
+     * Pick the localizer once the motors are ready, falling back to the
+     * drive encoders if configured.
+     * 
+     * @param deviceLocalizer Result of initializeLocalizer()
+     * @return The localizer to use, or null for no odometry
+     */
+    private Localizer selectLocalizer(Localizer deviceLocalizer) {
+        if (deviceLocalizer != null) {
+            return deviceLocalizer;
+        }
+        boolean deviceFailed = OdometryConstants.LOCALIZER != LocalizerType.NONE
+            && OdometryConstants.LOCALIZER != LocalizerType.DRIVE_ENCODERS;
+        if (OdometryConstants.LOCALIZER == LocalizerType.DRIVE_ENCODERS
+                || (deviceFailed && OdometryConstants.ENABLE_MOTOR_ENCODER_FALLBACK)) {
+            return new DriveEncoderLocalizer(frontLeft, frontRight, backLeft, backRight);
+        }
+        return null;
+    }
+    
+    /**
+     * Continue from the pose the previous OpMode published, if it is
+     * valid for this session. Autonomous OpModes reset odometry to their
+     * start pose afterwards anyway.
+     */
+    private void seedFromHandoff() {
+        if (!OdometryConstants.ENABLE_POSE_HANDOFF || localizer == null) {
+            return;
+        }
+        PoseHandoff handoff = PoseHandoff.load();
+        if (handoff == null) {
+            return;
+        }
+        resetOdometry(handoff.getPose());
+        headingOffset = handoff.getHeadingOffset();
+        startedFromHandoff = true;
+        System.out.println("Drive starting from pose handoff " + handoff);
     }
     
     // ==================== Drive Methods ====================
@@ -162,9 +318,25 @@ public class MecanumDriveSubsystem extends SubsystemBase {
      * 
      * @param strafeSpeed Speed for lateral movement (-1.0 to 1.0, left negative)
      * @param forwardSpeed Speed for forward/backward movement (-1.0 to 1.0, backward negative)
-     * @param turnSpeed Speed for rotation (-1.0 to 1.0, counterclockwise positive)
+     * @param turnSpeed Speed for rotation (-1.0 to 1.0, clockwise positive, as
+     *                  FTCLib's MecanumDrive adds it to the left wheels)
      */
     public void drive(double strafeSpeed, double forwardSpeed, double turnSpeed) {
+        long now = System.nanoTime();
+        if (DriveConstants.ENABLE_TRACTION_CONTROL && slipDetector != null
+                && slipDetector.isTractionLimited()) {
+            // Slipping: let commands shrink freely but grow only gradually
+            double maxStep = DriveConstants.TRACTION_SLEW_RATE
+                * Math.min((now - lastDriveNanos) / 1e9, 0.1);
+            strafeSpeed = limitGrowth(lastStrafe, strafeSpeed, maxStep);
+            forwardSpeed = limitGrowth(lastForward, forwardSpeed, maxStep);
+            turnSpeed = limitGrowth(lastTurn, turnSpeed, maxStep);
+        }
+        lastStrafe = strafeSpeed;
+        lastForward = forwardSpeed;
+        lastTurn = turnSpeed;
+        lastDriveNanos = now;
+        
         if (fieldCentricEnabled) {
             driveFieldCentric(strafeSpeed, forwardSpeed, turnSpeed);
         } else {
@@ -172,6 +344,18 @@ public class MecanumDriveSubsystem extends SubsystemBase {
         }
     }
     
+    /**
+     * @return target, or the closest value within maxStep of last if target
+     *         would increase the command's magnitude
+     */
+    private static double limitGrowth(double last, double target, double maxStep) {
+        boolean slowingDown = Math.abs(target) <= Math.abs(last) && last * target >= 0;
+        if (slowingDown) {
+            return target;
+        }
+        return Math.max(last - maxStep, Math.min(last + maxStep, target));
+    }
+    
     /**
      * Drive the robot in robot-centric mode.
      * Movement is relative to the robot's orientation.
@@ -181,11 +365,12 @@ public class MecanumDriveSubsystem extends SubsystemBase {
      * @param turnSpeed Rotational speed
      */
     public void driveRobotCentric(double strafeSpeed, double forwardSpeed, double turnSpeed) {
+        releaseVelocityLoop();
         drive.driveRobotCentric(
             strafeSpeed,
             forwardSpeed,
             turnSpeed,
-            DriveConstants.SQUARE_INPUTS
+            TunableConstants.SQUARE_INPUTS.get()
         );
     }
     
@@ -198,22 +383,189 @@ public class MecanumDriveSubsystem extends SubsystemBase {
      * @param turnSpeed Rotational speed
      */
     public void driveFieldCentric(double strafeSpeed, double forwardSpeed, double turnSpeed) {
+        releaseVelocityLoop();
         drive.driveFieldCentric(
             strafeSpeed,
             forwardSpeed,
             turnSpeed,
             getHeading(), // Pass heading in degrees
-            DriveConstants.SQUARE_INPUTS
+            TunableConstants.SQUARE_INPUTS.get()
         );
     }
     
+    /**
+     * Set each motor's power directly, bypassing mecanum mixing.
+     * Used by characterization and other low-level tests.
+     * 
+     * @param frontLeftPower Front left power (-1.0 to 1.0)
+     * @param frontRightPower Front right power (-1.0 to 1.0)
+     * @param backLeftPower Back left power (-1.0 to 1.0)
+     * @param backRightPower Back right power (-1.0 to 1.0)
+     */
+    public void setMotorPowers(double frontLeftPower, double frontRightPower,
+                               double backLeftPower, double backRightPower) {
+        releaseVelocityLoop();
+        frontLeft.set(frontLeftPower);
+        frontRight.set(frontRightPower);
+        backLeft.set(backLeftPower);
+        backRight.set(backRightPower);
+    }
+    
+    /**
+     * Drive at a robot-frame velocity using the characterized feedforward
+     * model (DriveConstants FORWARD_, STRAFE_ and ROTATE_ gains), scaled by
+     * the battery voltage. Used by autonomous followers.
+     * 
+     * With the velocity loop enabled, the wheel voltages become that loop's
+     * feedforward and it corrects each wheel's velocity at its own rate.
+     * 
+     * @param forwardVelocity Forward velocity (inches/s)
+     * @param strafeVelocity Leftward velocity (inches/s)
+     * @param angularVelocity Angular velocity (radians/s, counterclockwise positive)
+     * @param forwardAccel Forward acceleration (inches/s²)
+     * @param strafeAccel Leftward acceleration (inches/s²)
+     * @param angularAccel Angular acceleration (radians/s²)
+     */
+    public void driveWithFeedforward(double forwardVelocity, double strafeVelocity, double angularVelocity,
+                                     double forwardAccel, double strafeAccel, double angularAccel) {
+        double rotateVelocity = angularVelocity * LEVER_ARM;
+        double forward = DriveConstants.FORWARD_KV * forwardVelocity + DriveConstants.FORWARD_KA * forwardAccel;
+        double strafe = DriveConstants.STRAFE_KV * strafeVelocity + DriveConstants.STRAFE_KA * strafeAccel;
+        double rotate = DriveConstants.ROTATE_KV * rotateVelocity
+            + DriveConstants.ROTATE_KA * angularAccel * LEVER_ARM;
+        
+        // Static friction, weighted by how much each direction contributes
+        double total = Math.abs(forwardVelocity) + Math.abs(strafeVelocity) + Math.abs(rotateVelocity);
+        double staticVolts = total > 1e-6
+            ? (DriveConstants.FORWARD_KS * Math.abs(forwardVelocity)
+                + DriveConstants.STRAFE_KS * Math.abs(strafeVelocity)
+                + DriveConstants.ROTATE_KS * Math.abs(rotateVelocity)) / total
+            : 0.0;
+        
+        // Wheel voltages with the mecanum sign pattern (X roller pattern)
+        double frontLeftVolts = forward - strafe - rotate
+            + staticVolts * Math.signum(forwardVelocity - strafeVelocity - rotateVelocity);
+        double frontRightVolts = forward + strafe + rotate
+            + staticVolts * Math.signum(forwardVelocity + strafeVelocity + rotateVelocity);
+        double backLeftVolts = forward + strafe - rotate
+            + staticVolts * Math.signum(forwardVelocity + strafeVelocity - rotateVelocity);
+        double backRightVolts = forward - strafe + rotate
+            + staticVolts * Math.signum(forwardVelocity - strafeVelocity + rotateVelocity);
+        
+        // Scale down together if any wheel saturates, keeping the direction
+        double voltage = getBatteryVoltage();
+        double max = Math.max(
+            Math.max(Math.abs(frontLeftVolts), Math.abs(frontRightVolts)),
+            Math.max(Math.abs(backLeftVolts), Math.abs(backRightVolts)));
+        double scale = max > voltage ? 1.0 / max : 1.0 / voltage;
+        
+        if (velocityLoop != null && velocityLoop.isRunning()) {
+            // Targets shrink with the voltages so feedback does not fight saturation
+            double targetScale = scale * voltage;
+            wheelVolts[0] = frontLeftVolts * targetScale;
+            wheelVolts[1] = frontRightVolts * targetScale;
+            wheelVolts[2] = backLeftVolts * targetScale;
+            wheelVolts[3] = backRightVolts * targetScale;
+            wheelVelocities[0] = (forwardVelocity - strafeVelocity - rotateVelocity) * targetScale;
+            wheelVelocities[1] = (forwardVelocity + strafeVelocity + rotateVelocity) * targetScale;
+            wheelVelocities[2] = (forwardVelocity + strafeVelocity - rotateVelocity) * targetScale;
+            wheelVelocities[3] = (forwardVelocity - strafeVelocity + rotateVelocity) * targetScale;
+            velocityLoop.setSetpoint(wheelVolts, wheelVelocities, voltage);
+            return;
+        }
+        setMotorPowers(frontLeftVolts * scale, frontRightVolts * scale,
+            backLeftVolts * scale, backRightVolts * scale);
+    }
+    
+    /**
+     * Get the battery voltage, re-read at most every
+     * DriveConstants.VOLTAGE_REFRESH_SECONDS.
+     * 
+     * @return Battery voltage (volts)
+     */
+    public double getBatteryVoltage() {
+        long now = System.nanoTime();
+        if (batterySensor != null
+                && (now - lastVoltageNanos) / 1e9 >= DriveConstants.VOLTAGE_REFRESH_SECONDS * voltageRefreshScale) {
+            double reading = batterySensor.getVoltage();
+            if (reading > 1.0) {
+                batteryVoltage = reading;
+            }
+            lastVoltageNanos = now;
+        }
+        return batteryVoltage;
+    }
+    
+    /**
+     * Re-read the battery voltage less often to shorten the loop. Odometry,
+     * slip detection and drive output are not affected.
+     * 
+     * @param scale Multiplier on DriveConstants.VOLTAGE_REFRESH_SECONDS (1 = normal)
+     */
+    public void setVoltageRefreshScale(int scale) {
+        this.voltageRefreshScale = Math.max(1, scale);
+    }
+    
     /**
      * Stop all motors.
      */
     public void stop() {
+        releaseVelocityLoop();
         drive.stop();
     }
     
+    // ==================== Velocity Loop ====================
+    
+    /**
+     * Run the wheel velocity controllers on a dedicated thread at
+     * DriveConstants.VELOCITY_LOOP_PERIOD. Only driveWithFeedforward() uses
+     * it; every other drive method takes the motors back first.
+     * The thread stops by itself when bulkReads is shut down, which
+     * FastCommandOpMode does when the OpMode ends.
+     * 
+     * @param bulkReads The OpMode's bulk read manager, to find the drive hub
+     * @return true if the loop is running
+     */
+    public boolean enableVelocityLoop(BulkReadManager bulkReads) {
+        if (velocityLoop != null && velocityLoop.isRunning()) {
+            return true;
+        }
+        for (int i = 0; i < bulkReads.getHubCount(); i++) {
+            LynxModule hub = bulkReads.getHub(i);
+            if (hub.isParent() == DriveConstants.DRIVE_MOTORS_ON_CONTROL_HUB) {
+                velocityLoop = new WheelVelocityLoop(bulkReads, hub, frontLeft, frontRight, backLeft, backRight);
+                velocityLoop.start();
+                return true;
+            }
+        }
+        System.err.println("MecanumDriveSubsystem: drive hub not found, velocity loop disabled");
+        return false;
+    }
+    
+    /**
+     * Stop the velocity loop thread, if running, and stop the motors.
+     */
+    public void disableVelocityLoop() {
+        if (velocityLoop != null) {
+            velocityLoop.stop();
+            velocityLoop = null;
+            drive.stop();
+        }
+    }
+    
+    /**
+     * @return The velocity loop, or null if not enabled
+     */
+    public WheelVelocityLoop getVelocityLoop() {
+        return velocityLoop;
+    }
+    
+    private void releaseVelocityLoop() {
+        if (velocityLoop != null) {
+            velocityLoop.release();
+        }
+    }
+    
     // ==================== Field-Centric Control ====================
     
     /**
@@ -234,6 +586,7 @@ public class MecanumDriveSubsystem extends SubsystemBase {
     
     /**
      * Check if field-centric mode is enabled.
+     * OpMode thread only; other threads should use getState().
      * 
      * @return true if field-centric, false if robot-centric
      */
@@ -244,12 +597,18 @@ public class MecanumDriveSubsystem extends SubsystemBase {
     // ==================== IMU Methods ====================
     
     /**
-     * Get the current heading of the robot in degrees.
+     * Get the current heading of the robot in degrees, relative to the
+     * driver's forward direction (see setHeadingOffset()).
+     * Taken from odometry while the IMU is not in use.
      * 
      * @return Heading in degrees (0-360, counterclockwise positive)
      */
     public double getHeading() {
-        return 0.0;
+        if (localizer == null) {
+            return 0.0;
+        }
+        double degrees = Math.toDegrees(currentPose.getHeading() - headingOffset) % 360.0;
+        return degrees < 0 ? degrees + 360.0 : degrees;
 //        return imu.getHeading();
     }
     
@@ -267,13 +626,32 @@ public class MecanumDriveSubsystem extends SubsystemBase {
      * This sets the current direction as the new "forward" (0 degrees).
      */
     public void resetHeading() {
+        headingOffset = currentPose.getHeading();
 //        imu.reset();
     }
     
+    /**
+     * Set which field heading field-centric driving treats as forward,
+     * e.g. from autonomous, which knows the alliance side.
+     * 
+     * @param fieldHeading Field heading pointing away from the driver (radians)
+     */
+    public void setHeadingOffset(double fieldHeading) {
+        this.headingOffset = fieldHeading;
+    }
+    
+    /**
+     * @return Field heading that field-centric driving treats as forward (radians)
+     */
+    public double getHeadingOffset() {
+        return headingOffset;
+    }
+    
     // ==================== Odometry Methods ====================
     
     /**
      * Get the current pose (position and heading) of the robot.
+     * OpMode thread only; other threads should use getState().
      * 
      * @return Current Pose2d
      */
@@ -281,6 +659,17 @@ public class MecanumDriveSubsystem extends SubsystemBase {
         return currentPose;
     }
     
+    /**
+     * Get the snapshot published at the end of the last periodic().
+     * Safe from any thread: the snapshot is immutable and is replaced
+     * whole, so pose, velocity, mode and timestamp always agree.
+     * 
+     * @return Latest drive state (DriveState.EMPTY before the first loop)
+     */
+    public DriveState getState() {
+        return statePublisher.get();
+    }
+    
     /**
      * Reset the odometry to a specific pose.
      * 
@@ -289,18 +678,12 @@ public class MecanumDriveSubsystem extends SubsystemBase {
     public void resetOdometry(Pose2d pose) {
         this.currentPose = pose;
         
-        // TODO: Reset Pinpoint when you have the correct library
-        /*
-        if (pinpoint != null) {
-            pinpoint.setPosition(new Pose2D(
-                DistanceUnit.INCH,
-                pose.getX(),
-                pose.getY(),
-                AngleUnit.RADIANS,
-                pose.getHeading()
-            ));
+        if (localizer != null) {
+            localizer.setPose(pose);
         }
-        */
+        
+        // Older samples are in the previous frame
+        poseHistory.clear();
     }
     
     /**
@@ -311,34 +694,68 @@ public class MecanumDriveSubsystem extends SubsystemBase {
     }
     
     /**
-     * Update odometry from the Pinpoint sensor.
+     * Update odometry from the localizer.
      * This is called automatically in periodic().
      */
     private void updateOdometry() {
-        if (pinpoint == null) {
+        if (localizer == null) {
             return;
         }
         
-        // TODO: Update odometry when you have the correct Pinpoint library
-        /*
         try {
-            // Update Pinpoint (triggers a new reading)
-            pinpoint.update();
-            
-            // Get the current position from Pinpoint
-            Pose2D pinpointPose = pinpoint.getPosition();
-            
-            // Convert to FTCLib Pose2d (inches and radians)
-            currentPose = new Pose2d(
-                pinpointPose.getX(DistanceUnit.INCH),
-                pinpointPose.getY(DistanceUnit.INCH),
-                new Rotation2d(pinpointPose.getHeading(AngleUnit.RADIANS))
-            );
-            
+            localizer.update();
+            currentPose = localizer.getPose();
+            poseHistory.add(localizer.getTimestampNanos(),
+                currentPose.getX(), currentPose.getY(), currentPose.getHeading());
         } catch (Exception e) {
-            System.err.println("Pinpoint update failed: " + e.getMessage());
+            System.err.println("Odometry update failed: " + e.getMessage());
         }
-        */
+    }
+    
+    /**
+     * Publish the current pose and heading offset for the next OpMode.
+     * Call when an autonomous OpMode ends; does nothing without odometry.
+     */
+    public void publishHandoff() {
+        if (localizer == null) {
+            return;
+        }
+        PoseHandoff.publish(new PoseHandoff(currentPose, headingOffset, OdometryConstants.LOCALIZER));
+    }
+    
+    /**
+     * @return true if the starting pose came from the previous OpMode
+     */
+    public boolean isStartedFromHandoff() {
+        return startedFromHandoff;
+    }
+    
+    /**
+     * Get the active localizer, e.g. for its velocity or diagnostics.
+     * 
+     * @return The localizer, or null if odometry is not in use
+     */
+    public Localizer getLocalizer() {
+        return localizer;
+    }
+    
+    /**
+     * Get the recent odometry poses, for correcting measurements that
+     * arrive late (camera frames) by how far the robot moved since.
+     * 
+     * @return The pose history (empty if odometry is not in use)
+     */
+    public PoseHistory getPoseHistory() {
+        return poseHistory;
+    }
+    
+    /**
+     * Get the slip and collision detector.
+     * 
+     * @return The detector, or null if disabled or no independent localizer is in use
+     */
+    public SlipDetector getSlipDetector() {
+        return slipDetector;
     }
     
     // ==================== Motor Information ====================
@@ -395,6 +812,31 @@ public class MecanumDriveSubsystem extends SubsystemBase {
         // Update odometry every loop
         updateOdometry();
         
+        // Compare wheel motion against odometry; gates traction control, so never shed
+        if (slipDetector != null) {
+            slipDetector.update(
+                frontLeft.getVelocity(), frontRight.getVelocity(),
+                backLeft.getVelocity(), backRight.getVelocity(),
+                localizer);
+        }
+        
+        // Publish for other threads last, once this loop's state is final
+        publishState();
+        
         // Add any other periodic tasks here
     }
+    
+    private void publishState() {
+        Pose2d pose = currentPose;
+        if (localizer != null) {
+            statePublisher.publish(localizer.getTimestampNanos(),
+                pose.getX(), pose.getY(), pose.getHeading(),
+                localizer.getVelocityX(), localizer.getVelocityY(), localizer.getVelocityHeading(),
+                fieldCentricEnabled);
+        } else {
+            statePublisher.publish(System.nanoTime(),
+                pose.getX(), pose.getY(), pose.getHeading(),
+                0.0, 0.0, 0.0, fieldCentricEnabled);
+        }
+    }
 }
@@ -0,0 +1,363 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.hardware.lynx.LynxNackException;
+import com.qualcomm.hardware.lynx.commands.core.LynxGetBulkInputDataCommand;
+import com.qualcomm.hardware.lynx.commands.core.LynxGetBulkInputDataResponse;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.OdometryConstants;
+import org.firstinspires.ftc.teamcode.util.BulkReadManager;
+import org.firstinspires.ftc.teamcode.util.LoopPacer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the four wheel velocity controllers on a dedicated thread at a
+ * fixed rate (DriveConstants.VELOCITY_LOOP_PERIOD), independent of how
+ * long the OpMode loop takes.
+ *
+ * The OpMode loop keeps every chassis-level decision: it mixes the chassis
+ * velocity into wheel velocities, computes each wheel's feedforward voltage
+ * and sends both with {@link #setSetpoint}. This thread only closes the
+ * loop on each wheel:
+ * <pre>
+ * volts = feedforward + WHEEL_VELOCITY_KP * (target - measured)
+ * </pre>
+ * Every cycle sends its own bulk input command to the drive hub and reads
+ * the four velocities from the response. The command is sent directly
+ * rather than through hub.getBulkData(), so the hub's bulk cache, which
+ * BulkReadManager fills once per OpMode loop, is never replaced.
+ *
+ * Bus budget per cycle: one bulk read plus four motor power writes on the
+ * drive hub, all competing with the OpMode thread's transactions on the
+ * same hub. The measured time of each is shown by {@link #addTelemetry};
+ * together they must stay well under the period, or the OpMode loop
+ * slows down.
+ *
+ * Raw bulk data ignores motor direction, so each wheel's sign is taken
+ * from its motor's direction when the loop is built. If a wheel is
+ * measured moving against a large target for
+ * DriveConstants.VELOCITY_SIGN_FAULT_SECONDS, the sign is wrong and would
+ * give positive feedback: the loop stops and the subsystem drives the
+ * motors directly again.
+ *
+ * Setpoints pass through a triple buffer: the OpMode thread fills a spare
+ * slot and swaps it in with one atomic exchange, and the loop thread swaps
+ * out the newest slot the same way. Neither side blocks or allocates, and
+ * the loop thread always sees a complete setpoint.
+ *
+ * While engaged this thread owns the drive motors. Anything else that sets
+ * motor powers must call {@link #release()} first. If setpoints or
+ * bulk reads stop arriving for DriveConstants.VELOCITY_SETPOINT_TIMEOUT the
+ * wheels are stopped once and the loop disengages. The thread exits by
+ * itself when the BulkReadManager is shut down at the end of the OpMode.
+ */
+public class WheelVelocityLoop {
+
+    // Setpoint slot layout: feedforward volts and target velocity per wheel, then battery voltage
+    private static final int FEEDFORWARD = 0;
+    private static final int TARGET = 4;
+    private static final int VOLTAGE = 8;
+    private static final int SLOT_SIZE = 9;
+
+    // Set in the shared index while its slot holds a setpoint the loop has not taken yet
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    // ==================== Hardware ====================
+
+    // Front left, front right, back left, back right
+    private final MotorEx[] motors;
+    private final int[] ports;
+    // Raw bulk data ignores motor direction, so it is applied here
+    private final double[] directions;
+    private final LynxModule hub;
+    private final BulkReadManager bulkReads;
+
+    // ==================== Setpoint Channel ====================
+
+    private final double[][] slots = new double[3][SLOT_SIZE];
+    private final long[] slotNanos = new long[3];
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int writeSlot = 0;  // OpMode thread only
+    private int readSlot = 2;   // Loop thread only
+
+    // ==================== Loop Thread ====================
+
+    private final Thread thread;
+    private final LoopPacer pacer = new LoopPacer(DriveConstants.VELOCITY_LOOP_PERIOD);
+    private final double[] powers = new double[4];
+    private final long timeoutNanos = (long) (DriveConstants.VELOCITY_SETPOINT_TIMEOUT * 1e9);
+    private volatile boolean running;
+    private volatile boolean engaged;
+    private volatile boolean writing;
+    private final long signFaultNanos = (long) (DriveConstants.VELOCITY_SIGN_FAULT_SECONDS * 1e9);
+    private final long[] reversedSinceNanos = new long[4];  // Loop thread only
+    private long lastDataNanos;                             // Loop thread only
+
+    // ==================== Status ====================
+
+    private volatile double lastDt;
+    private volatile double readNanos;
+    private volatile double writeNanos;
+    private volatile double maxError;
+    private volatile long overruns;
+    private volatile long timeouts;
+    private volatile long readFailures;
+    private volatile RuntimeException error;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates the loop. Call {@link #start()} to start its thread.
+     *
+     * @param bulkReads The OpMode's bulk read manager; the thread exits once it is shut down
+     * @param hub Hub the drive motors are plugged into
+     * @param frontLeft Front left motor
+     * @param frontRight Front right motor
+     * @param backLeft Back left motor
+     * @param backRight Back right motor
+     */
+    public WheelVelocityLoop(BulkReadManager bulkReads, LynxModule hub, MotorEx frontLeft,
+                             MotorEx frontRight, MotorEx backLeft, MotorEx backRight) {
+        this.bulkReads = bulkReads;
+        this.hub = hub;
+        this.motors = new MotorEx[] {frontLeft, frontRight, backLeft, backRight};
+        this.ports = new int[4];
+        this.directions = new double[4];
+        for (int i = 0; i < 4; i++) {
+            ports[i] = motors[i].motorEx.getPortNumber();
+            // Includes the right side inversion MecanumDrive applies
+            directions[i] = motors[i].motorEx.getDirection() == DcMotorSimple.Direction.REVERSE ? -1.0 : 1.0;
+        }
+        thread = new Thread(this::loop, "WheelVelocityLoop");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+    }
+
+    // ==================== Lifecycle ====================
+
+    /**
+     * Start the loop thread. It idles until the first setpoint.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stop the loop thread and wait for it to exit. The motors keep their
+     * last power; the caller should stop them. The thread also stops by
+     * itself once the BulkReadManager is shut down.
+     */
+    public void stop() {
+        running = false;
+        engaged = false;
+        thread.interrupt();
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true while the loop thread is running and accepting setpoints
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== Setpoints (OpMode thread) ====================
+
+    /**
+     * Send new wheel setpoints and take control of the motors.
+     * Never blocks; the arrays are copied and can be reused.
+     *
+     * @param feedforwardVolts Feedforward voltage per wheel [FL, FR, BL, BR]
+     * @param targetVelocities Target wheel surface velocity [FL, FR, BL, BR] (inches/s)
+     * @param batteryVoltage Battery voltage to convert volts into power
+     */
+    public void setSetpoint(double[] feedforwardVolts, double[] targetVelocities, double batteryVoltage) {
+        double[] slot = slots[writeSlot];
+        for (int i = 0; i < 4; i++) {
+            slot[FEEDFORWARD + i] = feedforwardVolts[i];
+            slot[TARGET + i] = targetVelocities[i];
+        }
+        slot[VOLTAGE] = batteryVoltage;
+        slotNanos[writeSlot] = System.nanoTime();
+
+        // Publish the filled slot and take back whichever one it replaces
+        writeSlot = shared.getAndSet(writeSlot | FRESH) & INDEX_MASK;
+        engaged = true;
+    }
+
+    /**
+     * Hand the motors back to the caller. Returns once the loop thread has
+     * finished any motor write in progress, after which the caller can set
+     * powers directly. Does nothing if not engaged.
+     */
+    public void release() {
+        if (!engaged) {
+            return;
+        }
+        engaged = false;
+        while (writing) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * @return true while the loop thread is driving the motors
+     */
+    public boolean isEngaged() {
+        return engaged;
+    }
+
+    // ==================== Loop Thread ====================
+
+    private void loop() {
+        pacer.start();
+        while (running) {
+            if (!bulkReads.isRunning()) {
+                // The OpMode is over; never write into the next one
+                running = false;
+                engaged = false;
+                return;
+            }
+            try {
+                if (engaged) {
+                    cycle();
+                }
+            } catch (InterruptedException e) {
+                // stop()
+                engaged = false;
+                return;
+            } catch (RuntimeException e) {
+                // The subsystem falls back to driving the motors directly
+                error = e;
+                running = false;
+                engaged = false;
+                System.err.println("WheelVelocityLoop: stopped after error: " + e);
+                return;
+            }
+            pacer.await();
+            lastDt = pacer.getDt();
+            overruns = pacer.getOverruns();
+        }
+    }
+
+    private void cycle() throws InterruptedException {
+        if ((shared.get() & FRESH) != 0) {
+            readSlot = shared.getAndSet(readSlot) & INDEX_MASK;
+        }
+        double[] setpoint = slots[readSlot];
+
+        // Own bulk read, bypassing the hub's cache
+        long readStart = System.nanoTime();
+        LynxGetBulkInputDataResponse data = null;
+        try {
+            data = new LynxGetBulkInputDataCommand(hub).sendReceive();
+        } catch (LynxNackException e) {
+            readFailures++;
+        }
+        long now = System.nanoTime();
+        readNanos = smooth(readNanos, now - readStart);
+        if (data != null || lastDataNanos == 0) {
+            lastDataNanos = now;
+        }
+
+        if (now - slotNanos[readSlot] > timeoutNanos || now - lastDataNanos > timeoutNanos) {
+            timeouts++;
+            System.err.println("WheelVelocityLoop: no setpoint or bulk read for "
+                + DriveConstants.VELOCITY_SETPOINT_TIMEOUT + " s, stopping wheels");
+            for (int i = 0; i < 4; i++) {
+                powers[i] = 0.0;
+            }
+            write();
+            // Idle until the next setpoint instead of writing zero every cycle
+            engaged = false;
+            return;
+        }
+        if (data == null) {
+            // Keep the last powers until a read succeeds
+            return;
+        }
+
+        double worst = 0.0;
+        for (int i = 0; i < 4; i++) {
+            double target = setpoint[TARGET + i];
+            double velocity = directions[i] * data.getVelocity(ports[i])
+                * OdometryConstants.MOTOR_TICKS_TO_INCHES;
+            checkSign(i, target, velocity, now);
+            double velocityError = target - velocity;
+            worst = Math.max(worst, Math.abs(velocityError));
+            double volts = setpoint[FEEDFORWARD + i] + DriveConstants.WHEEL_VELOCITY_KP * velocityError;
+            powers[i] = Math.max(-1.0, Math.min(1.0, volts / setpoint[VOLTAGE]));
+        }
+        maxError = worst;
+
+        long writeStart = System.nanoTime();
+        write();
+        writeNanos = smooth(writeNanos, System.nanoTime() - writeStart);
+    }
+
+    /**
+     * Fail if a wheel keeps moving against a large target, which means its
+     * measured sign is reversed and feedback would run it to full power.
+     */
+    private void checkSign(int wheel, double target, double velocity, long now) {
+        double threshold = DriveConstants.VELOCITY_SIGN_CHECK_SPEED;
+        boolean reversed = Math.abs(target) > threshold && Math.abs(velocity) > threshold
+            && Math.signum(target) != Math.signum(velocity);
+        if (!reversed) {
+            reversedSinceNanos[wheel] = 0;
+        } else if (reversedSinceNanos[wheel] == 0) {
+            reversedSinceNanos[wheel] = now;
+        } else if (now - reversedSinceNanos[wheel] > signFaultNanos) {
+            throw new IllegalStateException("wheel " + wheel + " velocity sign is reversed");
+        }
+    }
+
+    private static double smooth(double average, long sample) {
+        return average == 0 ? sample : 0.9 * average + 0.1 * sample;
+    }
+
+    private void write() {
+        // release() waits for this block, so powers never land after a hand-back
+        writing = true;
+        if (engaged) {
+            for (int i = 0; i < 4; i++) {
+                motors[i].set(powers[i]);
+            }
+        }
+        writing = false;
+    }
+
+    // ==================== Telemetry ====================
+
+    /**
+     * Add loop rate, measured bus time per cycle, wheel error and fault
+     * counts to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        RuntimeException failure = error;
+        if (failure != null) {
+            telemetry.addData("Velocity Loop", "stopped: %s", failure.getMessage());
+            return;
+        }
+        telemetry.addData("Velocity Loop", "%s, %.0f Hz (%.2f ms)",
+            engaged ? "engaged" : "idle", lastDt > 0 ? 1.0 / lastDt : 0.0, lastDt * 1e3);
+        telemetry.addData("Loop Bus Time", "read %.2f ms + write %.2f ms of %.1f ms period",
+            readNanos / 1e6, writeNanos / 1e6, DriveConstants.VELOCITY_LOOP_PERIOD * 1e3);
+        telemetry.addData("Wheel Error", "%.1f in/s max", maxError);
+        telemetry.addData("Loop Faults", "%d overruns, %d timeouts, %d failed reads",
+            overruns, timeouts, readFailures);
+    }
+}
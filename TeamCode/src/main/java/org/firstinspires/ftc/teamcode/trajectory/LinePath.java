@@ -0,0 +1,78 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+/**
+ * Straight segment between two poses. The heading turns linearly with
+ * distance, the short way around, so the robot can rotate while it drives.
+ */
+public class LinePath implements Path {
+
+    // Segment type in the cache key
+    private static final int KEY_TYPE = 1;
+
+    private final double startX;
+    private final double startY;
+    private final double startHeading;
+    private final double length;
+    private final double tangentX;
+    private final double tangentY;
+    private final double headingDerivative;
+
+    // Construction inputs, for the cache key
+    private final double[] inputs;
+
+    /**
+     * Creates a straight segment.
+     *
+     * @param startX Start X (inches)
+     * @param startY Start Y (inches)
+     * @param startHeading Start heading (radians)
+     * @param endX End X (inches)
+     * @param endY End Y (inches)
+     * @param endHeading End heading (radians)
+     * @throws IllegalArgumentException if the segment has no length
+     */
+    public LinePath(double startX, double startY, double startHeading,
+                    double endX, double endY, double endHeading) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        this.length = Math.hypot(dx, dy);
+        if (length < 1e-6) {
+            throw new IllegalArgumentException("Line has zero length; use a turn to rotate in place");
+        }
+        this.startX = startX;
+        this.startY = startY;
+        this.startHeading = startHeading;
+        this.tangentX = dx / length;
+        this.tangentY = dy / length;
+
+        double turn = endHeading - startHeading;
+        turn = Math.atan2(Math.sin(turn), Math.cos(turn));
+        this.headingDerivative = turn / length;
+        this.inputs = new double[] {startX, startY, startHeading, endX, endY, endHeading};
+    }
+
+    @Override
+    public double length() {
+        return length;
+    }
+
+    @Override
+    public void sample(double s, PathPoint out) {
+        out.x = startX + tangentX * s;
+        out.y = startY + tangentY * s;
+        out.heading = startHeading + headingDerivative * s;
+        out.tangentX = tangentX;
+        out.tangentY = tangentY;
+        out.headingDerivative = headingDerivative;
+        out.curvature = 0.0;
+    }
+
+    @Override
+    public long hashInto(long hash) {
+        hash = TrajectoryCache.mix(hash, KEY_TYPE);
+        for (double input : inputs) {
+            hash = TrajectoryCache.mix(hash, input);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,31 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+/**
+ * A geometric path segment: position and heading as a function of arc
+ * length, with no notion of time. {@link TrajectoryGenerator} adds the
+ * timing.
+ */
+public interface Path {
+
+    /**
+     * @return Arc length of the path (inches), always positive
+     */
+    double length();
+
+    /**
+     * Evaluate the path.
+     *
+     * @param s Distance along the path (inches), from 0 to length()
+     * @param out Point to fill in
+     */
+    void sample(double s, PathPoint out);
+
+    /**
+     * Fold the segment type and the exact inputs the path was built from
+     * into a cache key, so any change to the path changes the key.
+     *
+     * @param hash Hash so far
+     * @return Updated hash, via {@link TrajectoryCache#mix(long, double)}
+     */
+    long hashInto(long hash);
+}
@@ -0,0 +1,39 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+/**
+ * One evaluated point of a {@link Path}, parameterized by arc length.
+ *
+ * Mutable so that paths can be evaluated in a loop without allocating;
+ * callers pass the same instance to every {@link Path#sample} call.
+ * Units: inches and radians.
+ */
+public class PathPoint {
+
+    /**
+     * Field position (inches)
+     */
+    public double x;
+    public double y;
+
+    /**
+     * Robot heading (radians). Continuous along the path, not wrapped,
+     * so it can be interpolated.
+     */
+    public double heading;
+
+    /**
+     * Unit tangent, the direction of travel (dx/ds, dy/ds)
+     */
+    public double tangentX;
+    public double tangentY;
+
+    /**
+     * Rate of change of heading along the path (radians per inch)
+     */
+    public double headingDerivative;
+
+    /**
+     * Signed curvature of the path, counterclockwise positive (1/inch)
+     */
+    public double curvature;
+}
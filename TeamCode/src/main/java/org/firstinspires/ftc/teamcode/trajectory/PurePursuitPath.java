@@ -0,0 +1,364 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Polyline path for pure pursuit, with the queries a follower needs each
+ * loop kept cheap:
+ * - A uniform grid maps each cell to the segments passing through it, so
+ *   finding the nearest segment only looks at cells around the robot.
+ *   Used to acquire the path and to recover when the robot leaves it.
+ * - Everything else starts from a segment cursor held by the follower,
+ *   which only moves forward. Advancing it and searching for the
+ *   lookahead point touch only the segments within the lookahead circle,
+ *   so the per-loop cost is amortized O(1) regardless of path length.
+ *
+ * Each point carries a target heading; headings turn linearly along each
+ * segment, the short way around, independent of the direction of travel.
+ */
+public class PurePursuitPath {
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    // Distance along the path at each point (inches)
+    private final double[] distance;
+    private final int segments;
+
+    // Spatial index: segment indices per grid cell, row-major
+    private final double gridOriginX;
+    private final double gridOriginY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;
+
+    // ==================== Construction ====================
+
+    /**
+     * Creates a path through a list of poses.
+     *
+     * @param waypoints At least two poses; heading is the robot heading at each
+     */
+    public PurePursuitPath(Pose2d... waypoints) {
+        this(toArrays(waypoints));
+    }
+
+    /**
+     * Creates a pure pursuit path by sampling any path, e.g. a spline.
+     *
+     * @param path Path to convert
+     * @return Polyline with points every TrajectoryConstants.PURSUIT_POINT_SPACING inches
+     */
+    public static PurePursuitPath fromPath(Path path) {
+        int intervals = Math.max(1, (int) Math.ceil(path.length() / TrajectoryConstants.PURSUIT_POINT_SPACING));
+        double[][] points = new double[3][intervals + 1];
+        PathPoint point = new PathPoint();
+        for (int i = 0; i <= intervals; i++) {
+            path.sample(path.length() * i / intervals, point);
+            points[0][i] = point.x;
+            points[1][i] = point.y;
+            points[2][i] = point.heading;
+        }
+        return new PurePursuitPath(points);
+    }
+
+    private static double[][] toArrays(Pose2d[] waypoints) {
+        double[][] points = new double[3][waypoints.length];
+        for (int i = 0; i < waypoints.length; i++) {
+            points[0][i] = waypoints[i].getX();
+            points[1][i] = waypoints[i].getY();
+            points[2][i] = waypoints[i].getHeading();
+        }
+        return points;
+    }
+
+    private PurePursuitPath(double[][] points) {
+        x = points[0];
+        y = points[1];
+        heading = points[2];
+        if (x.length < 2) {
+            throw new IllegalArgumentException("Path needs at least two points");
+        }
+        segments = x.length - 1;
+
+        // Distances, and headings made continuous so they interpolate the short way
+        distance = new double[x.length];
+        for (int i = 1; i < x.length; i++) {
+            distance[i] = distance[i - 1] + Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+            double turn = heading[i] - heading[i - 1];
+            heading[i] = heading[i - 1] + Math.atan2(Math.sin(turn), Math.cos(turn));
+        }
+
+        // ===== Spatial index =====
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < x.length; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        cellSize = TrajectoryConstants.PURSUIT_GRID_CELL;
+        gridOriginX = minX;
+        gridOriginY = minY;
+        columns = (int) ((maxX - minX) / cellSize) + 1;
+        rows = (int) ((maxY - minY) / cellSize) + 1;
+
+        List<List<Integer>> lists = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            lists.add(new ArrayList<Integer>());
+        }
+        for (int k = 0; k < segments; k++) {
+            // Every cell the segment's bounding box covers
+            int column0 = column(Math.min(x[k], x[k + 1]));
+            int column1 = column(Math.max(x[k], x[k + 1]));
+            int row0 = row(Math.min(y[k], y[k + 1]));
+            int row1 = row(Math.max(y[k], y[k + 1]));
+            for (int row = row0; row <= row1; row++) {
+                for (int column = column0; column <= column1; column++) {
+                    lists.get(row * columns + column).add(k);
+                }
+            }
+        }
+        cells = new int[columns * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            List<Integer> list = lists.get(i);
+            cells[i] = new int[list.size()];
+            for (int j = 0; j < list.size(); j++) {
+                cells[i][j] = list.get(j);
+            }
+        }
+    }
+
+    private int column(double px) {
+        return Math.max(0, Math.min(columns - 1, (int) ((px - gridOriginX) / cellSize)));
+    }
+
+    private int row(double py) {
+        return Math.max(0, Math.min(rows - 1, (int) ((py - gridOriginY) / cellSize)));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Find the segment nearest to a point using the spatial index.
+     * Searches rings of cells outward from the point's cell until no
+     * closer segment can exist.
+     *
+     * @return Index of the nearest segment
+     */
+    public int findNearestSegment(double px, double py) {
+        int centerColumn = column(px);
+        int centerRow = row(py);
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        int maxRing = Math.max(columns, rows);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Cells in this ring are at least (ring - 1) cells away
+            if (bestDistance < (ring - 1) * cellSize) {
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column++) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    // Only the ring's border; the inside was searched already
+                    if (Math.abs(row - centerRow) != ring && Math.abs(column - centerColumn) != ring) {
+                        continue;
+                    }
+                    for (int segment : cells[row * columns + column]) {
+                        double d = distanceToSegment(segment, px, py);
+                        if (d < bestDistance) {
+                            bestDistance = d;
+                            best = segment;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Move a segment cursor forward while the following segment is at
+     * least as close to the point. Never moves backward.
+     *
+     * @param cursor Current segment
+     * @return New segment
+     */
+    public int advanceCursor(int cursor, double px, double py) {
+        double current = distanceToSegment(cursor, px, py);
+        while (cursor + 1 < segments) {
+            double next = distanceToSegment(cursor + 1, px, py);
+            if (next > current) {
+                break;
+            }
+            cursor++;
+            current = next;
+        }
+        return cursor;
+    }
+
+    /**
+     * @return Distance from a point to a segment (inches)
+     */
+    public double distanceToSegment(int segment, double px, double py) {
+        double t = projection(segment, px, py);
+        double cx = x[segment] + (x[segment + 1] - x[segment]) * t;
+        double cy = y[segment] + (y[segment + 1] - y[segment]) * t;
+        return Math.hypot(px - cx, py - cy);
+    }
+
+    /**
+     * @return Distance along the path of the point on a segment closest to (px, py) (inches)
+     */
+    public double projectDistance(int segment, double px, double py) {
+        double t = projection(segment, px, py);
+        return distance[segment] + (distance[segment + 1] - distance[segment]) * t;
+    }
+
+    /**
+     * Find the lookahead point: where the path leaves a circle around the
+     * robot, searching forward from the cursor. If the robot is too far
+     * from the path for the circle to reach it, the point lookahead
+     * inches past the closest point is used instead.
+     *
+     * @param cursor Segment nearest the robot
+     * @param radius Lookahead distance (inches)
+     * @param out Filled with x, y and distance along the path of the lookahead point
+     */
+    public void findLookahead(int cursor, double px, double py, double radius, double[] out) {
+        for (int k = cursor; k < segments; k++) {
+            double endDistance = Math.hypot(x[k + 1] - px, y[k + 1] - py);
+            if (endDistance < radius) {
+                continue;
+            }
+            // The segment ends outside the circle: take the far intersection
+            double dx = x[k + 1] - x[k];
+            double dy = y[k + 1] - y[k];
+            double fx = x[k] - px;
+            double fy = y[k] - py;
+            double a = dx * dx + dy * dy;
+            double b = 2 * (fx * dx + fy * dy);
+            double c = fx * fx + fy * fy - radius * radius;
+            double discriminant = b * b - 4 * a * c;
+            if (discriminant < 0 || a < 1e-12) {
+                break;
+            }
+            double t = (-b + Math.sqrt(discriminant)) / (2 * a);
+            if (t < 0 || t > 1) {
+                break;
+            }
+            out[0] = x[k] + dx * t;
+            out[1] = y[k] + dy * t;
+            out[2] = distance[k] + (distance[k + 1] - distance[k]) * t;
+            return;
+        }
+
+        // Off the path, or the circle contains the rest of it
+        double s = projectDistance(cursor, px, py);
+        boolean pathEndInside = Math.hypot(x[segments] - px, y[segments] - py) < radius;
+        pointAt(pathEndInside ? length() : s + radius, cursor, out);
+    }
+
+    /**
+     * @param s Distance along the path (inches)
+     * @param cursor Segment to start searching from, normally the follower's cursor
+     * @return Target heading at that distance (radians, continuous)
+     */
+    public double headingAt(double s, int cursor) {
+        int k = segmentAt(s, cursor);
+        double span = distance[k + 1] - distance[k];
+        double t = span > 0 ? Math.max(0.0, Math.min(1.0, (s - distance[k]) / span)) : 1.0;
+        return heading[k] + (heading[k + 1] - heading[k]) * t;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Total length (inches)
+     */
+    public double length() {
+        return distance[segments];
+    }
+
+    /**
+     * @return Number of segments
+     */
+    public int getSegmentCount() {
+        return segments;
+    }
+
+    /**
+     * @return Final point's X (inches)
+     */
+    public double getEndX() {
+        return x[segments];
+    }
+
+    /**
+     * @return Final point's Y (inches)
+     */
+    public double getEndY() {
+        return y[segments];
+    }
+
+    /**
+     * @return Final point's heading (radians)
+     */
+    public double getEndHeading() {
+        return heading[segments];
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * @return Parameter (0 to 1) of the point on a segment closest to (px, py)
+     */
+    private double projection(int segment, double px, double py) {
+        double dx = x[segment + 1] - x[segment];
+        double dy = y[segment + 1] - y[segment];
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared < 1e-12) {
+            return 0.0;
+        }
+        double t = ((px - x[segment]) * dx + (py - y[segment]) * dy) / lengthSquared;
+        return Math.max(0.0, Math.min(1.0, t));
+    }
+
+    /**
+     * @return Segment containing a distance, searching forward from a start segment
+     */
+    private int segmentAt(double s, int from) {
+        int k = Math.max(0, Math.min(segments - 1, from));
+        while (k > 0 && distance[k] > s) {
+            k--;
+        }
+        while (k < segments - 1 && distance[k + 1] < s) {
+            k++;
+        }
+        return k;
+    }
+
+    private void pointAt(double s, int from, double[] out) {
+        s = Math.max(0.0, Math.min(length(), s));
+        int k = segmentAt(s, from);
+        double span = distance[k + 1] - distance[k];
+        double t = span > 0 ? (s - distance[k]) / span : 1.0;
+        out[0] = x[k] + (x[k + 1] - x[k]) * t;
+        out[1] = y[k] + (y[k + 1] - y[k]) * t;
+        out[2] = s;
+    }
+}
@@ -0,0 +1,214 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+
+import java.util.Arrays;
+
+/**
+ * Quintic Hermite spline between two points, with matching position,
+ * tangent and second derivative at each end. Chained splines with zero
+ * end second derivatives are continuous in curvature as well as direction.
+ *
+ * Evaluating by arc length needs the inverse of the length integral. It is
+ * tabulated once at construction (Gauss-Legendre per interval);
+ * {@link #sample(double, PathPoint)} binary-searches the table and refines
+ * with one Newton step, so every lookup is O(log n) with no integration.
+ *
+ * The robot heading either follows the tangent (the robot faces where it
+ * drives) or turns linearly with distance from a start to an end heading.
+ */
+public class QuinticSplinePath implements Path {
+
+    // 3-point Gauss-Legendre nodes and weights on [0, 1]
+    private static final double[] GAUSS_NODES = {
+        0.5 - Math.sqrt(0.15), 0.5, 0.5 + Math.sqrt(0.15)
+    };
+    private static final double[] GAUSS_WEIGHTS = {5.0 / 18.0, 8.0 / 18.0, 5.0 / 18.0};
+
+    // Segment type in the cache key
+    private static final int KEY_TYPE = 2;
+
+    // Polynomial coefficients, c0 + c1 u + ... + c5 u^5
+    private final double[] xCoefficients;
+    private final double[] yCoefficients;
+
+    // Arc length at u = i / intervals
+    private final double[] lengths;
+    // Tangent angle at u = i / intervals, unwrapped along the curve
+    private final double[] tangentAngles;
+    private final int intervals;
+    private final double length;
+
+    // Heading: follows the tangent, or linear from startHeading
+    private final boolean followTangent;
+    private final double startHeading;
+    private final double headingDerivative;
+
+    // Construction inputs, for the cache key
+    private final double[] inputs;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a spline with zero second derivatives at both ends.
+     *
+     * @param startX Start X (inches)
+     * @param startY Start Y (inches)
+     * @param startTangent Direction of travel at the start (radians)
+     * @param endX End X (inches)
+     * @param endY End Y (inches)
+     * @param endTangent Direction of travel at the end (radians)
+     * @param startHeading Robot heading at the start (radians); ignored when following the tangent
+     * @param endHeading Robot heading at the end (radians); ignored when following the tangent
+     * @param followTangent true to face along the path instead of turning linearly
+     */
+    public QuinticSplinePath(double startX, double startY, double startTangent,
+                             double endX, double endY, double endTangent,
+                             double startHeading, double endHeading, boolean followTangent) {
+        double chord = Math.hypot(endX - startX, endY - startY);
+        if (chord < 1e-6) {
+            throw new IllegalArgumentException("Spline has zero length; use a turn to rotate in place");
+        }
+
+        // Derivative magnitude equal to the chord gives a well-rounded curve
+        xCoefficients = coefficients(startX, chord * Math.cos(startTangent), 0,
+            endX, chord * Math.cos(endTangent), 0);
+        yCoefficients = coefficients(startY, chord * Math.sin(startTangent), 0,
+            endY, chord * Math.sin(endTangent), 0);
+
+        // ===== Arc-length table =====
+        intervals = Math.max(16, (int) Math.ceil(chord * TrajectoryConstants.SPLINE_TABLE_DENSITY));
+        lengths = new double[intervals + 1];
+        tangentAngles = new double[intervals + 1];
+        tangentAngles[0] = Math.atan2(derivative(yCoefficients, 0), derivative(xCoefficients, 0));
+        for (int i = 0; i < intervals; i++) {
+            double u0 = (double) i / intervals;
+            double u1 = (double) (i + 1) / intervals;
+            lengths[i + 1] = lengths[i] + integrateSpeed(u0, u1);
+            double angle = Math.atan2(derivative(yCoefficients, u1), derivative(xCoefficients, u1));
+            tangentAngles[i + 1] = unwrap(angle, tangentAngles[i]);
+        }
+        length = lengths[intervals];
+
+        this.followTangent = followTangent;
+        if (followTangent) {
+            this.startHeading = tangentAngles[0];
+            this.headingDerivative = 0.0;
+        } else {
+            double turn = endHeading - startHeading;
+            turn = Math.atan2(Math.sin(turn), Math.cos(turn));
+            this.startHeading = startHeading;
+            this.headingDerivative = turn / length;
+        }
+        this.inputs = new double[] {startX, startY, startTangent, endX, endY, endTangent,
+            startHeading, endHeading, followTangent ? 1 : 0};
+    }
+
+    /**
+     * Quintic coefficients from end positions, first and second derivatives.
+     */
+    private static double[] coefficients(double p0, double v0, double a0, double p1, double v1, double a1) {
+        return new double[] {
+            p0,
+            v0,
+            a0 / 2,
+            -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1,
+            15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1,
+            -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1
+        };
+    }
+
+    // ==================== Path ====================
+
+    @Override
+    public double length() {
+        return length;
+    }
+
+    @Override
+    public void sample(double s, PathPoint out) {
+        s = Math.max(0.0, Math.min(length, s));
+
+        // Interval containing s: O(log n)
+        int i = Arrays.binarySearch(lengths, s);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        i = Math.max(0, Math.min(intervals - 1, i));
+
+        // Linear guess within the interval, then one Newton step
+        double span = lengths[i + 1] - lengths[i];
+        double u0 = (double) i / intervals;
+        double u = u0 + (span > 0 ? (s - lengths[i]) / span : 0.0) / intervals;
+        double dx = derivative(xCoefficients, u);
+        double dy = derivative(yCoefficients, u);
+        double speed = Math.hypot(dx, dy);
+        if (speed > 1e-9) {
+            u -= (lengths[i] + integrateSpeed(u0, u) - s) / speed;
+            u = Math.max(0.0, Math.min(1.0, u));
+            dx = derivative(xCoefficients, u);
+            dy = derivative(yCoefficients, u);
+            speed = Math.hypot(dx, dy);
+        }
+        double ddx = secondDerivative(xCoefficients, u);
+        double ddy = secondDerivative(yCoefficients, u);
+
+        out.x = evaluate(xCoefficients, u);
+        out.y = evaluate(yCoefficients, u);
+        out.tangentX = speed > 1e-9 ? dx / speed : Math.cos(tangentAngles[i]);
+        out.tangentY = speed > 1e-9 ? dy / speed : Math.sin(tangentAngles[i]);
+        out.curvature = speed > 1e-9 ? (dx * ddy - dy * ddx) / (speed * speed * speed) : 0.0;
+
+        if (followTangent) {
+            out.heading = unwrap(Math.atan2(out.tangentY, out.tangentX), tangentAngles[i]);
+            out.headingDerivative = out.curvature;
+        } else {
+            out.heading = startHeading + headingDerivative * s;
+            out.headingDerivative = headingDerivative;
+        }
+    }
+
+    @Override
+    public long hashInto(long hash) {
+        hash = TrajectoryCache.mix(hash, KEY_TYPE);
+        for (double input : inputs) {
+            hash = TrajectoryCache.mix(hash, input);
+        }
+        return hash;
+    }
+
+    // ==================== Polynomial ====================
+
+    private static double evaluate(double[] c, double u) {
+        return ((((c[5] * u + c[4]) * u + c[3]) * u + c[2]) * u + c[1]) * u + c[0];
+    }
+
+    private static double derivative(double[] c, double u) {
+        return (((5 * c[5] * u + 4 * c[4]) * u + 3 * c[3]) * u + 2 * c[2]) * u + c[1];
+    }
+
+    private static double secondDerivative(double[] c, double u) {
+        return ((20 * c[5] * u + 12 * c[4]) * u + 6 * c[3]) * u + 2 * c[2];
+    }
+
+    /**
+     * @return Arc length between two parameter values
+     */
+    private double integrateSpeed(double u0, double u1) {
+        double width = u1 - u0;
+        double sum = 0.0;
+        for (int k = 0; k < GAUSS_NODES.length; k++) {
+            double u = u0 + width * GAUSS_NODES[k];
+            sum += GAUSS_WEIGHTS[k] * Math.hypot(derivative(xCoefficients, u), derivative(yCoefficients, u));
+        }
+        return sum * width;
+    }
+
+    /**
+     * @return angle shifted by whole turns to be within pi of reference
+     */
+    private static double unwrap(double angle, double reference) {
+        double difference = angle - reference;
+        return reference + Math.atan2(Math.sin(difference), Math.cos(difference));
+    }
+}
@@ -0,0 +1,161 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+/**
+ * A time-parameterized trajectory, stored as tables of samples taken at a
+ * fixed period.
+ *
+ * Everything is computed up front by {@link TrajectoryGenerator}; sampling
+ * indexes the tables directly (time / period) and interpolates between
+ * neighbours, so {@link #sample(double, Sample)} is O(1) and does not allocate.
+ *
+ * All values are in the field frame: inches, radians, seconds.
+ * Headings are continuous (not wrapped).
+ */
+public class Trajectory {
+
+    private final double samplePeriod;
+    private final double duration;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    private final double[] velocityX;
+    private final double[] velocityY;
+    private final double[] angularVelocity;
+    private final double[] accelX;
+    private final double[] accelY;
+    private final double[] angularAccel;
+
+    /**
+     * Target state at one point in time. Mutable so one instance can be
+     * reused every loop.
+     */
+    public static class Sample {
+        public double time;
+        public double x;
+        public double y;
+        public double heading;
+        public double velocityX;
+        public double velocityY;
+        public double angularVelocity;
+        public double accelX;
+        public double accelY;
+        public double angularAccel;
+    }
+
+    /**
+     * Wrap precomputed tables. All arrays must have the same length, at
+     * least 2, and are not copied.
+     */
+    Trajectory(double samplePeriod, double duration,
+               double[] x, double[] y, double[] heading,
+               double[] velocityX, double[] velocityY, double[] angularVelocity,
+               double[] accelX, double[] accelY, double[] angularAccel) {
+        this.samplePeriod = samplePeriod;
+        this.duration = duration;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.angularVelocity = angularVelocity;
+        this.accelX = accelX;
+        this.accelY = accelY;
+        this.angularAccel = angularAccel;
+    }
+
+    /**
+     * @return The tables, in constructor order after duration, for serialization.
+     *         Not copied; do not modify.
+     */
+    double[][] tables() {
+        return new double[][] {
+            x, y, heading, velocityX, velocityY, angularVelocity, accelX, accelY, angularAccel
+        };
+    }
+
+    // ==================== Sampling ====================
+
+    /**
+     * Get the target state at a time. Times outside the trajectory are
+     * clamped to its start or end.
+     *
+     * @param time Seconds since the trajectory started
+     * @param out Sample to fill in
+     */
+    public void sample(double time, Sample out) {
+        int last = x.length - 1;
+        double position = time / samplePeriod;
+        int i = position <= 0 ? 0 : (int) position;
+        if (i >= last) {
+            copy(last, out);
+            out.time = Math.max(time, duration);
+            return;
+        }
+        double f = Math.max(0.0, position - i);
+        int j = i + 1;
+        out.time = time;
+        out.x = x[i] + (x[j] - x[i]) * f;
+        out.y = y[i] + (y[j] - y[i]) * f;
+        out.heading = heading[i] + (heading[j] - heading[i]) * f;
+        out.velocityX = velocityX[i] + (velocityX[j] - velocityX[i]) * f;
+        out.velocityY = velocityY[i] + (velocityY[j] - velocityY[i]) * f;
+        out.angularVelocity = angularVelocity[i] + (angularVelocity[j] - angularVelocity[i]) * f;
+        out.accelX = accelX[i] + (accelX[j] - accelX[i]) * f;
+        out.accelY = accelY[i] + (accelY[j] - accelY[i]) * f;
+        out.angularAccel = angularAccel[i] + (angularAccel[j] - angularAccel[i]) * f;
+    }
+
+    private void copy(int i, Sample out) {
+        out.x = x[i];
+        out.y = y[i];
+        out.heading = heading[i];
+        out.velocityX = velocityX[i];
+        out.velocityY = velocityY[i];
+        out.angularVelocity = angularVelocity[i];
+        out.accelX = accelX[i];
+        out.accelY = accelY[i];
+        out.angularAccel = angularAccel[i];
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Total time (seconds)
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return Time between table entries (seconds)
+     */
+    public double getSamplePeriod() {
+        return samplePeriod;
+    }
+
+    /**
+     * @return Number of table entries
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * @return Pose at the start, e.g. to reset odometry before following
+     */
+    public Pose2d getStartPose() {
+        return new Pose2d(x[0], y[0], new Rotation2d(heading[0]));
+    }
+
+    /**
+     * @return Pose at the end, e.g. to start the next trajectory from
+     */
+    public Pose2d getEndPose() {
+        int last = x.length - 1;
+        return new Pose2d(x[last], y[last], new Rotation2d(heading[last]));
+    }
+}
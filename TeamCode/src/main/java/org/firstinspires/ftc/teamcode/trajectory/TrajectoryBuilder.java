@@ -0,0 +1,210 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a trajectory from a list of waypoints.
+ *
+ * Usage:
+ * <pre>
+ * Trajectory square = new TrajectoryBuilder(new Pose2d(0, 0, new Rotation2d(0)))
+ *     .lineTo(24, 0)
+ *     .lineTo(24, 24, new Rotation2d(Math.toRadians(90)))
+ *     .lineTo(0, 0)
+ *     .build();
+ *
+ * Trajectory curve = new TrajectoryBuilder(start)
+ *     .splineTo(36, 24, new Rotation2d(Math.toRadians(90)))
+ *     .splineThrough(new Pose2d(48, 48, new Rotation2d(0)), new Pose2d(72, 48, new Rotation2d(0)))
+ *     .build();
+ * </pre>
+ *
+ * Line segments stop at corners. Splines start in the direction the
+ * previous segment ended, so a chain of splines is driven without stopping.
+ *
+ * Call build() during init: generation allocates and takes a few milliseconds.
+ * build(TrajectoryCache) skips generation when the same trajectory was
+ * generated on an earlier run.
+ */
+public class TrajectoryBuilder {
+
+    private final List<Path> segments = new ArrayList<>();
+    private final PathPoint end = new PathPoint();
+    private TrajectoryConstraints constraints = TrajectoryConstraints.defaults();
+
+    // Where the next segment starts; heading is continuous
+    private double x;
+    private double y;
+    private double heading;
+    // Direction of travel at the end of the last segment
+    private double tangent;
+    private boolean hasTangent;
+
+    /**
+     * Start a trajectory.
+     *
+     * @param start Starting pose (inches, heading in radians)
+     */
+    public TrajectoryBuilder(Pose2d start) {
+        this.x = start.getX();
+        this.y = start.getY();
+        this.heading = start.getHeading();
+    }
+
+    /**
+     * Drive straight to a point, keeping the current heading.
+     *
+     * @param x Target X (inches)
+     * @param y Target Y (inches)
+     * @return This builder
+     */
+    public TrajectoryBuilder lineTo(double x, double y) {
+        return add(new LinePath(this.x, this.y, heading, x, y, heading));
+    }
+
+    /**
+     * Drive straight to a point, turning to a heading on the way.
+     *
+     * @param x Target X (inches)
+     * @param y Target Y (inches)
+     * @param heading Target heading
+     * @return This builder
+     */
+    public TrajectoryBuilder lineTo(double x, double y, Rotation2d heading) {
+        return add(new LinePath(this.x, this.y, this.heading, x, y, heading.getRadians()));
+    }
+
+    /**
+     * Drive straight through each waypoint in turn, stopping at corners.
+     *
+     * @param waypoints Poses to visit
+     * @return This builder
+     */
+    public TrajectoryBuilder lineThrough(Pose2d... waypoints) {
+        for (Pose2d waypoint : waypoints) {
+            lineTo(waypoint.getX(), waypoint.getY(), waypoint.getRotation());
+        }
+        return this;
+    }
+
+    /**
+     * Drive a smooth curve to a point, keeping the current heading.
+     *
+     * @param x Target X (inches)
+     * @param y Target Y (inches)
+     * @param endTangent Direction of travel on arrival
+     * @return This builder
+     */
+    public TrajectoryBuilder splineTo(double x, double y, Rotation2d endTangent) {
+        return add(new QuinticSplinePath(this.x, this.y, startTangent(x, y),
+            x, y, endTangent.getRadians(), heading, heading, false));
+    }
+
+    /**
+     * Drive a smooth curve to a point, turning to a heading on the way.
+     *
+     * @param x Target X (inches)
+     * @param y Target Y (inches)
+     * @param endTangent Direction of travel on arrival
+     * @param heading Target heading
+     * @return This builder
+     */
+    public TrajectoryBuilder splineTo(double x, double y, Rotation2d endTangent, Rotation2d heading) {
+        return add(new QuinticSplinePath(this.x, this.y, startTangent(x, y),
+            x, y, endTangent.getRadians(), this.heading, heading.getRadians(), false));
+    }
+
+    /**
+     * Drive a smooth curve to a point with the robot facing along the path.
+     * The robot should already face the direction the curve starts in.
+     *
+     * @param x Target X (inches)
+     * @param y Target Y (inches)
+     * @param endTangent Direction of travel (and heading) on arrival
+     * @return This builder
+     */
+    public TrajectoryBuilder splineToFacing(double x, double y, Rotation2d endTangent) {
+        return add(new QuinticSplinePath(this.x, this.y, startTangent(x, y),
+            x, y, endTangent.getRadians(), heading, heading, true));
+    }
+
+    /**
+     * Drive one smooth curve through every waypoint without stopping.
+     * The direction of travel at each waypoint points from the previous
+     * waypoint to the next; headings turn linearly to each waypoint's rotation.
+     *
+     * @param waypoints Poses to visit
+     * @return This builder
+     */
+    public TrajectoryBuilder splineThrough(Pose2d... waypoints) {
+        for (int i = 0; i < waypoints.length; i++) {
+            double previousX = i == 0 ? x : waypoints[i - 1].getX();
+            double previousY = i == 0 ? y : waypoints[i - 1].getY();
+            Pose2d next = i + 1 < waypoints.length ? waypoints[i + 1] : waypoints[i];
+            double endTangent = i + 1 < waypoints.length
+                ? Math.atan2(next.getY() - previousY, next.getX() - previousX)
+                : Math.atan2(waypoints[i].getY() - previousY, waypoints[i].getX() - previousX);
+            splineTo(waypoints[i].getX(), waypoints[i].getY(), new Rotation2d(endTangent),
+                waypoints[i].getRotation());
+        }
+        return this;
+    }
+
+    /**
+     * @return Where the next curve should start heading: along the last
+     *         segment, or straight at the target for the first one
+     */
+    private double startTangent(double targetX, double targetY) {
+        return hasTangent ? tangent : Math.atan2(targetY - y, targetX - x);
+    }
+
+    /**
+     * Append any path. It must start where the previous segment ends.
+     *
+     * @param path Path to append
+     * @return This builder
+     */
+    public TrajectoryBuilder add(Path path) {
+        segments.add(path);
+        path.sample(path.length(), end);
+        x = end.x;
+        y = end.y;
+        heading = end.heading;
+        tangent = Math.atan2(end.tangentY, end.tangentX);
+        hasTangent = true;
+        return this;
+    }
+
+    /**
+     * Use different limits for this trajectory.
+     *
+     * @param constraints Limits to respect
+     * @return This builder
+     */
+    public TrajectoryBuilder setConstraints(TrajectoryConstraints constraints) {
+        this.constraints = constraints;
+        return this;
+    }
+
+    /**
+     * @return The time-parameterized trajectory
+     */
+    public Trajectory build() {
+        return TrajectoryGenerator.generate(segments, constraints);
+    }
+
+    /**
+     * Load the trajectory from a cache, generating and storing it if the
+     * cache has no entry for these exact inputs.
+     *
+     * @param cache Cache to use
+     * @return The time-parameterized trajectory
+     */
+    public Trajectory build(TrajectoryCache cache) {
+        return cache.get(segments, constraints);
+    }
+}
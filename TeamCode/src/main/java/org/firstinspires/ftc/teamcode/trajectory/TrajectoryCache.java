@@ -0,0 +1,258 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * On-disk cache of generated trajectories.
+ *
+ * Each trajectory is stored in its own binary file named after a 64-bit
+ * hash of everything that affects generation: the type and construction
+ * inputs of every path segment, the constraints, the generator settings in
+ * TrajectoryConstants and the drive geometry in DriveConstants. Changing any of them changes the key,
+ * so stale entries are never loaded; they are simply no longer used.
+ *
+ * Files are read through a memory-mapped buffer. Tables are stored as
+ * floats, which is well under a thousandth of an inch of error at field scale.
+ *
+ * File layout (little-endian):
+ * <pre>
+ * int magic, int version, long key,
+ * double samplePeriod, double duration, int samples,
+ * float[samples] x 9 tables (see Trajectory)
+ * </pre>
+ */
+public class TrajectoryCache {
+
+    private static final int MAGIC = 0x4A415254; // "TRAJ"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4;
+    private static final int TABLES = 9;
+
+    private final File directory;
+
+    private int hits;
+    private int misses;
+    private long lastLoadNanos;
+    private long lastGenerateNanos;
+    private String lastResult = "none";
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a cache in /sdcard/FIRST/trajectories.
+     */
+    public TrajectoryCache() {
+        this(new File(AppUtil.FIRST_FOLDER, "trajectories"));
+    }
+
+    /**
+     * Creates a cache in a directory.
+     *
+     * @param directory Where cache files are kept; created if missing
+     */
+    public TrajectoryCache(File directory) {
+        this.directory = directory;
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Load a trajectory from the cache, or generate and store it.
+     *
+     * @param segments Paths to follow
+     * @param constraints Limits to respect
+     * @return The trajectory
+     */
+    public Trajectory get(List<Path> segments, TrajectoryConstraints constraints) {
+        long key = key(segments, constraints);
+        File file = new File(directory, String.format("%016x.traj", key));
+
+        long start = System.nanoTime();
+        Trajectory trajectory = read(file, key);
+        if (trajectory != null) {
+            lastLoadNanos = System.nanoTime() - start;
+            hits++;
+            lastResult = "hit";
+            System.out.println(String.format(Locale.US, "Trajectory cache: hit %s (%.2f ms)",
+                file.getName(), lastLoadNanos / 1e6));
+            return trajectory;
+        }
+
+        start = System.nanoTime();
+        trajectory = TrajectoryGenerator.generate(segments, constraints);
+        lastGenerateNanos = System.nanoTime() - start;
+        misses++;
+        lastResult = "miss";
+        System.out.println(String.format(Locale.US, "Trajectory cache: miss %s (generated in %.2f ms)",
+            file.getName(), lastGenerateNanos / 1e6));
+        write(file, key, trajectory);
+        return trajectory;
+    }
+
+    // ==================== Key ====================
+
+    /**
+     * Hash of all inputs to generation (64-bit FNV-1a over the raw bits).
+     */
+    static long key(List<Path> segments, TrajectoryConstraints constraints) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, VERSION);
+
+        // Geometry: type and construction inputs of each segment
+        hash = mix(hash, segments.size());
+        for (Path segment : segments) {
+            hash = segment.hashInto(hash);
+        }
+
+        hash = mix(hash, constraints.maxVelocity);
+        hash = mix(hash, constraints.maxAcceleration);
+        hash = mix(hash, constraints.maxAngularVelocity);
+        hash = mix(hash, constraints.maxAngularAcceleration);
+
+        hash = mix(hash, TrajectoryConstants.SAMPLE_PERIOD);
+        hash = mix(hash, TrajectoryConstants.PATH_RESOLUTION);
+        hash = mix(hash, TrajectoryConstants.CORNER_ANGLE_THRESHOLD);
+        hash = mix(hash, TrajectoryConstants.SPLINE_TABLE_DENSITY);
+        hash = mix(hash, DriveConstants.TRACK_WIDTH);
+        hash = mix(hash, DriveConstants.WHEEL_BASE);
+        return hash;
+    }
+
+    /**
+     * Fold one value into an FNV-1a hash.
+     *
+     * @param hash Hash so far
+     * @param value Value to add
+     * @return Updated hash
+     */
+    static long mix(long hash, double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            hash ^= (bits >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // ==================== File I/O ====================
+
+    /**
+     * @return The cached trajectory, or null if missing or invalid
+     */
+    private static Trajectory read(File file, long key) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+             FileChannel channel = input.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES
+                    || buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != key) {
+                throw new IOException("Header mismatch");
+            }
+            double samplePeriod = buffer.getDouble();
+            double duration = buffer.getDouble();
+            int samples = buffer.getInt();
+            if (samples < 2 || channel.size() != HEADER_BYTES + (long) TABLES * samples * 4) {
+                throw new IOException("Truncated");
+            }
+
+            FloatBuffer floats = buffer.asFloatBuffer();
+            double[][] tables = new double[TABLES][samples];
+            for (double[] table : tables) {
+                for (int i = 0; i < samples; i++) {
+                    table[i] = floats.get();
+                }
+            }
+            return new Trajectory(samplePeriod, duration, tables[0], tables[1], tables[2],
+                tables[3], tables[4], tables[5], tables[6], tables[7], tables[8]);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Trajectory cache: discarding " + file.getName() + ": " + e.getMessage());
+            if (!file.delete()) {
+                System.err.println("Trajectory cache: could not delete " + file.getName());
+            }
+            return null;
+        }
+    }
+
+    private void write(File file, long key, Trajectory trajectory) {
+        double[][] tables = trajectory.tables();
+        int samples = trajectory.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + TABLES * samples * 4)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(key);
+        buffer.putDouble(trajectory.getSamplePeriod());
+        buffer.putDouble(trajectory.getDuration());
+        buffer.putInt(samples);
+        for (double[] table : tables) {
+            for (double value : table) {
+                buffer.putFloat((float) value);
+            }
+        }
+
+        // Write a temporary file and rename it, so a crash never leaves a partial entry
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create " + directory);
+            }
+            try (FileOutputStream output = new FileOutputStream(temporary)) {
+                output.write(buffer.array());
+            }
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Cannot rename " + temporary.getName());
+            }
+        } catch (IOException e) {
+            System.err.println("Trajectory cache: failed to store " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== Statistics ====================
+
+    /**
+     * @return Lookups served from disk
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Lookups that had to generate
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Add hit/miss counts and timings to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Trajectory Cache", "%s (%d hits, %d misses)", lastResult, hits, misses);
+        if (hits > 0) {
+            telemetry.addData("Last Load", "%.2f ms", lastLoadNanos / 1e6);
+        }
+        if (misses > 0) {
+            telemetry.addData("Last Generate", "%.2f ms", lastGenerateNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+
+/**
+ * Velocity and acceleration limits for generating a trajectory.
+ * Immutable; use {@link #defaults()} or the with* methods to derive variants.
+ */
+public final class TrajectoryConstraints {
+
+    /**
+     * Maximum wheel surface speed (inches/s). On mecanum this also limits
+     * diagonal travel and driving while turning, since those load some
+     * wheels more than others.
+     */
+    public final double maxVelocity;
+
+    /**
+     * Maximum tangential and centripetal acceleration (inches/s²)
+     */
+    public final double maxAcceleration;
+
+    /**
+     * Maximum angular velocity (radians/s)
+     */
+    public final double maxAngularVelocity;
+
+    /**
+     * Maximum angular acceleration (radians/s²)
+     */
+    public final double maxAngularAcceleration;
+
+    public TrajectoryConstraints(double maxVelocity, double maxAcceleration,
+                                 double maxAngularVelocity, double maxAngularAcceleration) {
+        if (maxVelocity <= 0 || maxAcceleration <= 0 || maxAngularVelocity <= 0 || maxAngularAcceleration <= 0) {
+            throw new IllegalArgumentException("Constraints must be positive");
+        }
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxAngularVelocity = maxAngularVelocity;
+        this.maxAngularAcceleration = maxAngularAcceleration;
+    }
+
+    /**
+     * @return Constraints from TrajectoryConstants
+     */
+    public static TrajectoryConstraints defaults() {
+        return new TrajectoryConstraints(
+            TrajectoryConstants.MAX_VELOCITY,
+            TrajectoryConstants.MAX_ACCELERATION,
+            TrajectoryConstants.MAX_ANGULAR_VELOCITY,
+            TrajectoryConstants.MAX_ANGULAR_ACCELERATION);
+    }
+
+    /**
+     * @param velocity New maximum velocity (inches/s)
+     * @return Copy with a different maximum velocity
+     */
+    public TrajectoryConstraints withMaxVelocity(double velocity) {
+        return new TrajectoryConstraints(velocity, maxAcceleration, maxAngularVelocity, maxAngularAcceleration);
+    }
+
+    /**
+     * @param acceleration New maximum acceleration (inches/s²)
+     * @return Copy with a different maximum acceleration
+     */
+    public TrajectoryConstraints withMaxAcceleration(double acceleration) {
+        return new TrajectoryConstraints(maxVelocity, acceleration, maxAngularVelocity, maxAngularAcceleration);
+    }
+}
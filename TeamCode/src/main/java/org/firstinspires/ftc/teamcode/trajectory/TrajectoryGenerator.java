@@ -0,0 +1,222 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+import org.firstinspires.ftc.teamcode.constants.DriveConstants;
+import org.firstinspires.ftc.teamcode.constants.TrajectoryConstants;
+
+import java.util.List;
+
+/**
+ * Turns a chain of paths into a {@link Trajectory}.
+ *
+ * 1. Evaluate the paths every TrajectoryConstants.PATH_RESOLUTION inches
+ * 2. Cap the speed at each point by the mecanum wheel speed, angular
+ *    velocity and centripetal acceleration limits
+ * 3. Forward pass (acceleration) and backward pass (deceleration) over the
+ *    points, starting and ending at rest and stopping at sharp corners
+ * 4. Integrate time along the path and resample at a fixed period
+ *
+ * Meant to run at init; it allocates freely.
+ */
+public final class TrajectoryGenerator {
+
+    // Half of track width plus wheel base (inches), the mecanum rotation lever arm
+    private static final double LEVER_ARM = (DriveConstants.TRACK_WIDTH + DriveConstants.WHEEL_BASE) / 2.0;
+
+    /**
+     * Generate a trajectory that starts and ends at rest.
+     *
+     * @param segments Paths to follow in order; each must start where the previous one ends
+     * @param constraints Limits to respect
+     * @return The trajectory
+     */
+    public static Trajectory generate(List<Path> segments, TrajectoryConstraints constraints) {
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("Trajectory needs at least one segment");
+        }
+
+        // ===== 1. Evaluate the paths =====
+        int count = 1;
+        for (Path segment : segments) {
+            count += intervals(segment);
+        }
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] heading = new double[count];
+        double[] tangentX = new double[count];
+        double[] tangentY = new double[count];
+        double[] headingDerivative = new double[count];
+        double[] curvature = new double[count];
+        double[] step = new double[count];     // distance to the next point
+        double[] velocity = new double[count];
+        boolean[] stop = new boolean[count];
+
+        PathPoint point = new PathPoint();
+        double cornerCos = Math.cos(Math.toRadians(TrajectoryConstants.CORNER_ANGLE_THRESHOLD));
+        int index = 0;
+        for (int k = 0; k < segments.size(); k++) {
+            Path segment = segments.get(k);
+            int n = intervals(segment);
+            double ds = segment.length() / n;
+            if (k > 0) {
+                // The join is shared with the previous segment's last point
+                segment.sample(0, point);
+                double dot = point.tangentX * tangentX[index] + point.tangentY * tangentY[index];
+                stop[index] = dot < cornerCos;
+                step[index] = ds;
+                index++;
+            }
+            for (int j = (k == 0 ? 0 : 1); j <= n; j++) {
+                segment.sample(j * ds, point);
+                x[index] = point.x;
+                y[index] = point.y;
+                heading[index] = point.heading;
+                tangentX[index] = point.tangentX;
+                tangentY[index] = point.tangentY;
+                headingDerivative[index] = point.headingDerivative;
+                curvature[index] = point.curvature;
+                step[index] = ds;
+                if (j < n) {
+                    index++;
+                }
+            }
+        }
+        count = index + 1;
+        stop[0] = true;
+        stop[count - 1] = true;
+
+        // ===== 2. Speed limit at each point =====
+        for (int i = 0; i < count; i++) {
+            if (stop[i]) {
+                velocity[i] = 0.0;
+                continue;
+            }
+            // Direction of travel relative to the robot
+            double cos = Math.cos(heading[i]);
+            double sin = Math.sin(heading[i]);
+            double forward = Math.abs(tangentX[i] * cos + tangentY[i] * sin);
+            double strafe = Math.abs(-tangentX[i] * sin + tangentY[i] * cos);
+            double turn = Math.abs(headingDerivative[i]);
+
+            double limit = constraints.maxVelocity / (forward + strafe + turn * LEVER_ARM);
+            if (turn > 1e-9) {
+                limit = Math.min(limit, constraints.maxAngularVelocity / turn);
+            }
+            if (Math.abs(curvature[i]) > 1e-9) {
+                limit = Math.min(limit, Math.sqrt(constraints.maxAcceleration / Math.abs(curvature[i])));
+            }
+            velocity[i] = limit;
+        }
+
+        // ===== 3. Acceleration limits =====
+        for (int i = 0; i + 1 < count; i++) {
+            double reachable = Math.sqrt(velocity[i] * velocity[i]
+                + 2 * acceleration(constraints, velocity[i], curvature[i], headingDerivative[i]) * step[i]);
+            velocity[i + 1] = Math.min(velocity[i + 1], reachable);
+        }
+        for (int i = count - 1; i > 0; i--) {
+            double reachable = Math.sqrt(velocity[i] * velocity[i]
+                + 2 * acceleration(constraints, velocity[i], curvature[i], headingDerivative[i]) * step[i - 1]);
+            velocity[i - 1] = Math.min(velocity[i - 1], reachable);
+        }
+
+        // ===== 4. Time along the path =====
+        double[] time = new double[count];
+        for (int i = 0; i + 1 < count; i++) {
+            double speedSum = velocity[i] + velocity[i + 1];
+            time[i + 1] = time[i] + (speedSum > 1e-9 ? 2 * step[i] / speedSum : 0.0);
+        }
+        double duration = time[count - 1];
+
+        // ===== 5. Resample at a fixed period =====
+        double period = TrajectoryConstants.SAMPLE_PERIOD;
+        int samples = Math.max(2, (int) Math.ceil(duration / period) + 1);
+        double[] sx = new double[samples];
+        double[] sy = new double[samples];
+        double[] sHeading = new double[samples];
+        double[] sVelocityX = new double[samples];
+        double[] sVelocityY = new double[samples];
+        double[] sAngularVelocity = new double[samples];
+        double[] sAccelX = new double[samples];
+        double[] sAccelY = new double[samples];
+        double[] sAngularAccel = new double[samples];
+
+        int i = 0;
+        for (int k = 0; k < samples; k++) {
+            double t = Math.min(k * period, duration);
+            while (i < count - 2 && time[i + 1] <= t) {
+                i++;
+            }
+            double ds = step[i];
+            double v0 = velocity[i];
+            double v1 = velocity[i + 1];
+            double accel = ds > 0 ? (v1 * v1 - v0 * v0) / (2 * ds) : 0.0;
+            double tau = Math.max(0.0, t - time[i]);
+            double travelled = Math.max(0.0, Math.min(ds, v0 * tau + 0.5 * accel * tau * tau));
+            double speed = Math.max(0.0, Math.min(Math.max(v0, v1), v0 + accel * tau));
+            double f = ds > 0 ? travelled / ds : 0.0;
+
+            double tx = tangentX[i] + (tangentX[i + 1] - tangentX[i]) * f;
+            double ty = tangentY[i] + (tangentY[i + 1] - tangentY[i]) * f;
+            double norm = Math.hypot(tx, ty);
+            if (norm > 1e-9) {
+                tx /= norm;
+                ty /= norm;
+            }
+            double dHeading = headingDerivative[i] + (headingDerivative[i + 1] - headingDerivative[i]) * f;
+            double kappa = curvature[i] + (curvature[i + 1] - curvature[i]) * f;
+
+            sx[k] = x[i] + (x[i + 1] - x[i]) * f;
+            sy[k] = y[i] + (y[i + 1] - y[i]) * f;
+            sHeading[k] = heading[i] + (heading[i + 1] - heading[i]) * f;
+            sVelocityX[k] = speed * tx;
+            sVelocityY[k] = speed * ty;
+            sAngularVelocity[k] = speed * dHeading;
+
+            // Tangential plus centripetal (left normal is (-ty, tx))
+            double centripetal = speed * speed * kappa;
+            sAccelX[k] = accel * tx - centripetal * ty;
+            sAccelY[k] = accel * ty + centripetal * tx;
+            sAngularAccel[k] = accel * dHeading;
+        }
+
+        // Come to rest exactly at the end
+        int last = samples - 1;
+        sx[last] = x[count - 1];
+        sy[last] = y[count - 1];
+        sHeading[last] = heading[count - 1];
+        sVelocityX[last] = 0.0;
+        sVelocityY[last] = 0.0;
+        sAngularVelocity[last] = 0.0;
+        sAccelX[last] = 0.0;
+        sAccelY[last] = 0.0;
+        sAngularAccel[last] = 0.0;
+
+        return new Trajectory(period, duration, sx, sy, sHeading,
+            sVelocityX, sVelocityY, sAngularVelocity, sAccelX, sAccelY, sAngularAccel);
+    }
+
+    private static int intervals(Path segment) {
+        return Math.max(1, (int) Math.ceil(segment.length() / TrajectoryConstants.PATH_RESOLUTION));
+    }
+
+    /**
+     * @return Tangential acceleration available at a point, after the
+     *         centripetal share and the angular acceleration limit
+     */
+    private static double acceleration(TrajectoryConstraints constraints,
+                                       double velocity, double curvature, double headingDerivative) {
+        double centripetal = velocity * velocity * Math.abs(curvature);
+        double available = constraints.maxAcceleration * constraints.maxAcceleration - centripetal * centripetal;
+        double accel = available > 0 ? Math.sqrt(available) : 0.0;
+        if (Math.abs(headingDerivative) > 1e-9) {
+            accel = Math.min(accel, constraints.maxAngularAcceleration / Math.abs(headingDerivative));
+        }
+        // Never fully stuck; the speed caps already hold the centripetal limit
+        return Math.max(accel, 1e-3 * constraints.maxAcceleration);
+    }
+
+    // Prevent instantiation
+    private TrajectoryGenerator() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
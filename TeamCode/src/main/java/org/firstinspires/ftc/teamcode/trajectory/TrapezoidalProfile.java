@@ -0,0 +1,101 @@
+package org.firstinspires.ftc.teamcode.trajectory;
+
+/**
+ * One-dimensional trapezoidal motion profile from rest to rest:
+ * accelerate at the limit, cruise at the maximum velocity, decelerate at
+ * the limit. Short moves never reach the maximum and become triangular.
+ *
+ * Queries are pure functions of time, so the profile can be sampled every
+ * loop without allocating.
+ */
+public class TrapezoidalProfile {
+
+    private final double distance;
+    private final double acceleration;
+    private final double peakVelocity;
+    private final double accelTime;
+    private final double cruiseTime;
+    private final double duration;
+
+    /**
+     * Creates a profile.
+     *
+     * @param distance Distance to travel, not negative
+     * @param maxVelocity Velocity limit, positive
+     * @param maxAcceleration Acceleration limit, positive
+     */
+    public TrapezoidalProfile(double distance, double maxVelocity, double maxAcceleration) {
+        if (distance < 0 || maxVelocity <= 0 || maxAcceleration <= 0) {
+            throw new IllegalArgumentException("Distance must not be negative and limits must be positive");
+        }
+        this.distance = distance;
+        this.acceleration = maxAcceleration;
+        this.peakVelocity = Math.min(maxVelocity, Math.sqrt(distance * maxAcceleration));
+        this.accelTime = peakVelocity / maxAcceleration;
+        double accelDistance = peakVelocity * accelTime; // both ramps together
+        this.cruiseTime = peakVelocity > 0 ? (distance - accelDistance) / peakVelocity : 0.0;
+        this.duration = 2 * accelTime + cruiseTime;
+    }
+
+    /**
+     * @param t Time since the start (seconds)
+     * @return Distance travelled
+     */
+    public double position(double t) {
+        if (t <= 0) {
+            return 0.0;
+        }
+        if (t < accelTime) {
+            return 0.5 * acceleration * t * t;
+        }
+        if (t < accelTime + cruiseTime) {
+            return 0.5 * peakVelocity * accelTime + peakVelocity * (t - accelTime);
+        }
+        if (t < duration) {
+            double remaining = duration - t;
+            return distance - 0.5 * acceleration * remaining * remaining;
+        }
+        return distance;
+    }
+
+    /**
+     * @param t Time since the start (seconds)
+     * @return Velocity
+     */
+    public double velocity(double t) {
+        if (t <= 0 || t >= duration) {
+            return 0.0;
+        }
+        if (t < accelTime) {
+            return acceleration * t;
+        }
+        if (t < accelTime + cruiseTime) {
+            return peakVelocity;
+        }
+        return acceleration * (duration - t);
+    }
+
+    /**
+     * @param t Time since the start (seconds)
+     * @return Acceleration
+     */
+    public double acceleration(double t) {
+        if (t <= 0 || t >= duration) {
+            return 0.0;
+        }
+        if (t < accelTime) {
+            return acceleration;
+        }
+        if (t < accelTime + cruiseTime) {
+            return 0.0;
+        }
+        return -acceleration;
+    }
+
+    /**
+     * @return Total time (seconds)
+     */
+    public double getDuration() {
+        return duration;
+    }
+}
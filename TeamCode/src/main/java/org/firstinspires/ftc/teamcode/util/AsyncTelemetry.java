@@ -0,0 +1,241 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves telemetry formatting and transmission off the control thread.
+ *
+ * The control thread writes to {@link #getRecorder()}, a Telemetry that
+ * only records each addData()/addLine()/clear call with its arguments.
+ * Formatting does not happen there. The arguments are the values of this
+ * loop (numbers and strings), so the recorded frame is a snapshot of the
+ * loop's state. Calling update() on the recorder publishes the frame with
+ * one atomic exchange and returns.
+ *
+ * A background thread takes the newest frame, replays it into the real
+ * Telemetry (where String.format runs) and calls update(). It runs at most
+ * once per transmission interval, since frames formatted faster would
+ * never be sent. Frames published while it is busy replace each other and
+ * are counted as dropped. Frame buffers are recycled, so steady state does
+ * not allocate beyond the recorded arguments.
+ *
+ * Every existing addTelemetry(Telemetry) helper works with the recorder
+ * unchanged. Two limits: arguments must not be mutated after the call
+ * (pass values, not arrays that are reused), and the Item/Line return
+ * values are null, so calls cannot be chained. Settings such as
+ * setMsTransmissionInterval() go straight to the real Telemetry.
+ */
+public class AsyncTelemetry {
+
+    /**
+     * Calls recorded during one loop.
+     */
+    private static class Frame {
+        final List<Method> methods = new ArrayList<>();
+        final List<Object[]> arguments = new ArrayList<>();
+
+        void add(Method method, Object[] args) {
+            methods.add(method);
+            arguments.add(args);
+        }
+
+        void replay(Telemetry telemetry) throws ReflectiveOperationException {
+            for (int i = 0; i < methods.size(); i++) {
+                methods.get(i).invoke(telemetry, arguments.get(i));
+            }
+        }
+
+        void clear() {
+            methods.clear();
+            arguments.clear();
+        }
+    }
+
+    private final Telemetry telemetry;
+    private final Telemetry recorder;
+
+    // ==================== Frame Handoff ====================
+
+    private final AtomicReference<Frame> pending = new AtomicReference<>();
+    private final AtomicReference<Frame> spare = new AtomicReference<>();
+    private Frame building = new Frame();  // Control thread only
+
+    // ==================== Worker ====================
+
+    private final Thread worker;
+    private volatile boolean running;
+
+    // ==================== Statistics ====================
+
+    private long published;                 // Control thread only
+    private long dropped;                   // Control thread only
+    private volatile long sent;
+    private volatile double averageSendNanos;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates the recorder and worker. Call {@link #start()} before use.
+     *
+     * @param telemetry The OpMode's telemetry, written only by the worker from now on
+     */
+    public AsyncTelemetry(Telemetry telemetry) {
+        this.telemetry = telemetry;
+        this.recorder = (Telemetry) Proxy.newProxyInstance(
+            Telemetry.class.getClassLoader(), new Class<?>[] {Telemetry.class},
+            (proxy, method, args) -> record(proxy, method, args));
+        worker = new Thread(this::workerLoop, "AsyncTelemetry");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Start the telemetry thread.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Stop the telemetry thread and wait for it, so the caller can write to
+     * the real telemetry again. An unsent frame is discarded.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== Control Thread ====================
+
+    /**
+     * @return Telemetry to write each loop's output to; update() publishes the frame
+     */
+    public Telemetry getRecorder() {
+        return recorder;
+    }
+
+    private Object record(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "AsyncTelemetry recorder";
+            }
+        }
+        switch (method.getName()) {
+            case "addData":
+            case "addLine":
+            case "clear":
+            case "clearAll":
+                building.add(method, args);
+                return null;
+            case "update":
+                publish();
+                return true;
+            default:
+                // Settings and queries
+                try {
+                    return method.invoke(telemetry, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    private void publish() {
+        published++;
+        Frame replaced = pending.getAndSet(building);
+        if (replaced != null) {
+            // The worker never saw it; reuse its buffer
+            dropped++;
+            building = replaced;
+        } else {
+            Frame free = spare.getAndSet(null);
+            building = free != null ? free : new Frame();
+        }
+        building.clear();
+        LockSupport.unpark(worker);
+    }
+
+    // ==================== Worker ====================
+
+    private void workerLoop() {
+        long nextSendNanos = System.nanoTime();
+        while (running) {
+            // Frames formatted faster than the transmission interval are never sent
+            long wait = nextSendNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+
+            Frame frame = pending.getAndSet(null);
+            if (frame == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                frame.replay(telemetry);
+                telemetry.update();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.err.println("AsyncTelemetry: frame failed: " + e);
+            }
+            long elapsed = System.nanoTime() - start;
+            averageSendNanos = sent == 0 ? elapsed : 0.9 * averageSendNanos + 0.1 * elapsed;
+            sent++;
+
+            frame.clear();
+            spare.set(frame);
+            nextSendNanos = start + telemetry.getMsTransmissionInterval() * 1_000_000L;
+        }
+    }
+
+    // ==================== Statistics ====================
+
+    /**
+     * @return Frames published by the control thread
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * @return Frames replaced by a newer one before the worker sent them
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return Frames formatted and sent by the worker
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return Smoothed time the worker spends formatting and sending a frame (nanoseconds)
+     */
+    public double getAverageSendNanos() {
+        return averageSendNanos;
+    }
+}
@@ -0,0 +1,303 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.List;
+
+/**
+ * Bulk caching for every hub on the robot (Control Hub and Expansion Hubs).
+ *
+ * All LynxModules are put into MANUAL bulk caching mode. {@link #update()}
+ * must be called exactly once at the start of each loop: it clears every
+ * hub's cache and immediately refreshes it with one bulk read per hub, so
+ * all encoder, velocity and digital reads in that loop come from the same
+ * snapshot without further USB/RS-485 transactions.
+ *
+ * The Control Hub's embedded module and an Expansion Hub sit on different
+ * transports, so their bulk reads can be issued concurrently. In concurrent
+ * mode the calling thread reads the first hub while one persistent worker
+ * thread per additional hub reads the others.
+ *
+ * Per-hub read latency is recorded to help decide which hub devices should
+ * be placed on.
+ *
+ * Usage:
+ * <pre>
+ * BulkReadManager bulkReads = new BulkReadManager(hardwareMap);
+ * bulkReads.setConcurrent(true);
+ *
+ * // At the start of every loop, before reading any sensor:
+ * bulkReads.update();
+ * </pre>
+ */
+public class BulkReadManager {
+
+    // ==================== Hubs ====================
+
+    private final LynxModule[] hubs;
+    private final String[] hubNames;
+
+    // ==================== Timing ====================
+
+    private final long[] lastLatencyNanos;
+    private final double[] averageLatencyNanos;
+    private long lastUpdateNanos;
+
+    // ==================== Workers ====================
+
+    private final Thread[] workers;
+    private final Object lock = new Object();
+    private final RuntimeException[] errors;
+    private boolean concurrent;
+    private boolean workersStarted;
+    private volatile boolean running = true;
+
+    // Current dispatch, guarded by lock
+    private int generation;
+    private int remaining;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Discover every hub and switch it to MANUAL bulk caching.
+     *
+     * @param hardwareMap The hardware map from the OpMode
+     */
+    public BulkReadManager(HardwareMap hardwareMap) {
+        List<LynxModule> modules = hardwareMap.getAll(LynxModule.class);
+        hubs = modules.toArray(new LynxModule[0]);
+        hubNames = new String[hubs.length];
+        for (int i = 0; i < hubs.length; i++) {
+            hubs[i].setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+            hubNames[i] = (hubs[i].isParent() ? "Parent " : "Child ") + hubs[i].getDeviceName();
+        }
+
+        lastLatencyNanos = new long[hubs.length];
+        averageLatencyNanos = new double[hubs.length];
+        errors = new RuntimeException[hubs.length];
+        workers = new Thread[Math.max(0, hubs.length - 1)];
+    }
+
+    // ==================== Configuration ====================
+
+    /**
+     * Issue the hubs' bulk reads concurrently. Has no effect with a single hub.
+     * Worker threads are started on the first concurrent update.
+     *
+     * @param concurrent true to read all hubs at the same time
+     */
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * @return true if hubs are read concurrently
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    // ==================== Update ====================
+
+    /**
+     * Clear every hub's cache and refresh it with a new bulk read.
+     * Call exactly once per loop, before anything reads hardware.
+     *
+     * @throws RuntimeException if a hub's bulk read failed
+     */
+    public void update() {
+        long start = System.nanoTime();
+
+        for (LynxModule hub : hubs) {
+            hub.clearBulkCache();
+        }
+
+        if (!concurrent || !running || hubs.length < 2) {
+            for (int i = 0; i < hubs.length; i++) {
+                readHub(i);
+            }
+        } else {
+            if (!workersStarted) {
+                startWorkers();
+            }
+            synchronized (lock) {
+                remaining = workers.length;
+                generation++;
+                lock.notifyAll();
+            }
+            readHub(0);
+            awaitWorkers();
+        }
+
+        lastUpdateNanos = System.nanoTime() - start;
+        rethrowErrors();
+    }
+
+    private void readHub(int index) {
+        long start = System.nanoTime();
+        try {
+            hubs[index].getBulkData();
+        } catch (RuntimeException e) {
+            errors[index] = e;
+        }
+        long latency = System.nanoTime() - start;
+        lastLatencyNanos[index] = latency;
+        averageLatencyNanos[index] = averageLatencyNanos[index] == 0
+            ? latency
+            : 0.95 * averageLatencyNanos[index] + 0.05 * latency;
+    }
+
+    private void awaitWorkers() {
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (remaining > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    // Workers write the timing arrays; never return before they finish
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rethrowErrors() {
+        for (int i = 0; i < errors.length; i++) {
+            RuntimeException error = errors[i];
+            if (error != null) {
+                errors[i] = null;
+                throw error;
+            }
+        }
+    }
+
+    // ==================== Workers ====================
+
+    private void startWorkers() {
+        int startGeneration;
+        synchronized (lock) {
+            startGeneration = generation;
+        }
+        for (int i = 0; i < workers.length; i++) {
+            int hubIndex = i + 1;
+            workers[i] = new Thread(() -> workerLoop(hubIndex, startGeneration), "BulkRead-" + hubIndex);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        workersStarted = true;
+    }
+
+    private void workerLoop(int hubIndex, int startGeneration) {
+        // Dispatches issued before the thread got scheduled are still picked up
+        int seenGeneration = startGeneration;
+        while (true) {
+            synchronized (lock) {
+                while (running && generation == seenGeneration) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                seenGeneration = generation;
+            }
+            readHub(hubIndex);
+            synchronized (lock) {
+                remaining--;
+                if (remaining == 0) {
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the worker threads. Serial updates keep working afterwards, but
+     * {@link #isRunning()} turns false so snapshot consumers stop too.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        concurrent = false;
+    }
+
+    /**
+     * @return false once {@link #shutdown()} has been called
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * @return Number of hubs found
+     */
+    public int getHubCount() {
+        return hubs.length;
+    }
+
+    /**
+     * @param index Hub index
+     * @return The hub
+     */
+    public LynxModule getHub(int index) {
+        return hubs[index];
+    }
+
+    /**
+     * @param index Hub index
+     * @return Display name of the hub
+     */
+    public String getHubName(int index) {
+        return hubNames[index];
+    }
+
+    /**
+     * @param index Hub index
+     * @return Latency of the hub's last bulk read in nanoseconds
+     */
+    public long getLastLatencyNanos(int index) {
+        return lastLatencyNanos[index];
+    }
+
+    /**
+     * @param index Hub index
+     * @return Smoothed bulk read latency of the hub in nanoseconds
+     */
+    public double getAverageLatencyNanos(int index) {
+        return averageLatencyNanos[index];
+    }
+
+    /**
+     * @return Wall time of the last update() in nanoseconds
+     */
+    public long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    /**
+     * Add per-hub read latency to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Bulk Read", "%.2f ms (%s)",
+            lastUpdateNanos / 1e6, concurrent && hubs.length > 1 ? "concurrent" : "serial");
+        for (int i = 0; i < hubs.length; i++) {
+            telemetry.addData(hubNames[i], "%.2f ms (avg %.2f ms)",
+                lastLatencyNanos[i] / 1e6, averageLatencyNanos[i] / 1e6);
+        }
+    }
+}
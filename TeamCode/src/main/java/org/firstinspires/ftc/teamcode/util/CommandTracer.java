@@ -0,0 +1,364 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import com.arcrobotics.ftclib.command.Command;
+import com.arcrobotics.ftclib.command.CommandScheduler;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Records command scheduler activity with nanosecond timing.
+ *
+ * Every traced event (initialize, execute, finish, interrupt, periodic, loop)
+ * is written into a preallocated ring buffer of primitive arrays, so tracing
+ * does not allocate during the loop once every command has been seen once.
+ * In addition, the total and worst-case cost of each command is aggregated
+ * so a slow command can be spotted before it blows the loop budget.
+ *
+ * FTCLib only notifies us AFTER a command method returns, so durations are
+ * measured between consecutive trace points:
+ * - The periodic phase is the time from {@link #beginLoop()} until the
+ *   tracer's marker button runs (right after all subsystem periodic() calls)
+ * - Each execute() is the time since the previous trace point
+ * - A finish includes isFinished() and end(false) of that command
+ *
+ * Usage:
+ * <pre>
+ * // In initialize(), BEFORE configuring button bindings:
+ * tracer = new CommandTracer(512, 20.0);
+ * tracer.install();
+ *
+ * // In run():
+ * tracer.beginLoop();
+ * super.run();
+ * tracer.endLoop();
+ * </pre>
+ */
+public class CommandTracer {
+
+    // ==================== Event Types ====================
+
+    /**
+     * Kinds of events stored in the trace.
+     */
+    public enum EventType {
+        INITIALIZE,
+        EXECUTE,
+        FINISH,
+        INTERRUPT,
+        PERIODIC,
+        LOOP
+    }
+
+    // Cached to avoid the array copy made by EventType.values()
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    /**
+     * Maximum number of distinct commands/subsystems that can be tracked
+     */
+    public static final int MAX_SOURCES = 64;
+
+    /**
+     * Source id used for events that do not belong to a command (loop, periodic phase)
+     */
+    public static final int SCHEDULER_SOURCE = 0;
+
+    // ==================== Ring Buffer ====================
+
+    private final int capacity;
+    private final long[] eventTimestamps;
+    private final long[] eventDurations;
+    private final byte[] eventTypes;
+    private final int[] eventSources;
+    private int head;
+    private long totalEvents;
+
+    // ==================== Per-Source Aggregates ====================
+
+    private final Map<Object, Integer> sourceIds = new IdentityHashMap<>();
+    private final String[] sourceNames = new String[MAX_SOURCES];
+    private final long[] sourceCalls = new long[MAX_SOURCES];
+    private final long[] sourceTotalNanos = new long[MAX_SOURCES];
+    private final long[] sourceMaxNanos = new long[MAX_SOURCES];
+    private final long[] sourceLastNanos = new long[MAX_SOURCES];
+    private final long[] sourceInterrupts = new long[MAX_SOURCES];
+    private int sourceCount;
+
+    // ==================== Loop Timing ====================
+
+    private final long loopBudgetNanos;
+    private long loopStartNanos;
+    private long markNanos;
+    private long lastLoopNanos;
+    private long maxLoopNanos;
+    private long overBudgetLoops;
+    private long loopCount;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a new CommandTracer.
+     *
+     * @param capacity Number of events kept in the ring buffer
+     * @param loopBudgetMs Loop time budget in milliseconds, used to flag slow loops
+     */
+    public CommandTracer(int capacity, double loopBudgetMs) {
+        this.capacity = capacity;
+        this.eventTimestamps = new long[capacity];
+        this.eventDurations = new long[capacity];
+        this.eventTypes = new byte[capacity];
+        this.eventSources = new int[capacity];
+        this.loopBudgetNanos = (long) (loopBudgetMs * 1_000_000L);
+
+        // Reserve id 0 for the scheduler itself
+        sourceNames[SCHEDULER_SOURCE] = "Scheduler";
+        sourceCount = 1;
+    }
+
+    // ==================== Installation ====================
+
+    /**
+     * Hook this tracer into the FTCLib CommandScheduler singleton.
+     *
+     * Call this before any button bindings are created so the marker button
+     * runs first, right after the subsystem periodic() phase.
+     */
+    public void install() {
+        CommandScheduler scheduler = CommandScheduler.getInstance();
+        scheduler.addButton(this::markPeriodicEnd);
+        scheduler.onCommandInitialize(command -> record(EventType.INITIALIZE, command));
+        scheduler.onCommandExecute(command -> record(EventType.EXECUTE, command));
+        scheduler.onCommandFinish(command -> record(EventType.FINISH, command));
+        scheduler.onCommandInterrupt(command -> record(EventType.INTERRUPT, command));
+    }
+
+    // ==================== Loop Markers ====================
+
+    /**
+     * Mark the start of a scheduler cycle. Call right before the scheduler runs.
+     */
+    public void beginLoop() {
+        loopStartNanos = System.nanoTime();
+        markNanos = loopStartNanos;
+    }
+
+    /**
+     * Mark the end of a scheduler cycle. Call right after the scheduler runs.
+     */
+    public void endLoop() {
+        long now = System.nanoTime();
+        lastLoopNanos = now - loopStartNanos;
+        loopCount++;
+        if (lastLoopNanos > maxLoopNanos) {
+            maxLoopNanos = lastLoopNanos;
+        }
+        if (lastLoopNanos > loopBudgetNanos) {
+            overBudgetLoops++;
+        }
+        append(EventType.LOOP, SCHEDULER_SOURCE, now, lastLoopNanos);
+        markNanos = now;
+    }
+
+    /**
+     * Marker run by the scheduler after all subsystem periodic() calls.
+     */
+    private void markPeriodicEnd() {
+        long now = System.nanoTime();
+        long duration = now - markNanos;
+        markNanos = now;
+        append(EventType.PERIODIC, SCHEDULER_SOURCE, now, duration);
+        accumulate(SCHEDULER_SOURCE, duration);
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Record an event whose duration is the time since the previous trace point.
+     *
+     * @param type Event type
+     * @param source Command or subsystem the event belongs to
+     */
+    public void record(EventType type, Object source) {
+        long now = System.nanoTime();
+        long duration = now - markNanos;
+        markNanos = now;
+        record(type, source, now, duration);
+    }
+
+    /**
+     * Record an event with an explicitly measured duration.
+     * Schedulers that can bracket each call (e.g. one subsystem's periodic())
+     * should use this for exact timing.
+     *
+     * @param type Event type
+     * @param source Command or subsystem the event belongs to
+     * @param timestampNanos System.nanoTime() at the end of the event
+     * @param durationNanos Duration of the event in nanoseconds
+     */
+    public void record(EventType type, Object source, long timestampNanos, long durationNanos) {
+        int id = idOf(source);
+        append(type, id, timestampNanos, durationNanos);
+        accumulate(id, durationNanos);
+        if (type == EventType.INTERRUPT) {
+            sourceInterrupts[id]++;
+        }
+        markNanos = timestampNanos;
+    }
+
+    private void append(EventType type, int source, long timestampNanos, long durationNanos) {
+        eventTimestamps[head] = timestampNanos;
+        eventDurations[head] = durationNanos;
+        eventTypes[head] = (byte) type.ordinal();
+        eventSources[head] = source;
+        head = (head + 1) % capacity;
+        totalEvents++;
+    }
+
+    private void accumulate(int id, long durationNanos) {
+        sourceCalls[id]++;
+        sourceTotalNanos[id] += durationNanos;
+        sourceLastNanos[id] = durationNanos;
+        if (durationNanos > sourceMaxNanos[id]) {
+            sourceMaxNanos[id] = durationNanos;
+        }
+    }
+
+    /**
+     * Look up (or assign on first sight) the id of a traced source.
+     * Sources beyond MAX_SOURCES are folded into the scheduler entry.
+     */
+    private int idOf(Object source) {
+        Integer id = sourceIds.get(source);
+        if (id != null) {
+            return id;
+        }
+        if (sourceCount >= MAX_SOURCES) {
+            return SCHEDULER_SOURCE;
+        }
+        int newId = sourceCount++;
+        sourceNames[newId] = nameOf(source);
+        sourceIds.put(source, newId);
+        return newId;
+    }
+
+    private static String nameOf(Object source) {
+        if (source instanceof Command) {
+            return ((Command) source).getName();
+        }
+        return source.getClass().getSimpleName();
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * @return Number of events currently held in the ring buffer
+     */
+    public int getEventCount() {
+        return (int) Math.min(totalEvents, capacity);
+    }
+
+    /**
+     * @return Duration of the last complete scheduler cycle in nanoseconds
+     */
+    public long getLastLoopNanos() {
+        return lastLoopNanos;
+    }
+
+    /**
+     * @return Number of cycles that exceeded the loop budget
+     */
+    public long getOverBudgetLoops() {
+        return overBudgetLoops;
+    }
+
+    /**
+     * Find the command (or subsystem) with the highest worst-case cost.
+     *
+     * @return Name of the slowest source, or null if nothing was traced
+     */
+    public String getSlowestSource() {
+        int slowest = -1;
+        for (int i = 1; i < sourceCount; i++) {
+            if (slowest < 0 || sourceMaxNanos[i] > sourceMaxNanos[slowest]) {
+                slowest = i;
+            }
+        }
+        return slowest < 0 ? null : sourceNames[slowest];
+    }
+
+    /**
+     * Check whether any single traced call has used more than the given
+     * fraction of the loop budget.
+     *
+     * @param fraction Fraction of the loop budget (0.0 to 1.0)
+     * @return true if some command or subsystem exceeded the threshold
+     */
+    public boolean hasCallOverBudget(double fraction) {
+        long threshold = (long) (loopBudgetNanos * fraction);
+        for (int i = 1; i < sourceCount; i++) {
+            if (sourceMaxNanos[i] > threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clear all recorded events and statistics, keeping known sources.
+     */
+    public void clear() {
+        head = 0;
+        totalEvents = 0;
+        for (int i = 0; i < sourceCount; i++) {
+            sourceCalls[i] = 0;
+            sourceTotalNanos[i] = 0;
+            sourceMaxNanos[i] = 0;
+            sourceLastNanos[i] = 0;
+            sourceInterrupts[i] = 0;
+        }
+        maxLoopNanos = 0;
+        overBudgetLoops = 0;
+        loopCount = 0;
+    }
+
+    // ==================== Reporting ====================
+
+    /**
+     * Add per-command cost statistics to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Loop (ms)", "%.2f last / %.2f max",
+            lastLoopNanos / 1e6, maxLoopNanos / 1e6);
+        telemetry.addData("Over Budget", "%d / %d loops", overBudgetLoops, loopCount);
+        for (int i = 0; i < sourceCount; i++) {
+            if (sourceCalls[i] == 0) {
+                continue;
+            }
+            telemetry.addData(sourceNames[i], "avg %.3f max %.3f ms (%d calls, %d int)",
+                sourceTotalNanos[i] / 1e6 / sourceCalls[i],
+                sourceMaxNanos[i] / 1e6,
+                sourceCalls[i],
+                sourceInterrupts[i]);
+        }
+    }
+
+    /**
+     * Print the ring buffer contents, oldest first, to standard output (logcat).
+     */
+    public void dumpEvents() {
+        int count = getEventCount();
+        int start = (head - count + capacity) % capacity;
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % capacity;
+            System.out.println(String.format("TRACE %d %-10s %-24s %.3f ms",
+                eventTimestamps[index],
+                EVENT_TYPES[eventTypes[index]],
+                sourceNames[eventSources[index]],
+                eventDurations[index] / 1e6));
+        }
+    }
+}
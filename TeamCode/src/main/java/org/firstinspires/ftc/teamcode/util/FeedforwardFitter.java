@@ -0,0 +1,294 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Least-squares fitter for drive characterization logs.
+ *
+ * Reads the CSV written by the Drive Characterization opmode and fits the
+ * feedforward model, per direction (forward, strafe, rotate):
+ * <pre>
+ * V = kS * sign(v) + kV * v + kA * a
+ * </pre>
+ * - kS and kV from the quasi-static ramp (acceleration is negligible there)
+ * - kA from the step test, on what kS and kV leave unexplained
+ * - Mecanum lever arm from the rotate runs: wheel surface speed divided
+ *   by angular velocity. The drive code uses (TRACK_WIDTH + WHEEL_BASE) / 2,
+ *   so the matching TRACK_WIDTH is 2 * leverArm - WHEEL_BASE.
+ *
+ * Has no Android dependencies, so it also runs on a laptop; pass the wheel
+ * base to also get TRACK_WIDTH:
+ * <pre>
+ * java FeedforwardFitter.java drive_1700000000000.csv 13.5
+ * </pre>
+ */
+public final class FeedforwardFitter {
+
+    /**
+     * Samples slower than this are static friction noise and are skipped (inches/s)
+     */
+    private static final double MIN_VELOCITY = 0.5;
+
+    /**
+     * Samples turning slower than this are skipped for the lever arm fit (rad/s)
+     */
+    private static final double MIN_ANGULAR_VELOCITY = 0.2;
+
+    // ==================== Results ====================
+
+    /**
+     * Fitted gains for one direction. Units: volts, inches, seconds.
+     */
+    public static class ModeResult {
+        public final String mode;
+        public final double kS;
+        public final double kV;
+        public final double kA;
+        public final double rSquared;
+        public final int samples;
+
+        ModeResult(String mode, double kS, double kV, double kA, double rSquared, int samples) {
+            this.mode = mode;
+            this.kS = kS;
+            this.kV = kV;
+            this.kA = kA;
+            this.rSquared = rSquared;
+            this.samples = samples;
+        }
+    }
+
+    /**
+     * All fitted values.
+     */
+    public static class Result {
+        public final Map<String, ModeResult> modes = new LinkedHashMap<>();
+
+        /**
+         * Mecanum lever arm (inches), (TRACK_WIDTH + WHEEL_BASE) / 2 in the
+         * drive code, or NaN if the log has no angular velocity
+         */
+        public double leverArm = Double.NaN;
+
+        /**
+         * @param wheelBase DriveConstants.WHEEL_BASE (inches)
+         * @return Value for DriveConstants.TRACK_WIDTH (inches), or NaN
+         */
+        public double trackWidth(double wheelBase) {
+            return 2.0 * leverArm - wheelBase;
+        }
+
+        /**
+         * @return Human-readable summary, one line per value
+         */
+        public String format() {
+            return format(Double.NaN);
+        }
+
+        /**
+         * @param wheelBase DriveConstants.WHEEL_BASE (inches), or NaN to report the lever arm only
+         * @return Human-readable summary, one line per value
+         */
+        public String format(double wheelBase) {
+            StringBuilder text = new StringBuilder();
+            for (ModeResult result : modes.values()) {
+                text.append(String.format(Locale.US,
+                    "%-8s kS=%.4f V  kV=%.5f V/(in/s)  kA=%.5f V/(in/s²)  R²=%.3f  n=%d%n",
+                    result.mode, result.kS, result.kV, result.kA, result.rSquared, result.samples));
+            }
+            if (!Double.isNaN(leverArm)) {
+                text.append(String.format(Locale.US, "Lever arm: %.2f in%n", leverArm));
+                if (!Double.isNaN(wheelBase)) {
+                    text.append(String.format(Locale.US, "TRACK_WIDTH: %.2f in (WHEEL_BASE %.2f in)%n",
+                        trackWidth(wheelBase), wheelBase));
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    // ==================== Fitting ====================
+
+    private static class Sample {
+        String mode;
+        String test;
+        double volts;
+        double velocity;
+        double acceleration;
+        double angularVelocity;
+    }
+
+    /**
+     * Fit a characterization log.
+     *
+     * @param csv Log written by the characterization opmode
+     * @return Fitted values
+     * @throws IOException if the file cannot be read
+     */
+    public static Result fit(File csv) throws IOException {
+        List<Sample> samples = read(csv);
+
+        Map<String, List<Sample>> byMode = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            List<Sample> list = byMode.get(sample.mode);
+            if (list == null) {
+                list = new ArrayList<>();
+                byMode.put(sample.mode, list);
+            }
+            list.add(sample);
+        }
+
+        Result result = new Result();
+        for (Map.Entry<String, List<Sample>> entry : byMode.entrySet()) {
+            result.modes.put(entry.getKey(), fitMode(entry.getKey(), entry.getValue()));
+        }
+
+        List<Sample> rotate = byMode.get("ROTATE");
+        if (rotate != null) {
+            result.leverArm = fitLeverArm(rotate);
+        }
+        return result;
+    }
+
+    private static ModeResult fitMode(String mode, List<Sample> samples) {
+        // Quasi-static: V = kS * sign(v) + kV * v, via 2x2 normal equations
+        double sss = 0;
+        double ssv = 0;
+        double svv = 0;
+        double sy = 0;
+        double svy = 0;
+        double syy = 0;
+        double sumY = 0;
+        int n = 0;
+        for (Sample sample : samples) {
+            if (!sample.test.equals("QUASISTATIC") || Math.abs(sample.velocity) < MIN_VELOCITY) {
+                continue;
+            }
+            double sign = Math.signum(sample.velocity);
+            sss += sign * sign;
+            ssv += sign * sample.velocity;
+            svv += sample.velocity * sample.velocity;
+            sy += sign * sample.volts;
+            svy += sample.velocity * sample.volts;
+            syy += sample.volts * sample.volts;
+            sumY += sample.volts;
+            n++;
+        }
+
+        double det = sss * svv - ssv * ssv;
+        if (n < 3 || Math.abs(det) < 1e-12) {
+            return new ModeResult(mode, Double.NaN, Double.NaN, Double.NaN, Double.NaN, n);
+        }
+        double kS = (sy * svv - ssv * svy) / det;
+        double kV = (sss * svy - ssv * sy) / det;
+
+        // R² = 1 - SSres / SStot
+        double ssRes = syy - 2 * kS * sy - 2 * kV * svy
+            + kS * kS * sss + 2 * kS * kV * ssv + kV * kV * svv;
+        double mean = sumY / n;
+        double ssTot = syy - n * mean * mean;
+        double rSquared = ssTot > 0 ? 1.0 - ssRes / ssTot : Double.NaN;
+
+        // Step: kA from the residual of the quasi-static model
+        double sra = 0;
+        double saa = 0;
+        for (Sample sample : samples) {
+            if (!sample.test.equals("STEP") || Math.abs(sample.velocity) < MIN_VELOCITY) {
+                continue;
+            }
+            double residual = sample.volts - kS * Math.signum(sample.velocity) - kV * sample.velocity;
+            sra += residual * sample.acceleration;
+            saa += sample.acceleration * sample.acceleration;
+        }
+        double kA = saa > 0 ? sra / saa : Double.NaN;
+
+        return new ModeResult(mode, kS, kV, kA, rSquared, n);
+    }
+
+    private static double fitLeverArm(List<Sample> samples) {
+        // Wheel surface speed = leverArm * angularVelocity, fit through the origin
+        double svw = 0;
+        double sww = 0;
+        for (Sample sample : samples) {
+            if (Double.isNaN(sample.angularVelocity) || Math.abs(sample.angularVelocity) < MIN_ANGULAR_VELOCITY) {
+                continue;
+            }
+            svw += sample.velocity * sample.angularVelocity;
+            sww += sample.angularVelocity * sample.angularVelocity;
+        }
+        return sww > 0 ? svw / sww : Double.NaN;
+    }
+
+    // ==================== Input ====================
+
+    private static List<Sample> read(File csv) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(csv))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return samples;
+            }
+            String[] columns = header.split(",");
+            int mode = indexOf(columns, "mode");
+            int test = indexOf(columns, "test");
+            int volts = indexOf(columns, "applied_v");
+            int velocity = indexOf(columns, "velocity_in_s");
+            int acceleration = indexOf(columns, "acceleration_in_s2");
+            int angular = indexOf(columns, "angular_velocity_rad_s");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length < columns.length) {
+                    continue;
+                }
+                Sample sample = new Sample();
+                sample.mode = fields[mode];
+                sample.test = fields[test];
+                sample.volts = Double.parseDouble(fields[volts]);
+                sample.velocity = Double.parseDouble(fields[velocity]);
+                sample.acceleration = Double.parseDouble(fields[acceleration]);
+                sample.angularVelocity = Double.parseDouble(fields[angular]);
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    private static int indexOf(String[] columns, String name) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].trim().equals(name)) {
+                return i;
+            }
+        }
+        throw new IOException("Missing column: " + name);
+    }
+
+    // ==================== Command Line ====================
+
+    /**
+     * Fit a log and print the results.
+     *
+     * @param args Path of the characterization CSV, then optionally WHEEL_BASE (inches)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java FeedforwardFitter.java <characterization.csv> [wheelBaseInches]");
+            System.exit(1);
+        }
+        double wheelBase = args.length == 2 ? Double.parseDouble(args[1]) : Double.NaN;
+        System.out.print(fit(new File(args[0])).format(wheelBase));
+    }
+
+    // Prevent instantiation
+    private FeedforwardFitter() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+}
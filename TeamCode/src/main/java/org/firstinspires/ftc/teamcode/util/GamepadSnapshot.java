@@ -0,0 +1,283 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import com.arcrobotics.ftclib.gamepad.GamepadKeys;
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+/**
+ * Single-pass copy of a gamepad's state, taken once per loop.
+ *
+ * The SDK updates Gamepad fields from another thread, so reading them at
+ * different points in a loop can mix two different updates. Taking one
+ * snapshot at the start of the loop gives every command, toggle and binding
+ * the same consistent view.
+ *
+ * Buttons are packed into an int bitmask. Edges are computed against the
+ * previous snapshot with two bit operations:
+ * <pre>
+ * changed  = buttons ^ previous
+ * pressed  = changed &amp; buttons
+ * released = changed &amp; previous
+ * </pre>
+ *
+ * Stick getters follow FTCLib GamepadEx conventions (Y axis up is positive)
+ * so suppliers written against GamepadEx keep the same signs.
+ *
+ * Usage:
+ * <pre>
+ * // In initialize():
+ * driverInput = new GamepadSnapshot();
+ *
+ * // At the start of every loop:
+ * driverInput.update(gamepad1);
+ *
+ * if (driverInput.wasPressed(GamepadSnapshot.A)) { ... }
+ * </pre>
+ */
+public class GamepadSnapshot {
+
+    // ==================== Button Bits ====================
+
+    public static final int A = 1;
+    public static final int B = 1 << 1;
+    public static final int X = 1 << 2;
+    public static final int Y = 1 << 3;
+    public static final int LEFT_BUMPER = 1 << 4;
+    public static final int RIGHT_BUMPER = 1 << 5;
+    public static final int BACK = 1 << 6;
+    public static final int START = 1 << 7;
+    public static final int GUIDE = 1 << 8;
+    public static final int DPAD_UP = 1 << 9;
+    public static final int DPAD_DOWN = 1 << 10;
+    public static final int DPAD_LEFT = 1 << 11;
+    public static final int DPAD_RIGHT = 1 << 12;
+    public static final int LEFT_STICK_BUTTON = 1 << 13;
+    public static final int RIGHT_STICK_BUTTON = 1 << 14;
+    public static final int TOUCHPAD = 1 << 15;
+
+    // ==================== Axes ====================
+
+    private float leftStickX;
+    private float leftStickY;
+    private float rightStickX;
+    private float rightStickY;
+    private float leftTrigger;
+    private float rightTrigger;
+
+    // ==================== Buttons ====================
+
+    private int buttons;
+    private int previousButtons;
+    private int pressed;
+    private int released;
+
+    // ==================== Timing ====================
+
+    private long timestamp;
+    private long previousTimestamp;
+    private long captureNanos;
+
+    // ==================== Update ====================
+
+    /**
+     * Copy the current gamepad state and compute button edges.
+     * Call exactly once per loop, before anything reads the snapshot.
+     *
+     * @param gamepad Gamepad to copy (e.g. gamepad1)
+     */
+    public void update(Gamepad gamepad) {
+        leftStickX = gamepad.left_stick_x;
+        leftStickY = gamepad.left_stick_y;
+        rightStickX = gamepad.right_stick_x;
+        rightStickY = gamepad.right_stick_y;
+        leftTrigger = gamepad.left_trigger;
+        rightTrigger = gamepad.right_trigger;
+
+        int current = 0;
+        if (gamepad.a) current |= A;
+        if (gamepad.b) current |= B;
+        if (gamepad.x) current |= X;
+        if (gamepad.y) current |= Y;
+        if (gamepad.left_bumper) current |= LEFT_BUMPER;
+        if (gamepad.right_bumper) current |= RIGHT_BUMPER;
+        if (gamepad.back) current |= BACK;
+        if (gamepad.start) current |= START;
+        if (gamepad.guide) current |= GUIDE;
+        if (gamepad.dpad_up) current |= DPAD_UP;
+        if (gamepad.dpad_down) current |= DPAD_DOWN;
+        if (gamepad.dpad_left) current |= DPAD_LEFT;
+        if (gamepad.dpad_right) current |= DPAD_RIGHT;
+        if (gamepad.left_stick_button) current |= LEFT_STICK_BUTTON;
+        if (gamepad.right_stick_button) current |= RIGHT_STICK_BUTTON;
+        if (gamepad.touchpad) current |= TOUCHPAD;
+
+        previousButtons = buttons;
+        buttons = current;
+        int changed = current ^ previousButtons;
+        pressed = changed & current;
+        released = changed & previousButtons;
+
+        previousTimestamp = timestamp;
+        timestamp = gamepad.timestamp;
+        captureNanos = System.nanoTime();
+    }
+
+    // ==================== Button Queries ====================
+
+    /**
+     * @param mask One or more button bits
+     * @return true if all buttons in the mask are down
+     */
+    public boolean isDown(int mask) {
+        return (buttons & mask) == mask;
+    }
+
+    /**
+     * @param mask One or more button bits
+     * @return true if all buttons in the mask were down in the previous snapshot
+     */
+    public boolean wasDown(int mask) {
+        return (previousButtons & mask) == mask;
+    }
+
+    /**
+     * @param mask One or more button bits
+     * @return true if any button in the mask went down this loop
+     */
+    public boolean wasPressed(int mask) {
+        return (pressed & mask) != 0;
+    }
+
+    /**
+     * @param mask One or more button bits
+     * @return true if any button in the mask went up this loop
+     */
+    public boolean wasReleased(int mask) {
+        return (released & mask) != 0;
+    }
+
+    /**
+     * @return Bitmask of buttons currently down
+     */
+    public int getButtons() {
+        return buttons;
+    }
+
+    /**
+     * @return Bitmask of buttons that went down this loop
+     */
+    public int getPressed() {
+        return pressed;
+    }
+
+    /**
+     * @return Bitmask of buttons that went up this loop
+     */
+    public int getReleased() {
+        return released;
+    }
+
+    /**
+     * @return Bitmask of buttons down in both this and the previous snapshot
+     */
+    public int getHeld() {
+        return buttons & previousButtons;
+    }
+
+    // ==================== Axis Queries ====================
+
+    /**
+     * @return Left stick X (right positive)
+     */
+    public double getLeftX() {
+        return leftStickX;
+    }
+
+    /**
+     * @return Left stick Y (up positive, same as GamepadEx)
+     */
+    public double getLeftY() {
+        return -leftStickY;
+    }
+
+    /**
+     * @return Right stick X (right positive)
+     */
+    public double getRightX() {
+        return rightStickX;
+    }
+
+    /**
+     * @return Right stick Y (up positive, same as GamepadEx)
+     */
+    public double getRightY() {
+        return -rightStickY;
+    }
+
+    /**
+     * @return Left trigger (0.0 to 1.0)
+     */
+    public double getLeftTrigger() {
+        return leftTrigger;
+    }
+
+    /**
+     * @return Right trigger (0.0 to 1.0)
+     */
+    public double getRightTrigger() {
+        return rightTrigger;
+    }
+
+    // ==================== Timing Queries ====================
+
+    /**
+     * @return Raw gamepad.timestamp of this snapshot, for latency measurement
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return true if the Driver Station sent new gamepad data since the last snapshot
+     */
+    public boolean hasNewData() {
+        return timestamp != previousTimestamp;
+    }
+
+    /**
+     * @return System.nanoTime() when this snapshot was taken
+     */
+    public long getCaptureNanos() {
+        return captureNanos;
+    }
+
+    // ==================== Conversion ====================
+
+    /**
+     * Convert an FTCLib button (as used in OperatorConstants) to its bit.
+     * Intended for initialization, so hot paths only compare ints.
+     *
+     * @param button FTCLib gamepad button
+     * @return Button bit
+     * @throws IllegalArgumentException if the button has no bit; a zero mask
+     *         would read as permanently held
+     */
+    public static int maskOf(GamepadKeys.Button button) {
+        switch (button) {
+            case A: return A;
+            case B: return B;
+            case X: return X;
+            case Y: return Y;
+            case LEFT_BUMPER: return LEFT_BUMPER;
+            case RIGHT_BUMPER: return RIGHT_BUMPER;
+            case BACK: return BACK;
+            case START: return START;
+            case DPAD_UP: return DPAD_UP;
+            case DPAD_DOWN: return DPAD_DOWN;
+            case DPAD_LEFT: return DPAD_LEFT;
+            case DPAD_RIGHT: return DPAD_RIGHT;
+            case LEFT_STICK_BUTTON: return LEFT_STICK_BUTTON;
+            case RIGHT_STICK_BUTTON: return RIGHT_STICK_BUTTON;
+            default: throw new IllegalArgumentException("No snapshot bit for button " + button);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Batches hardware lookup and configuration at OpMode init.
+ *
+ * Each device's setup (lookup, inversion, zero power behavior, encoder
+ * reset, sensor configuration) is submitted as an independent task and runs
+ * concurrently on a small thread pool, instead of strictly one after another.
+ * Devices that are rarely used can be registered as lazy and are only
+ * initialized on first use. Every device's init time is recorded.
+ *
+ * Commands to devices on the same hub still share that hub's USB link, so
+ * the gain comes from overlapping the Java-side setup, the two hubs, and
+ * slow I2C sensor configuration with motor setup.
+ *
+ * Usage:
+ * <pre>
+ * try (HardwareBootstrap bootstrap = new HardwareBootstrap(hardwareMap)) {
+ *     HardwareBootstrap.Device&lt;MotorEx&gt; lift = bootstrap.submit("lift", () -&gt; createLift());
+ *     HardwareBootstrap.LazyDevice&lt;Servo&gt; flag = bootstrap.lazy("flag", () -&gt; createFlag());
+ *     ...
+ *     MotorEx liftMotor = lift.get();   // waits for this device only
+ *     bootstrap.finish();               // waits for the rest, stops the pool
+ *     bootstrap.addTelemetry(telemetry);
+ * }
+ * </pre>
+ * Closing stops the pool even if a device or the caller threw before
+ * finish(), so the init threads never outlive the OpMode.
+ */
+public class HardwareBootstrap implements AutoCloseable {
+
+    /**
+     * Default number of init threads
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private final HardwareMap hardwareMap;
+    private final ExecutorService pool;
+    private final long createdNanos;
+
+    // Per-device timing, in submission order
+    private final List<String> deviceNames = new ArrayList<>();
+    private final List<Long> deviceNanos = new ArrayList<>();
+    private final List<Device<?>> pending = new ArrayList<>();
+
+    private long finishedNanos;
+
+    // ==================== Constructors ====================
+
+    /**
+     * Creates a new HardwareBootstrap with the default thread count.
+     *
+     * @param hardwareMap The hardware map from the OpMode
+     */
+    public HardwareBootstrap(HardwareMap hardwareMap) {
+        this(hardwareMap, DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates a new HardwareBootstrap.
+     *
+     * @param hardwareMap The hardware map from the OpMode
+     * @param threads Number of init threads
+     */
+    public HardwareBootstrap(HardwareMap hardwareMap, int threads) {
+        this.hardwareMap = hardwareMap;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "HardwareInit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.createdNanos = System.nanoTime();
+    }
+
+    /**
+     * @return The hardware map devices are looked up in
+     */
+    public HardwareMap getHardwareMap() {
+        return hardwareMap;
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Start initializing a device in the background.
+     *
+     * @param name Device name, used in the timing report
+     * @param init Lookup and configuration of the device
+     * @return Handle whose get() waits for the device
+     */
+    public <T> Device<T> submit(String name, Callable<T> init) {
+        int slot = reserveSlot(name);
+        Future<T> future = pool.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return init.call();
+            } finally {
+                recordTime(slot, System.nanoTime() - start);
+            }
+        });
+        Device<T> device = new Device<>(name, future);
+        synchronized (this) {
+            pending.add(device);
+        }
+        return device;
+    }
+
+    /**
+     * Register a device that is only initialized on first use.
+     *
+     * @param name Device name, used in the timing report
+     * @param init Lookup and configuration of the device
+     * @return Handle that initializes the device on the first get()
+     */
+    public <T> LazyDevice<T> lazy(String name, Supplier<T> init) {
+        return new LazyDevice<>(this, reserveSlot(name), init);
+    }
+
+    private synchronized int reserveSlot(String name) {
+        deviceNames.add(name);
+        deviceNanos.add(-1L);
+        return deviceNames.size() - 1;
+    }
+
+    private synchronized void recordTime(int slot, long nanos) {
+        deviceNanos.set(slot, nanos);
+    }
+
+    // ==================== Completion ====================
+
+    /**
+     * Wait for every submitted device and stop the init threads.
+     * Lazy devices can still be initialized afterwards.
+     *
+     * @throws RuntimeException if any device failed to initialize
+     */
+    public void finish() {
+        List<Device<?>> devices;
+        synchronized (this) {
+            devices = new ArrayList<>(pending);
+        }
+        try {
+            for (Device<?> device : devices) {
+                device.get();
+            }
+        } finally {
+            pool.shutdown();
+            finishedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stop the init threads without waiting for devices or reporting their
+     * failures. Safe to call after finish() or more than once.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        if (finishedNanos == 0) {
+            finishedNanos = System.nanoTime();
+        }
+    }
+
+    // ==================== Reporting ====================
+
+    /**
+     * @return Wall time from construction to finish(), in milliseconds
+     */
+    public double getTotalMillis() {
+        long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        return (end - createdNanos) / 1e6;
+    }
+
+    /**
+     * Add per-device init times to telemetry.
+     * Lazy devices that were never used are shown as deferred.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public synchronized void addTelemetry(Telemetry telemetry) {
+        double serialMillis = 0;
+        for (int i = 0; i < deviceNames.size(); i++) {
+            long nanos = deviceNanos.get(i);
+            if (nanos < 0) {
+                telemetry.addData(deviceNames.get(i), "deferred");
+            } else {
+                telemetry.addData(deviceNames.get(i), "%.1f ms", nanos / 1e6);
+                serialMillis += nanos / 1e6;
+            }
+        }
+        telemetry.addData("Hardware Init", "%.1f ms (serial %.1f ms)", getTotalMillis(), serialMillis);
+    }
+
+    // ==================== Handles ====================
+
+    /**
+     * A device being initialized in the background.
+     */
+    public static class Device<T> {
+        private final String name;
+        private final Future<T> future;
+
+        Device(String name, Future<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+
+        /**
+         * Wait for the device to be initialized.
+         *
+         * @return The initialized device
+         * @throws RuntimeException if the device failed to initialize
+         */
+        public T get() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return future.get();
+                    } catch (InterruptedException e) {
+                        // Finish init anyway; the OpMode handles the stop request
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw new RuntimeException("Failed to initialize " + name + ": "
+                    + (cause != null ? cause.getMessage() : e.getMessage()), cause);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * A device initialized on first use.
+     */
+    public static class LazyDevice<T> {
+        private final HardwareBootstrap bootstrap;
+        private final int slot;
+        private final Supplier<T> init;
+        private volatile T device;
+
+        LazyDevice(HardwareBootstrap bootstrap, int slot, Supplier<T> init) {
+            this.bootstrap = bootstrap;
+            this.slot = slot;
+            this.init = init;
+        }
+
+        /**
+         * Get the device, initializing it on the first call.
+         *
+         * @return The initialized device
+         */
+        public T get() {
+            T result = device;
+            if (result == null) {
+                synchronized (this) {
+                    result = device;
+                    if (result == null) {
+                        long start = System.nanoTime();
+                        result = init.get();
+                        bootstrap.recordTime(slot, System.nanoTime() - start);
+                        device = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return true if the device has been initialized
+         */
+        public boolean isInitialized() {
+            return device != null;
+        }
+    }
+}
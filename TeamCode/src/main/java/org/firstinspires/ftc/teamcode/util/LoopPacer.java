@@ -0,0 +1,222 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * Runs a loop at a fixed rate against absolute deadlines.
+ *
+ * sleep(20) at the end of a loop makes the period 20 ms plus however long
+ * the loop body took, so it changes with load. The pacer instead keeps a
+ * deadline that advances by exactly one period each iteration and waits
+ * for it: it sleeps until just before the deadline, then spins for the
+ * last fraction of a millisecond, where Thread.sleep() is too coarse.
+ *
+ * If the body overruns the period the loop continues immediately, and if
+ * it falls a whole period behind the schedule restarts from now rather
+ * than running a burst of short iterations to catch up.
+ *
+ * Every iteration's measured dt, lateness against the deadline and
+ * overruns are recorded. Controllers should use getDt(), the real time
+ * between iterations, rather than assuming the nominal period.
+ *
+ * Usage:
+ * <pre>
+ * LoopPacer pacer = new LoopPacer(0.02);
+ * pacer.start();
+ * while (opModeIsActive()) {
+ *     ...
+ *     pacer.await();
+ * }
+ * </pre>
+ */
+public class LoopPacer {
+
+    /**
+     * Final stretch before a deadline that is spun instead of slept (nanoseconds)
+     */
+    private static final long SPIN_NANOS = 1_000_000;
+
+    private final long periodNanos;
+
+    private long deadline;
+    private long lastWakeNanos;
+    private double dt;
+
+    // ==================== Statistics ====================
+
+    private long iterations;
+    private long overruns;
+    private long lastLatenessNanos;
+    private long maxLatenessNanos;
+    private long totalLatenessNanos;
+    private long lastBusyNanos;
+    private long maxBusyNanos;
+    private double minDt = Double.POSITIVE_INFINITY;
+    private double maxDt;
+    private double sumDt;
+    private double sumDtSquared;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a pacer.
+     *
+     * @param periodSeconds Target loop period (seconds)
+     */
+    public LoopPacer(double periodSeconds) {
+        if (!(periodSeconds > 0)) {
+            throw new IllegalArgumentException("Loop period must be positive");
+        }
+        this.periodNanos = (long) (periodSeconds * 1e9);
+        this.dt = periodSeconds;
+    }
+
+    // ==================== Pacing ====================
+
+    /**
+     * Start the schedule; the first deadline is one period from now.
+     * Call right before entering the loop.
+     */
+    public void start() {
+        lastWakeNanos = System.nanoTime();
+        deadline = lastWakeNanos + periodNanos;
+    }
+
+    /**
+     * Wait for the end of the current period. Call once at the end of
+     * every iteration. If the thread is interrupted (OpMode stop) the wait
+     * ends early and the interrupt flag is kept.
+     *
+     * @return Measured time since the previous iteration started (seconds)
+     */
+    public double await() {
+        if (deadline == 0) {
+            start();
+        }
+        long now = System.nanoTime();
+        lastBusyNanos = now - lastWakeNanos;
+        maxBusyNanos = Math.max(maxBusyNanos, lastBusyNanos);
+
+        if (now > deadline) {
+            overruns++;
+        } else {
+            // Coarse sleep, then spin for the last stretch
+            long sleepNanos = deadline - now - SPIN_NANOS;
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                // Spin
+            }
+            now = System.nanoTime();
+        }
+
+        record(now);
+
+        deadline += periodNanos;
+        if (deadline <= now) {
+            // A whole period behind: restart the schedule instead of catching up
+            deadline = now + periodNanos;
+        }
+        return dt;
+    }
+
+    private void record(long now) {
+        long lateness = Math.max(0, now - deadline);
+        dt = (now - lastWakeNanos) / 1e9;
+        lastWakeNanos = now;
+
+        iterations++;
+        lastLatenessNanos = lateness;
+        maxLatenessNanos = Math.max(maxLatenessNanos, lateness);
+        totalLatenessNanos += lateness;
+        minDt = Math.min(minDt, dt);
+        maxDt = Math.max(maxDt, dt);
+        sumDt += dt;
+        sumDtSquared += dt * dt;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Measured duration of the last iteration (seconds); the nominal period before the first
+     */
+    public double getDt() {
+        return dt;
+    }
+
+    /**
+     * @return Target period (seconds)
+     */
+    public double getPeriod() {
+        return periodNanos / 1e9;
+    }
+
+    /**
+     * @return Iterations whose body took longer than the period
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return How late the last iteration woke up after its deadline (nanoseconds)
+     */
+    public long getLastLatenessNanos() {
+        return lastLatenessNanos;
+    }
+
+    /**
+     * @return Time the last loop body took, excluding the wait (nanoseconds)
+     */
+    public long getLastBusyNanos() {
+        return lastBusyNanos;
+    }
+
+    /**
+     * @return Standard deviation of the measured dt (seconds)
+     */
+    public double getDtStdDev() {
+        if (iterations < 2) {
+            return 0.0;
+        }
+        double mean = sumDt / iterations;
+        return Math.sqrt(Math.max(0.0, sumDtSquared / iterations - mean * mean));
+    }
+
+    /**
+     * Clear the statistics, e.g. after init so they only cover the match.
+     */
+    public void resetStats() {
+        iterations = 0;
+        overruns = 0;
+        maxLatenessNanos = 0;
+        totalLatenessNanos = 0;
+        maxBusyNanos = 0;
+        minDt = Double.POSITIVE_INFINITY;
+        maxDt = 0.0;
+        sumDt = 0.0;
+        sumDtSquared = 0.0;
+    }
+
+    /**
+     * Add period, jitter and overrun statistics to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Loop", "%.1f ms target, %.2f ms last", getPeriod() * 1e3, dt * 1e3);
+        if (iterations > 0) {
+            telemetry.addData("Loop dt", "%.2f-%.2f ms, σ %.3f ms",
+                minDt * 1e3, maxDt * 1e3, getDtStdDev() * 1e3);
+            telemetry.addData("Loop Lateness", "avg %.3f ms, max %.3f ms",
+                totalLatenessNanos / 1e6 / iterations, maxLatenessNanos / 1e6);
+        }
+        telemetry.addData("Loop Busy", "%.2f ms (max %.2f)", lastBusyNanos / 1e6, maxBusyNanos / 1e6);
+        telemetry.addData("Overruns", "%d of %d", overruns, iterations);
+    }
+}
@@ -0,0 +1,201 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.constants.LoopConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Watches loop time against a budget and sheds optional work when the
+ * loop stays over it.
+ *
+ * Optional work is registered as stages, in the order it should be shed
+ * (least important first). When the smoothed loop time stays over budget
+ * for LoopConstants.SHED_DELAY, the next stage is shed; when it stays under
+ * RECOVERY_FRACTION of the budget for RESTORE_DELAY, the most recently shed
+ * stage is restored. Every transition is logged.
+ *
+ * Only register work that the robot can run without. Drive control is
+ * never registered, so it always runs at full rate.
+ *
+ * Usage:
+ * <pre>
+ * watchdog.addStage("telemetry", () -> reduceTelemetry(), () -> restoreTelemetry());
+ * watchdog.addStage("vision", () -> pauseVision(), () -> resumeVision());
+ *
+ * // Every loop:
+ * watchdog.update(loopDt);
+ * </pre>
+ */
+public class LoopWatchdog {
+
+    /**
+     * One piece of optional work that can be shed and restored.
+     */
+    private static class Stage {
+        final String name;
+        final Runnable shed;
+        final Runnable restore;
+
+        Stage(String name, Runnable shed, Runnable restore) {
+            this.name = name;
+            this.shed = shed;
+            this.restore = restore;
+        }
+    }
+
+    private final double budget;
+    private final List<Stage> stages = new ArrayList<>();
+
+    // Number of stages currently shed
+    private int level;
+
+    private double averageLoopTime;
+    private double maxLoopTime;
+    private boolean initialized;
+
+    // Time spent continuously over budget / under the recovery threshold (seconds)
+    private double overTime;
+    private double underTime;
+    private int transitions;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a watchdog with the budget in LoopConstants.
+     */
+    public LoopWatchdog() {
+        this(LoopConstants.LOOP_BUDGET);
+    }
+
+    /**
+     * Creates a watchdog.
+     *
+     * @param budgetSeconds Loop time to stay within (seconds)
+     */
+    public LoopWatchdog(double budgetSeconds) {
+        this.budget = budgetSeconds;
+    }
+
+    // ==================== Stages ====================
+
+    /**
+     * Register optional work. Stages are shed in registration order and
+     * restored in reverse.
+     *
+     * @param name Name used in logs and telemetry
+     * @param shed Turns the work down or off
+     * @param restore Turns it back to normal
+     */
+    public void addStage(String name, Runnable shed, Runnable restore) {
+        stages.add(new Stage(name, shed, restore));
+    }
+
+    // ==================== Update ====================
+
+    /**
+     * Record one loop and shed or restore work if needed. Call once per loop.
+     *
+     * @param loopSeconds Measured time of the last loop (seconds)
+     */
+    public void update(double loopSeconds) {
+        if (!(loopSeconds > 0)) {
+            return;
+        }
+        if (!initialized) {
+            averageLoopTime = loopSeconds;
+            initialized = true;
+        } else {
+            averageLoopTime += LoopConstants.LOOP_TIME_SMOOTHING * (loopSeconds - averageLoopTime);
+        }
+        maxLoopTime = Math.max(maxLoopTime, loopSeconds);
+
+        if (averageLoopTime > budget) {
+            overTime += loopSeconds;
+            underTime = 0.0;
+            if (overTime >= LoopConstants.SHED_DELAY && level < stages.size()) {
+                Stage stage = stages.get(level);
+                level++;
+                log("shedding", stage);
+                stage.shed.run();
+                overTime = 0.0;
+            }
+        } else if (averageLoopTime < budget * LoopConstants.RECOVERY_FRACTION) {
+            underTime += loopSeconds;
+            overTime = 0.0;
+            if (underTime >= LoopConstants.RESTORE_DELAY && level > 0) {
+                level--;
+                Stage stage = stages.get(level);
+                log("restoring", stage);
+                stage.restore.run();
+                underTime = 0.0;
+            }
+        } else {
+            // Between the thresholds: hold the current level
+            overTime = 0.0;
+            underTime = 0.0;
+        }
+    }
+
+    private void log(String action, Stage stage) {
+        transitions++;
+        System.out.println(String.format(Locale.US,
+            "Loop watchdog: %s %s (loop %.1f ms, budget %.1f ms, level %d/%d)",
+            action, stage.name, averageLoopTime * 1e3, budget * 1e3, level, stages.size()));
+    }
+
+    /**
+     * Restore every shed stage, e.g. when the OpMode stops.
+     */
+    public void restoreAll() {
+        while (level > 0) {
+            level--;
+            Stage stage = stages.get(level);
+            log("restoring", stage);
+            stage.restore.run();
+        }
+        overTime = 0.0;
+        underTime = 0.0;
+    }
+
+    // ==================== Accessors ====================
+
+    /**
+     * @return Number of stages currently shed (0 = everything running)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return Smoothed loop time (seconds)
+     */
+    public double getAverageLoopTime() {
+        return averageLoopTime;
+    }
+
+    /**
+     * Add loop time and shed state to telemetry.
+     *
+     * @param telemetry Telemetry to write to
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Loop Time", "%.1f ms avg, %.1f ms max (budget %.1f)",
+            averageLoopTime * 1e3, maxLoopTime * 1e3, budget * 1e3);
+        if (level == 0) {
+            telemetry.addData("Shed", "none");
+        } else {
+            StringBuilder shed = new StringBuilder();
+            for (int i = 0; i < level; i++) {
+                if (i > 0) {
+                    shed.append(", ");
+                }
+                shed.append(stages.get(i).name);
+            }
+            telemetry.addData("Shed", shed.toString());
+        }
+        telemetry.addData("Transitions", transitions);
+    }
+}
@@ -0,0 +1,389 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Typed store of runtime-tunable parameters.
+ *
+ * Each parameter keeps its value in a volatile primitive field, so reading
+ * it on the hot path is as cheap as a field load. Values can be changed
+ * while the robot is running, from a properties file or the Robot
+ * Controller web server, without a rebuild.
+ *
+ * Multi-value updates are atomic: every new value is parsed and validated
+ * before any is written, and writes happen inside a version stamp
+ * (seqlock). Readers that need several parameters from the same update
+ * can check the version:
+ * <pre>
+ * long version;
+ * do {
+ *     version = store.beginRead();
+ *     kP = KP.get();
+ *     kD = KD.get();
+ * } while (!store.endRead(version));
+ * </pre>
+ */
+public class ParameterStore {
+
+    private final Map<String, Parameter> parameters = new LinkedHashMap<>();
+    private final File file;
+    private long fileModified;
+
+    // Even = stable, odd = update in progress
+    private volatile long version;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a new ParameterStore.
+     *
+     * @param file Properties file used for loading and persisting values
+     */
+    public ParameterStore(File file) {
+        this.file = file;
+    }
+
+    // ==================== Parameter Types ====================
+
+    /**
+     * Base class for a named parameter.
+     */
+    public abstract static class Parameter {
+        private final String name;
+
+        Parameter(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return Parameter name, e.g. "drive.controllerDeadband"
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Parse and validate a value without applying it.
+         *
+         * @throws IllegalArgumentException if the text is not a valid value
+         */
+        abstract Object parse(String text);
+
+        abstract void apply(Object value);
+
+        /**
+         * @return Current value as text
+         */
+        public abstract String format();
+
+        /**
+         * Restore the seed value.
+         */
+        abstract void restoreDefault();
+    }
+
+    /**
+     * A double parameter with an allowed range.
+     */
+    public static class DoubleParam extends Parameter {
+        private final double defaultValue;
+        private final double min;
+        private final double max;
+        private volatile double value;
+
+        DoubleParam(String name, double defaultValue, double min, double max) {
+            super(name);
+            this.defaultValue = defaultValue;
+            this.min = min;
+            this.max = max;
+            this.value = defaultValue;
+        }
+
+        /**
+         * @return Current value
+         */
+        public double get() {
+            return value;
+        }
+
+        @Override
+        Object parse(String text) {
+            double parsed = Double.parseDouble(text.trim());
+            if (Double.isNaN(parsed) || parsed < min || parsed > max) {
+                throw new IllegalArgumentException(getName() + " must be in [" + min + ", " + max + "]");
+            }
+            return parsed;
+        }
+
+        @Override
+        void apply(Object parsed) {
+            value = (Double) parsed;
+        }
+
+        @Override
+        public String format() {
+            return Double.toString(value);
+        }
+
+        @Override
+        void restoreDefault() {
+            value = defaultValue;
+        }
+    }
+
+    /**
+     * A boolean parameter.
+     */
+    public static class BooleanParam extends Parameter {
+        private final boolean defaultValue;
+        private volatile boolean value;
+
+        BooleanParam(String name, boolean defaultValue) {
+            super(name);
+            this.defaultValue = defaultValue;
+            this.value = defaultValue;
+        }
+
+        /**
+         * @return Current value
+         */
+        public boolean get() {
+            return value;
+        }
+
+        @Override
+        Object parse(String text) {
+            String trimmed = text.trim();
+            if (trimmed.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            if (trimmed.equalsIgnoreCase("false")) {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException(getName() + " must be true or false");
+        }
+
+        @Override
+        void apply(Object parsed) {
+            value = (Boolean) parsed;
+        }
+
+        @Override
+        public String format() {
+            return Boolean.toString(value);
+        }
+
+        @Override
+        void restoreDefault() {
+            value = defaultValue;
+        }
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Register a double parameter.
+     *
+     * @param name Unique name
+     * @param defaultValue Seed value, usually the matching static final constant
+     * @param min Smallest allowed value
+     * @param max Largest allowed value
+     * @return The parameter
+     */
+    public synchronized DoubleParam doubleParam(String name, double defaultValue, double min, double max) {
+        DoubleParam param = new DoubleParam(name, defaultValue, min, max);
+        register(param);
+        return param;
+    }
+
+    /**
+     * Register a boolean parameter.
+     *
+     * @param name Unique name
+     * @param defaultValue Seed value, usually the matching static final constant
+     * @return The parameter
+     */
+    public synchronized BooleanParam booleanParam(String name, boolean defaultValue) {
+        BooleanParam param = new BooleanParam(name, defaultValue);
+        register(param);
+        return param;
+    }
+
+    private void register(Parameter param) {
+        if (parameters.containsKey(param.getName())) {
+            throw new IllegalArgumentException("Duplicate parameter: " + param.getName());
+        }
+        parameters.put(param.getName(), param);
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Atomically apply several values. Nothing is changed if any name is
+     * unknown or any value is invalid.
+     *
+     * @param values Parameter name to new value (as text)
+     * @throws IllegalArgumentException describing the first invalid entry
+     */
+    public synchronized void apply(Map<String, String> values) {
+        apply(values, false);
+    }
+
+    /**
+     * Atomically apply several values, optionally on top of the seed values.
+     * Nothing is changed, not even the reset, if any name is unknown or any
+     * value is invalid.
+     *
+     * @param values Parameter name to new value (as text)
+     * @param restoreDefaults true to restore every seed value before applying
+     * @throws IllegalArgumentException describing the first invalid entry
+     */
+    public synchronized void apply(Map<String, String> values, boolean restoreDefaults) {
+        // Validate everything first
+        List<Parameter> targets = new ArrayList<>();
+        List<Object> parsed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            Parameter param = parameters.get(entry.getKey());
+            if (param == null) {
+                throw new IllegalArgumentException("Unknown parameter: " + entry.getKey());
+            }
+            targets.add(param);
+            parsed.add(param.parse(entry.getValue()));
+        }
+
+        // Then publish inside the version stamp
+        version++;
+        if (restoreDefaults) {
+            for (Parameter param : parameters.values()) {
+                param.restoreDefault();
+            }
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            targets.get(i).apply(parsed.get(i));
+        }
+        version++;
+    }
+
+    /**
+     * Restore every parameter to its seed value.
+     */
+    public synchronized void restoreDefaults() {
+        version++;
+        for (Parameter param : parameters.values()) {
+            param.restoreDefault();
+        }
+        version++;
+    }
+
+    // ==================== Consistent Reads ====================
+
+    /**
+     * Start a consistent multi-parameter read.
+     *
+     * @return Version to pass to {@link #endRead(long)}
+     */
+    public long beginRead() {
+        long current = version;
+        while ((current & 1) != 0) {
+            Thread.yield();
+            current = version;
+        }
+        return current;
+    }
+
+    /**
+     * @param readVersion Value returned by {@link #beginRead()}
+     * @return true if no update happened during the read
+     */
+    public boolean endRead(long readVersion) {
+        return version == readVersion;
+    }
+
+    /**
+     * @return Current version; changes whenever any value changes
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Load values from the file if it changed since the last load or save.
+     * Invalid files are reported and ignored as a whole.
+     *
+     * @return true if new values were applied
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (!file.exists() || file.lastModified() == fileModified) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read parameters: " + e.getMessage());
+            return false;
+        }
+        fileModified = file.lastModified();
+
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            // Skip entries for parameters that no longer exist
+            if (parameters.containsKey(name)) {
+                values.put(name, properties.getProperty(name));
+            }
+        }
+        try {
+            apply(values);
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring parameter file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Write every current value to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        Properties properties = new Properties();
+        for (Parameter param : parameters.values()) {
+            properties.setProperty(param.getName(), param.format());
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Tunable parameters");
+        }
+        fileModified = file.lastModified();
+    }
+
+    // ==================== Listing ====================
+
+    /**
+     * @return Snapshot of every parameter name and its current value, in registration order
+     */
+    public synchronized Map<String, String> snapshot() {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Parameter param : parameters.values()) {
+            values.put(param.getName(), param.format());
+        }
+        return values;
+    }
+}
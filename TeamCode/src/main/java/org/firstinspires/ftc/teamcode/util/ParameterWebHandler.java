@@ -0,0 +1,104 @@
+package org.firstinspires.ftc.teamcode.util;
+
+import android.content.Context;
+
+import com.qualcomm.robotcore.util.WebHandlerManager;
+
+import org.firstinspires.ftc.ftccommon.external.WebHandlerRegistrar;
+import org.firstinspires.ftc.robotcore.internal.webserver.WebHandler;
+import org.firstinspires.ftc.teamcode.constants.TunableConstants;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fi.iki.elonen.NanoHTTPD;
+
+/**
+ * Robot Controller web endpoint for the tunable parameters.
+ *
+ * Served at http://192.168.43.1:8080/tuning (Control Hub address):
+ * - /tuning                               lists every parameter and its value
+ * - /tuning?drive.maxDriveSpeed=0.8&amp;...   applies all given values atomically
+ * - /tuning?save=true                     persists current values to the parameter file
+ * - /tuning?reset=true                    restores the seed values
+ *
+ * Values, reset and save can be combined in one request. Values are
+ * validated before anything changes, so a rejected request leaves every
+ * parameter as it was, even with reset=true.
+ */
+public class ParameterWebHandler implements WebHandler {
+
+    /**
+     * Path the handler is registered at
+     */
+    public static final String PATH = "/tuning";
+
+    private final ParameterStore store;
+
+    /**
+     * Creates a new ParameterWebHandler.
+     *
+     * @param store Store to read and update
+     */
+    public ParameterWebHandler(ParameterStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Called by the SDK when the Robot Controller web server starts.
+     */
+    @WebHandlerRegistrar
+    public static void attachWebHandlers(Context context, WebHandlerManager manager) {
+        manager.register(PATH, new ParameterWebHandler(TunableConstants.STORE));
+    }
+
+    @Override
+    public NanoHTTPD.Response getResponse(NanoHTTPD.IHTTPSession session) {
+        Map<String, String> values = new LinkedHashMap<>();
+        boolean save = false;
+        boolean reset = false;
+        for (Map.Entry<String, List<String>> entry : session.getParameters().entrySet()) {
+            List<String> list = entry.getValue();
+            String value = list.isEmpty() ? "" : list.get(list.size() - 1);
+            if (entry.getKey().equals("save")) {
+                save = Boolean.parseBoolean(value);
+            } else if (entry.getKey().equals("reset")) {
+                reset = Boolean.parseBoolean(value);
+            } else {
+                values.put(entry.getKey(), value);
+            }
+        }
+
+        StringBuilder body = new StringBuilder();
+        NanoHTTPD.Response.Status status = NanoHTTPD.Response.Status.OK;
+        try {
+            if (reset || !values.isEmpty()) {
+                store.apply(values, reset);
+                if (reset) {
+                    body.append("Restored defaults\n");
+                }
+                if (!values.isEmpty()) {
+                    body.append("Applied ").append(values.size()).append(" value(s)\n");
+                }
+            }
+            if (save) {
+                store.save();
+                body.append("Saved\n");
+            }
+        } catch (IllegalArgumentException e) {
+            status = NanoHTTPD.Response.Status.BAD_REQUEST;
+            body.append("Error: ").append(e.getMessage()).append('\n');
+        } catch (IOException e) {
+            status = NanoHTTPD.Response.Status.INTERNAL_ERROR;
+            body.append("Error: ").append(e.getMessage()).append('\n');
+        }
+
+        body.append("version=").append(store.getVersion()).append('\n');
+        for (Map.Entry<String, String> entry : store.snapshot().entrySet()) {
+            body.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        return NanoHTTPD.newFixedLengthResponse(status, NanoHTTPD.MIME_PLAINTEXT, body.toString());
+    }
+}
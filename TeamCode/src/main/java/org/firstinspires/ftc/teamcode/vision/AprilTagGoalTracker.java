@@ -0,0 +1,211 @@
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.firstinspires.ftc.teamcode.constants.VisionConstants;
+import org.firstinspires.ftc.teamcode.subsystems.MecanumDriveSubsystem;
+import org.firstinspires.ftc.vision.apriltag.AprilTagDetection;
+import org.firstinspires.ftc.vision.apriltag.AprilTagPoseFtc;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
+
+import java.util.List;
+
+/**
+ * Tracks a goal pose relative to an AprilTag, expressed in the odometry frame.
+ *
+ * A detection describes where the tag was when the frame was captured,
+ * which is tens of milliseconds before it reaches the loop. Each new
+ * detection is combined with the odometry pose at its capture time (from
+ * the drive subsystem's pose history) to place the goal in the odometry
+ * frame. Comparing that goal against the current odometry pose then
+ * accounts for everything the robot did since the capture, and the goal
+ * stays usable between frames and after the tag leaves the view.
+ *
+ * New detections are blended in by VisionConstants.GOAL_SMOOTHING.
+ */
+public class AprilTagGoalTracker {
+
+    private final MecanumDriveSubsystem driveSubsystem;
+    private final AprilTagProcessor aprilTag;
+    private final int tagId;
+    private final double standoffDistance;
+    private final double lateralOffset;
+    private final double headingOffset;
+
+    // Odometry pose at the capture time of a detection
+    private final double[] capturePose = new double[3];
+
+    private boolean hasGoal;
+    private double goalX;
+    private double goalY;
+    private double goalHeading;
+
+    private long lastFrameNanos;
+    private long lastGoalNanos;
+    private double detectionAge;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Creates a tracker.
+     *
+     * @param driveSubsystem Drive subsystem providing odometry and its pose history
+     * @param aprilTag AprilTag processor attached to a running VisionPortal
+     * @param tagId Tag to track
+     * @param standoffDistance Distance out from the tag face to robot center (inches)
+     * @param lateralOffset Sideways offset, left positive as seen by the robot facing the tag (inches)
+     * @param headingOffsetDegrees Heading relative to facing the tag square (degrees, counterclockwise positive)
+     */
+    public AprilTagGoalTracker(MecanumDriveSubsystem driveSubsystem, AprilTagProcessor aprilTag,
+                               int tagId, double standoffDistance, double lateralOffset,
+                               double headingOffsetDegrees) {
+        this.driveSubsystem = driveSubsystem;
+        this.aprilTag = aprilTag;
+        this.tagId = tagId;
+        this.standoffDistance = standoffDistance;
+        this.lateralOffset = lateralOffset;
+        this.headingOffset = Math.toRadians(headingOffsetDegrees);
+    }
+
+    // ==================== Update ====================
+
+    /**
+     * Fold the newest detection of the tag, if any, into the goal.
+     * Call once per loop, after odometry has been updated.
+     *
+     * @return true if a new detection was used
+     */
+    public boolean update() {
+        long now = System.nanoTime();
+        AprilTagDetection detection = findTag(aprilTag.getDetections());
+        if (detection == null || detection.frameAcquisitionNanoTime == lastFrameNanos) {
+            return false;
+        }
+        lastFrameNanos = detection.frameAcquisitionNanoTime;
+        detectionAge = (now - detection.frameAcquisitionNanoTime) / 1e9;
+        if (detectionAge > VisionConstants.MAX_DETECTION_AGE) {
+            return false;
+        }
+
+        // Where the robot was when the frame was captured
+        if (!driveSubsystem.getPoseHistory().getPose(detection.frameAcquisitionNanoTime, capturePose)) {
+            Pose2d pose = driveSubsystem.getPose();
+            capturePose[0] = pose.getX();
+            capturePose[1] = pose.getY();
+            capturePose[2] = pose.getHeading();
+        }
+
+        // Tag position in the camera frame (forward, left), then robot frame
+        AprilTagPoseFtc tag = detection.ftcPose;
+        double cameraHeading = Math.toRadians(VisionConstants.CAMERA_OFFSET_HEADING);
+        double cameraCos = Math.cos(cameraHeading);
+        double cameraSin = Math.sin(cameraHeading);
+        double robotForward = VisionConstants.CAMERA_OFFSET_X + tag.y * cameraCos + tag.x * cameraSin;
+        double robotLeft = VisionConstants.CAMERA_OFFSET_Y + tag.y * cameraSin - tag.x * cameraCos;
+
+        // Then field frame, from the pose at capture
+        double cos = Math.cos(capturePose[2]);
+        double sin = Math.sin(capturePose[2]);
+        double tagX = capturePose[0] + robotForward * cos - robotLeft * sin;
+        double tagY = capturePose[1] + robotForward * sin + robotLeft * cos;
+
+        // Heading that faces the tag square (tag yaw is zero there)
+        double facing = capturePose[2] + cameraHeading + Math.toRadians(tag.yaw);
+        double facingCos = Math.cos(facing);
+        double facingSin = Math.sin(facing);
+        double x = tagX - standoffDistance * facingCos - lateralOffset * facingSin;
+        double y = tagY - standoffDistance * facingSin + lateralOffset * facingCos;
+        double heading = facing + headingOffset;
+
+        if (!hasGoal) {
+            goalX = x;
+            goalY = y;
+            goalHeading = heading;
+            hasGoal = true;
+        } else {
+            double weight = VisionConstants.GOAL_SMOOTHING;
+            goalX += weight * (x - goalX);
+            goalY += weight * (y - goalY);
+            goalHeading += weight * angleWrap(heading - goalHeading);
+        }
+        lastGoalNanos = now;
+        return true;
+    }
+
+    private AprilTagDetection findTag(List<AprilTagDetection> detections) {
+        if (detections == null) {
+            return null;
+        }
+        for (AprilTagDetection detection : detections) {
+            // Tags missing from the library have no pose
+            if (detection.id == tagId && detection.metadata != null) {
+                return detection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forget the goal, e.g. before a new approach.
+     */
+    public void reset() {
+        hasGoal = false;
+        lastFrameNanos = 0;
+    }
+
+    // ==================== Goal ====================
+
+    /**
+     * @return true once the tag has been seen
+     */
+    public boolean hasGoal() {
+        return hasGoal;
+    }
+
+    /**
+     * @return Goal X in the odometry frame (inches)
+     */
+    public double getGoalX() {
+        return goalX;
+    }
+
+    /**
+     * @return Goal Y in the odometry frame (inches)
+     */
+    public double getGoalY() {
+        return goalY;
+    }
+
+    /**
+     * @return Goal heading in the odometry frame (radians)
+     */
+    public double getGoalHeading() {
+        return goalHeading;
+    }
+
+    /**
+     * @return Goal in the odometry frame, or null before the tag is seen
+     */
+    public Pose2d getGoal() {
+        return hasGoal ? new Pose2d(goalX, goalY, new Rotation2d(goalHeading)) : null;
+    }
+
+    /**
+     * @return Seconds since the goal was last refreshed by a detection
+     */
+    public double getSecondsSinceUpdate() {
+        return hasGoal ? (System.nanoTime() - lastGoalNanos) / 1e9 : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return Capture-to-use latency of the last detection (seconds)
+     */
+    public double getDetectionAge() {
+        return detectionAge;
+    }
+
+    private static double angleWrap(double radians) {
+        return Math.atan2(Math.sin(radians), Math.cos(radians));
+    }
+}